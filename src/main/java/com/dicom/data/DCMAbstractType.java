@@ -1,25 +1,51 @@
 package com.dicom.data;
 
+import com.dicom.dictionary.DicomDictionaryEntry;
 import com.dicom.vr.VRBase;
+import com.dicom.vr.VRCode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
 
 /**
  * DICOM抽象类型 - 抽象构件类
  * 用于表示DICOM数据元素的基本结构
+ * 公共字段构成可编辑、可编码的树模型；解析出的元素只记录值域在源缓冲区中的位置，名称和VM不保存。
+ * 解析后只读的头信息需要长期保存时转换为DCMCompactDataSet，两者每个元素的开销见该类说明
  */
 public abstract class DCMAbstractType {
+    /**
+     * 未定义长度（0xFFFFFFFF），序列、条目和封装像素数据以定界符结束
+     */
+    public static final int UNDEFINED_LENGTH = 0xFFFFFFFF;
+    
     // 公共字段
-    public Short gtag;          // 组号
-    public Short etag;          // 元素号
+    public short gtag;          // 组号
+    public short etag;          // 元素号
     public String name;         // 名称
     public String vr;           // Value Representation
     public String vm;           // Value Multiplicity
     public int length;          // 值长度
-    public byte[] value;        // 值
+    /**
+     * 值域字节
+     * @deprecated 解析出的元素只引用源缓冲区，首次调用getValue()之前此字段为null（批量数据始终为null）。
+     * 读取请用getValue()或getValueBuffer()，设置请用setValueBytes(byte[])
+     */
+    @Deprecated
+    public byte[] value;
     public VRBase vrparser;     // VR解析器
     
     // 保护字段
     protected TransferSyntax syntax;  // 传输语法对象
     
+    // 延迟的值域：解析时只记录值域在源缓冲区中的位置，value为null，首次getValue()时才复制
+    protected ByteBuffer valueSource; // 源缓冲区（同一次解析的所有元素共享）
+    protected int valueOffset;        // 值域在源缓冲区中的绝对位置
+    protected int valueLength;        // 值域字节数
+    
     /**
      * 构造函数
      * @param ts 传输语法实例
@@ -28,6 +54,190 @@ public abstract class DCMAbstractType {
         this.syntax = ts;
     }
     
+    /**
+     * 获取VR码（VR两个字符组成的16位整数），用于代替字符串比较
+     * 由vr字段的两个字符直接算出，不查表、不创建对象；vr是可以直接赋值的公共字段，VR码不另行缓存
+     * @return VR码，见VRCode；VR为空时返回VRCode.NONE
+     */
+    public int getVRCode() {
+        return VRCode.of(vr);
+    }
+
+    /**
+     * 获取整数标签
+     * @return 标签 (组号 << 16 | 元素号)
+     */
+    public int getTag() {
+        return ((gtag & 0xFFFF) << 16) | (etag & 0xFFFF);
+    }
+
+    /**
+     * 获取名称
+     * 解析时标准元素不保存名称，由共享字典按标签查出；name非空（私有字典解析或手工设置）时优先
+     * @return 名称，字典中没有时返回"(gggg,eeee)"
+     */
+    public String getName() {
+        return name != null ? name : DCMDataSet.lookupElementName(gtag & 0xFFFF, etag & 0xFFFF);
+    }
+
+    /**
+     * 获取VM
+     * 与getName()相同，vm为空时按标签查共享字典
+     * @return VM，字典中没有时返回"1"
+     */
+    public String getVM() {
+        if (vm != null) {
+            return vm;
+        }
+        DicomDictionaryEntry entry = DCMDataSet.dictionary.lookup(getTag());
+        return entry != null && entry.getVm() != null ? entry.getVm() : "1";
+    }
+
+    /**
+     * 以源缓冲区中的一段作为值域，不复制字节、不创建对象
+     * value置为null，需要字节数组时由getValue()复制并缓存
+     * @param source 源缓冲区（字节数组包装或文件映射），之后不应被修改
+     * @param offset 值域的绝对位置
+     * @param length 值域字节数
+     */
+    public void setValueReference(ByteBuffer source, int offset, int length) {
+        this.valueSource = source;
+        this.valueOffset = offset;
+        this.valueLength = length;
+        this.value = null;
+        this.length = length;
+    }
+    
+    /**
+     * 设置值域字节数组，不再引用源缓冲区；不改变length
+     * @param bytes 值域字节
+     */
+    public void setValueBytes(byte[] bytes) {
+        this.value = bytes;
+        this.valueSource = null;
+    }
+    
+    /**
+     * 以缓冲区切片作为值域，不复制字节
+     * @param view 值域切片（position到limit为值域）
+     */
+    public void setValueView(ByteBuffer view) {
+        setValueReference(view, view.position(), view.remaining());
+    }
+    
+    /**
+     * 值域是否仍引用源缓冲区（尚未复制为字节数组）
+     */
+    public boolean isValueView() {
+        return value == null && valueSource != null;
+    }
+    
+    /**
+     * 获取值域字节数组
+     * 值域仍引用源缓冲区时，首次调用复制出字节数组并缓存；
+     * 批量数据（见TransferSyntax.isBulkData）每次返回新的副本，不缓存，元素仍只引用源缓冲区：
+     * 该副本是独立的快照，修改它不会改变元素的值，需要修改时改完后用setValueBytes(byte[])写回。
+     * 批量数据每次调用都复制整个值域，读取请用getValueBuffer()、asShortBuffer()等视图或DCMDataSet的基本类型访问方法
+     * @return 值域字节，没有值时返回null
+     */
+    public byte[] getValue() {
+        if (value == null && valueSource != null) {
+            byte[] copy = DCMDataSet.copyBytes(valueSource, valueOffset, valueLength);
+            if (TransferSyntax.isBulkData(getVRCode(), valueLength)) {
+                return copy;
+            }
+            value = copy;
+        }
+        return value;
+    }
+    
+    /**
+     * 解码第index个值的整数形式：已有字节数组时从数组解码，否则按绝对位置从源缓冲区解码，
+     * 不创建切片或视图，供逐帧调用的DCMDataSet.getInt使用
+     */
+    int intValueAt(int index, int defaultValue) {
+        if (vrparser == null) {
+            return defaultValue;
+        }
+        if (value != null) {
+            return vrparser.getInt(value, index, defaultValue);
+        }
+        if (valueSource == null) {
+            return defaultValue;
+        }
+        return vrparser.getInt(valueSource, valueOffset, valueLength, index, defaultValue);
+    }
+    
+    /**
+     * 解码第index个值的浮点形式，与intValueAt相同不创建切片或视图
+     */
+    double doubleValueAt(int index, double defaultValue) {
+        if (vrparser == null) {
+            return defaultValue;
+        }
+        if (value != null) {
+            return vrparser.getDouble(value, index, defaultValue);
+        }
+        if (valueSource == null) {
+            return defaultValue;
+        }
+        return vrparser.getDouble(valueSource, valueOffset, valueLength, index, defaultValue);
+    }
+    
+    /**
+     * 获取值域字节数（不复制）
+     */
+    public int getValueLength() {
+        if (value != null) {
+            return value.length;
+        }
+        return valueSource != null ? valueLength : 0;
+    }
+    
+    /**
+     * 获取值域的只读ByteBuffer，字节序与传输语法一致，不复制字节
+     * @return 只读缓冲区，position为0
+     */
+    public ByteBuffer getValueBuffer() {
+        ByteBuffer buffer;
+        if (value != null) {
+            buffer = ByteBuffer.wrap(value).asReadOnlyBuffer();
+        } else if (valueSource != null) {
+            buffer = DCMDataSet.slice(valueSource, valueOffset, valueLength).asReadOnlyBuffer();
+        } else {
+            buffer = ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+        return buffer.order(syntax != null && syntax.isBE ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    }
+    
+    /**
+     * 按16位值（OW/US/SS）查看值域，只读、不复制
+     */
+    public ShortBuffer asShortBuffer() {
+        return getValueBuffer().asShortBuffer();
+    }
+    
+    /**
+     * 按32位整数（OL/UL/SL）查看值域，只读、不复制
+     */
+    public IntBuffer asIntBuffer() {
+        return getValueBuffer().asIntBuffer();
+    }
+    
+    /**
+     * 按单精度浮点（OF/FL）查看值域，只读、不复制
+     */
+    public FloatBuffer asFloatBuffer() {
+        return getValueBuffer().asFloatBuffer();
+    }
+    
+    /**
+     * 按双精度浮点（OD/FD）查看值域，只读、不复制
+     */
+    public DoubleBuffer asDoubleBuffer() {
+        return getValueBuffer().asDoubleBuffer();
+    }
+    
     /**
      * 抽象方法：输出解码结果字符串
      * @param head 前缀字符串
@@ -100,6 +310,7 @@ public abstract class DCMAbstractType {
     public <T> void SetValue(T value) {
         if (vrparser != null) {
             this.value = vrparser.SetValue(value);
+            this.valueSource = null;
             this.length = this.value.length;
         } else {
             throw new IllegalStateException("VR parser not initialized");
@@ -0,0 +1,254 @@
+package com.dicom.data;
+
+import com.dicom.dictionary.DicomDictionaryEntry;
+import com.dicom.vr.VRBase;
+import com.dicom.vr.VRCode;
+import com.dicom.vr.VRFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 只读的紧凑数据集（按列存储），长期保存头信息时使用的存储形式
+ * 每个元素只占并行数组中的一格：标签、VR码和值域偏移（长度为相邻偏移之差），全部值域拼接在一个字节数组中，
+ * 不为元素创建对象；名称、VM按标签从共享字典查出，不保存。
+ * 由已解析的DCMDataSet构造，之后不能修改，也不再引用解析时的源缓冲区（文件数据或映射）。
+ *
+ * 每个元素的开销（64位JVM、压缩指针，JDK 17按类统计堆直方图测得）：
+ * DCMDataSet中的DCMDataElement为56字节对象加列表中的4字节引用，且整个源缓冲区随元素一直可达；
+ * 本类为10字节（int标签、short VR码、int偏移）加值域字节本身。
+ * DCMAbstractType的公共字段是编辑和编码用的树模型，解析后只读的头信息（如为大量实例建立索引）应转换为本类。
+ * 值域会被复制，像素数据等批量数据应先用TagProjection或stopAtTag排除。
+ */
+public final class DCMCompactDataSet {
+    private final int[] tags;                       // 按无符号顺序排列的标签
+    private final short[] vrCodes;                  // VR码，见VRCode
+    private final int[] offsets;                    // 值域在data中的偏移，比元素多一格，第i个值域为 [offsets[i], offsets[i + 1])
+    private final byte[] data;                      // 全部值域
+    private final DCMCompactDataSet[][] sequences;  // 序列元素的条目，没有序列时为null
+    private final boolean isBE;
+
+    /**
+     * 由已解析的数据集（或序列条目）构造
+     * @param dataset 数据集
+     * @throws IllegalArgumentException 值域总长度超过2GB
+     */
+    public DCMCompactDataSet(DCMDataSet dataset) {
+        List<DCMAbstractType> elements = new ArrayList<>(dataset.items.size());
+        long total = 0;
+        boolean hasSequence = false;
+        for (DCMAbstractType item : dataset.items) {
+            if (item == null) {
+                continue;
+            }
+            elements.add(item);
+            if (item instanceof DCMDataSequence) {
+                hasSequence = true;
+            } else {
+                total += item.getValueLength();
+            }
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("值域总长度过大: " + total);
+        }
+        // 按无符号标签排序（稳定），之后按标签二分查找
+        elements.sort((a, b) -> Integer.compareUnsigned(a.getTag(), b.getTag()));
+
+        int count = elements.size();
+        tags = new int[count];
+        vrCodes = new short[count];
+        offsets = new int[count + 1];
+        data = new byte[(int) total];
+        sequences = hasSequence ? new DCMCompactDataSet[count][] : null;
+        isBE = dataset.syntax != null && dataset.syntax.isBE;
+
+        int pos = 0;
+        for (int i = 0; i < count; i++) {
+            DCMAbstractType item = elements.get(i);
+            tags[i] = item.getTag();
+            vrCodes[i] = (short) item.getVRCode();
+            offsets[i] = pos;
+            if (item instanceof DCMDataSequence) {
+                List<DCMCompactDataSet> children = new ArrayList<>();
+                for (DCMAbstractType child : ((DCMDataSequence) item).items()) {
+                    if (child instanceof DCMDataSet) {
+                        children.add(new DCMCompactDataSet((DCMDataSet) child));
+                    }
+                }
+                sequences[i] = children.toArray(new DCMCompactDataSet[0]);
+            } else {
+                ByteBuffer value = item.getValueBuffer();
+                int length = value.remaining();
+                value.get(data, pos, length);
+                pos += length;
+            }
+        }
+        offsets[count] = pos;
+    }
+
+    /**
+     * 元素个数
+     */
+    public int size() {
+        return tags.length;
+    }
+
+    /**
+     * 第i个元素的标签
+     */
+    public int getTagAt(int i) {
+        return tags[i];
+    }
+
+    /**
+     * 第i个元素的VR码
+     */
+    public int getVRCodeAt(int i) {
+        return vrCodes[i] & 0xFFFF;
+    }
+
+    /**
+     * 第i个元素的值域字节数（序列为0）
+     */
+    public int getLengthAt(int i) {
+        return offsets[i + 1] - offsets[i];
+    }
+
+    /**
+     * 按标签查找元素下标
+     * @param dicomTag DICOM标签 (组号 << 16 | 元素号)
+     * @return 下标，不存在时返回-1
+     */
+    public int indexOf(int dicomTag) {
+        int low = 0;
+        int high = tags.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Integer.compareUnsigned(tags[mid], dicomTag);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                // 重复标签取第一个
+                while (mid > 0 && tags[mid - 1] == dicomTag) {
+                    mid--;
+                }
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 是否包含标签
+     */
+    public boolean contains(int dicomTag) {
+        return indexOf(dicomTag) >= 0;
+    }
+
+    /**
+     * 获取指定标签的VR
+     * @return VR字符串，元素不存在时返回""
+     */
+    public String getVR(int dicomTag) {
+        int i = indexOf(dicomTag);
+        return i >= 0 ? VRCode.toString(vrCodes[i] & 0xFFFF) : "";
+    }
+
+    /**
+     * 获取指定标签的名称（查共享字典，私有元素返回"(gggg,eeee)"）
+     */
+    public String getName(int dicomTag) {
+        return DCMDataSet.lookupElementName(dicomTag >>> 16, dicomTag & 0xFFFF);
+    }
+
+    /**
+     * 获取指定标签的VM（查共享字典，字典中没有时返回"1"）
+     */
+    public String getVM(int dicomTag) {
+        DicomDictionaryEntry entry = DCMDataSet.dictionary.lookup(dicomTag);
+        return entry != null && entry.getVm() != null ? entry.getVm() : "1";
+    }
+
+    /**
+     * 获取指定标签值域的只读缓冲区，不复制
+     * @return 字节序与原传输语法一致的只读缓冲区，元素不存在时返回null
+     */
+    public ByteBuffer getValueBuffer(int dicomTag) {
+        int i = indexOf(dicomTag);
+        if (i < 0) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data, offsets[i], getLengthAt(i)).slice().asReadOnlyBuffer();
+        return buffer.order(isBE ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 获取指定标签值域的副本
+     * @return 值域字节，元素不存在时返回null
+     */
+    public byte[] getValue(int dicomTag) {
+        int i = indexOf(dicomTag);
+        return i >= 0 ? Arrays.copyOfRange(data, offsets[i], offsets[i + 1]) : null;
+    }
+
+    /**
+     * 获取指定标签的值（与DCMDataSet.GetValue相同的类型）
+     */
+    public <T> T GetValue(int dicomTag) {
+        int i = indexOf(dicomTag);
+        VRBase parser = i >= 0 ? parser(i) : null;
+        return parser != null ? parser.<T>GetValue(getValue(dicomTag), 0) : null;
+    }
+
+    /**
+     * 获取指定标签的字符串值
+     * @return 字符串值，元素不存在时返回null
+     */
+    public String getString(int dicomTag) {
+        int i = indexOf(dicomTag);
+        VRBase parser = i >= 0 ? parser(i) : null;
+        return parser != null ? parser.getString(getValue(dicomTag)) : null;
+    }
+
+    /**
+     * 获取指定标签第一个值的整数形式
+     * @param defaultValue 元素不存在或无法解析时的返回值
+     */
+    public int getInt(int dicomTag, int defaultValue) {
+        int i = indexOf(dicomTag);
+        VRBase parser = i >= 0 ? parser(i) : null;
+        return parser != null ? parser.getInt(getValue(dicomTag), 0, defaultValue) : defaultValue;
+    }
+
+    /**
+     * 获取指定标签第一个值的浮点形式
+     * @param defaultValue 元素不存在或无法解析时的返回值
+     */
+    public double getDouble(int dicomTag, double defaultValue) {
+        int i = indexOf(dicomTag);
+        VRBase parser = i >= 0 ? parser(i) : null;
+        return parser != null ? parser.getDouble(getValue(dicomTag), 0, defaultValue) : defaultValue;
+    }
+
+    /**
+     * 获取序列元素的条目
+     * @param dicomTag 序列标签
+     * @return 条目数组，元素不存在或不是序列时返回null
+     */
+    public DCMCompactDataSet[] getItems(int dicomTag) {
+        int i = indexOf(dicomTag);
+        return i >= 0 && sequences != null ? sequences[i] : null;
+    }
+
+    private VRBase parser(int i) {
+        int code = vrCodes[i] & 0xFFFF;
+        if (code == VRCode.NONE || code == VRCode.SQ) {
+            return null;
+        }
+        return VRFactory.getVRInstance(code, isBE);
+    }
+}
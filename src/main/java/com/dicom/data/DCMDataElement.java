@@ -29,17 +29,19 @@ public class DCMDataElement extends DCMAbstractType {
         }
         
         // 构建标签字符串
-        String tag = String.format("(%04X,%04X)", 
-            gtag != null ? gtag : 0, 
-            etag != null ? etag : 0);
+        String tag = String.format("(%04X,%04X)", gtag, etag);
         
         sb.append(tag).append("\t");
-        sb.append(name != null ? name : "").append("\t");
+        sb.append(getName()).append("\t");
         sb.append(vr != null ? vr : "").append("\t");
-        sb.append(vm != null ? vm : "").append("\t");
+        sb.append(getVM()).append("\t");
         sb.append(length).append("\t");
-          // 值的字符串表示
-        if (value != null && value.length > 0) {
+        // 值的字符串表示；批量数据仍引用源缓冲区时不复制整个值域，只显示长度
+        boolean bulkView = isValueView() && TransferSyntax.isBulkData(getVRCode(), getValueLength());
+        byte[] value = bulkView ? null : getValue();
+        if (bulkView) {
+            sb.append(String.format("[%d bytes]", getValueLength()));
+        } else if (value != null && value.length > 0) {
             if (vrparser != null) {
                 // 使用VR解析器将值转换为字符串
                 String valueStr = vrparser.ToString(value, 0, "");
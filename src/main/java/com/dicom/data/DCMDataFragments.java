@@ -0,0 +1,272 @@
+package com.dicom.data;
+
+import com.dicom.dictionary.DicomTags;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * 封装像素数据（未定义长度的(7FE0,0010)）
+ * 解码时只读取各片段条目的头，记录片段在源缓冲区中的位置和长度，不复制、不解压；
+ * 第一个条目为基本偏移表(Basic Offset Table)。按帧访问时优先使用所属数据集中的
+ * 扩展偏移表(7FE0,0001/0002)，其次基本偏移表，都为空时按NumberOfFrames推断，
+ * 只返回该帧片段的只读视图，不访问其他帧。
+ * 值域仍为整个片段序列（不含序列定界符），编码时按未定义长度写出并补上序列定界符
+ */
+public class DCMDataFragments extends DCMDataElement {
+    private ByteBuffer source;          // 源缓冲区（与数据集共享）
+    private int tableOffset;            // 基本偏移表值域的位置
+    private int tableLength;            // 基本偏移表字节数
+    private int[] fragmentOffsets = new int[8];  // 片段值域的绝对位置
+    private int[] fragmentLengths = new int[8];  // 片段字节数
+    private int[] itemOffsets = new int[8];      // 片段条目头相对第一个片段条目的偏移（偏移表的基准）
+    private int fragmentCount;
+    private DCMDataSet owner;           // 所属数据集，按帧访问时从中读取扩展偏移表和帧数
+    private long[] frameOffsets;        // 各帧第一个片段条目的相对偏移，按需建立
+
+    /**
+     * 构造函数
+     * @param ts 传输语法实例
+     */
+    public DCMDataFragments(TransferSyntax ts) {
+        super(ts);
+    }
+
+    /**
+     * 从片段序列的开始位置扫描条目头，直到序列定界符
+     * @param data 已按传输语法设置字节序的缓冲区
+     * @param pos 值域（第一个条目）开始位置
+     * @param owner 所属数据集
+     * @return 序列定界符之后的位置；缓冲区内没有完整的片段序列时返回-1（窗口解析时留给下一个窗口）
+     * @throws IllegalStateException 出现非条目元素或未定义长度的片段
+     */
+    int parseFragments(ByteBuffer data, int pos, DCMDataSet owner) {
+        this.source = data;
+        this.owner = owner;
+        int start = pos;
+        int firstItem = -1;
+        boolean table = true;
+        ElementHeader header = new ElementHeader();
+        while (true) {
+            // 条目和定界符在任何传输语法下都是8字节头
+            if (!header.read(data, pos, data.limit(), false)) {
+                return -1;
+            }
+            int gtag = header.group();
+            int etag = header.element();
+            int length = header.length;
+            if (gtag != 0xFFFE || (etag != 0xE000 && etag != 0xE0DD)) {
+                throw new IllegalStateException(String.format("封装像素数据中出现非条目元素(%04X,%04X)", gtag, etag));
+            }
+            if (etag == 0xE0DD) {
+                setValueReference(data, start, pos - start);
+                this.length = UNDEFINED_LENGTH;
+                return pos + 8;
+            }
+            if (length == UNDEFINED_LENGTH) {
+                throw new IllegalStateException("封装像素数据的片段不能为未定义长度: " + pos);
+            }
+            if (length < 0 || length > data.limit() - pos - 8) {
+                return -1;
+            }
+            if (table) {
+                tableOffset = pos + 8;
+                tableLength = length;
+                table = false;
+            } else {
+                if (firstItem < 0) {
+                    firstItem = pos;
+                }
+                if (fragmentCount == fragmentOffsets.length) {
+                    fragmentOffsets = Arrays.copyOf(fragmentOffsets, fragmentCount * 2);
+                    fragmentLengths = Arrays.copyOf(fragmentLengths, fragmentCount * 2);
+                    itemOffsets = Arrays.copyOf(itemOffsets, fragmentCount * 2);
+                }
+                fragmentOffsets[fragmentCount] = pos + 8;
+                fragmentLengths[fragmentCount] = length;
+                itemOffsets[fragmentCount] = pos - firstItem;
+                fragmentCount++;
+            }
+            pos += 8 + length;
+        }
+    }
+
+    /**
+     * 片段个数（不含基本偏移表）
+     */
+    public int getFragmentCount() {
+        return fragmentCount;
+    }
+
+    /**
+     * 第i个片段的只读视图，不复制
+     * @param i 片段序号，从0开始
+     */
+    public ByteBuffer getFragment(int i) {
+        if (i < 0 || i >= fragmentCount) {
+            throw new IndexOutOfBoundsException("片段序号超出范围: " + i + "/" + fragmentCount);
+        }
+        return view(fragmentOffsets[i], fragmentLengths[i]);
+    }
+
+    /**
+     * 基本偏移表：各帧第一个片段条目相对第一个片段条目的字节偏移
+     * @return 偏移数组，偏移表为空时返回长度为0的数组
+     */
+    public long[] getBasicOffsetTable() {
+        long[] table = new long[tableLength / 4];
+        ByteBuffer buffer = view(tableOffset, tableLength);
+        for (int i = 0; i < table.length; i++) {
+            table[i] = buffer.getInt(i * 4) & 0xFFFFFFFFL;
+        }
+        return table;
+    }
+
+    /**
+     * 帧数：扩展偏移表或基本偏移表的项数，都为空时取所属数据集的NumberOfFrames（缺省为1）
+     */
+    public int getNumberOfFrames() {
+        return frameOffsets().length;
+    }
+
+    /**
+     * 获取一帧的全部片段，只读视图，不复制也不访问其他帧
+     * @param frame 帧序号，从0开始
+     * @return 按顺序排列的片段视图
+     * @throws IndexOutOfBoundsException 帧序号超出范围
+     * @throws IllegalStateException 没有偏移表且片段数与帧数不对应，无法确定帧的边界
+     */
+    public ByteBuffer[] getFrameFragments(int frame) {
+        long[] offsets = frameOffsets();
+        if (frame < 0 || frame >= offsets.length) {
+            throw new IndexOutOfBoundsException("帧序号超出范围: " + frame + "/" + offsets.length);
+        }
+        int first = firstFragmentAt(offsets[frame]);
+        int end = frame + 1 < offsets.length ? firstFragmentAt(offsets[frame + 1]) : fragmentCount;
+        ByteBuffer[] result = new ByteBuffer[Math.max(end - first, 0)];
+        for (int i = first; i < end; i++) {
+            result[i - first] = view(fragmentOffsets[i], fragmentLengths[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 一帧压缩数据的字节数（各片段之和，不含条目头）
+     * @param frame 帧序号，从0开始
+     */
+    public long getFrameLength(int frame) {
+        long total = 0;
+        for (ByteBuffer fragment : getFrameFragments(frame)) {
+            total += fragment.remaining();
+        }
+        return total;
+    }
+
+    /**
+     * 各帧起始偏移，首次按帧访问时建立
+     */
+    private long[] frameOffsets() {
+        if (frameOffsets != null) {
+            return frameOffsets;
+        }
+        long[] offsets = extendedOffsetTable();
+        if (offsets == null && tableLength >= 4) {
+            offsets = getBasicOffsetTable();
+        }
+        if (offsets == null) {
+            int frames = owner != null ? owner.getInt(DicomTags.NumberOfFrames, 1) : 1;
+            if (frames <= 1) {
+                offsets = new long[]{0};
+            } else if (frames == fragmentCount) {
+                offsets = new long[frames];
+                for (int i = 0; i < frames; i++) {
+                    offsets[i] = itemOffsets[i];
+                }
+            } else {
+                throw new IllegalStateException("没有偏移表，" + fragmentCount + "个片段无法对应到" + frames + "帧");
+            }
+        }
+        frameOffsets = offsets;
+        return offsets;
+    }
+
+    /**
+     * 所属数据集中的扩展偏移表(7FE0,0001)，64位偏移，与基本偏移表基准相同
+     * @return 偏移数组，不存在时返回null
+     */
+    private long[] extendedOffsetTable() {
+        DCMAbstractType table = owner != null ? owner.findItem(DicomTags.ExtendedOffsetTable) : null;
+        if (table == null || table.getValueLength() < 8) {
+            return null;
+        }
+        ByteBuffer buffer = table.getValueBuffer();
+        long[] offsets = new long[buffer.remaining() / 8];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = buffer.getLong(i * 8);
+        }
+        return offsets;
+    }
+
+    /**
+     * 第一个条目偏移不小于offset的片段序号
+     */
+    private int firstFragmentAt(long offset) {
+        if (offset > Integer.MAX_VALUE) {
+            return fragmentCount;
+        }
+        int i = Arrays.binarySearch(itemOffsets, 0, fragmentCount, (int) offset);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * 源缓冲区中的只读视图，封装数据的偏移表总是小端
+     */
+    private ByteBuffer view(int offset, int length) {
+        return DCMDataSet.slice(source, offset, length).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 编码：封装像素数据总是未定义长度，片段序列之后写序列定界符
+     */
+    @Override
+    public byte[] Encode() {
+        return Encode(true);
+    }
+
+    /**
+     * 编码：封装像素数据总是未定义长度，忽略参数
+     * @param isUndefinedLength 是否使用未定义长度
+     */
+    @Override
+    public byte[] Encode(boolean isUndefinedLength) {
+        ByteBuffer value = getValueBuffer();
+        ByteBuffer out = ByteBuffer.allocate(12 + value.remaining() + 8)
+                .order(syntax != null && syntax.isBE ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        out.putShort(gtag).putShort(etag);
+        if (syntax == null || syntax.isExplicit) {
+            out.put((vr != null && vr.length() == 2 ? vr : "OB").getBytes()).putShort((short) 0);
+        }
+        out.putInt(0xFFFFFFFF);
+        out.put(value);
+        out.putShort((short) 0xFFFE).putShort((short) 0xE0DD).putInt(0);
+        return Arrays.copyOf(out.array(), out.position());
+    }
+
+    /**
+     * 输出时只显示片段数和长度，不复制值域
+     */
+    @Override
+    public String ToString(String head) {
+        StringBuilder sb = new StringBuilder();
+        if (head != null && !head.isEmpty()) {
+            sb.append(head);
+        }
+        sb.append(String.format("(%04X,%04X)", gtag, etag)).append("\t");
+        sb.append(getName()).append("\t");
+        sb.append(vr != null ? vr : "").append("\t");
+        sb.append(getVM()).append("\t");
+        sb.append(length).append("\t");
+        sb.append(String.format("[%d fragments, %d bytes]", fragmentCount, getValueLength()));
+        return sb.toString();
+    }
+}
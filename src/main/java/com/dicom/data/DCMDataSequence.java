@@ -3,12 +3,18 @@ package com.dicom.data;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * DICOM数据序列类 - SQ序列
  * 继承DCMDataSet类，用于表示DICOM序列类型的数据元素
+ * 从数据集解码时只记录值域的位置（与数据集共享缓冲区），首次访问条目时才解析
  */
 public class DCMDataSequence extends DCMDataSet {
+    private ByteBuffer pendingData;             // 尚未解析的值域所在缓冲区，解析后为null
+    private int pendingOffset;                  // 值域开始位置
+    private int pendingLimit;                   // 值域的结束位置（未定义长度时为序列定界符之后）
+    private TagProjection pendingProjection;    // 条目内的标签投影
 
     /**
      * 构造函数
@@ -27,94 +33,92 @@ public class DCMDataSequence extends DCMDataSet {
      */
     @Override
     public DCMAbstractType Parse(byte[] data, int[] idx) {
-        // 清空现有items
+        try {
+            parseItems(ByteBuffer.wrap(data), idx, data.length, null);
+        } catch (Exception e) {
+            System.err.println("解析序列时出错: " + e.getMessage());
+        }
+        return this;
+    }
+    
+    /**
+     * 解码序列的条目，条目及其中的元素由DCMDataSet.decodeElement解码（与数据集相同的路径）
+     * 定长序列读到序列末尾；未定义长度的序列读到序列定界符
+     * @param data 数据缓冲区
+     * @param idx 序列值域开始位置，返回序列之后的位置
+     * @param limit 可读范围的结束位置
+     * @param projection 条目内的标签投影，null表示完整解析
+     */
+    void parseItems(ByteBuffer data, int[] idx, int limit, TagProjection projection) {
+        pendingData = null;
         items.clear();
-        
+        data = ordered(data);
+        boolean undefined = length == UNDEFINED_LENGTH;
+        int end = undefined ? limit : (int) Math.min(limit, idx[0] + (length & 0xFFFFFFFFL));
+        this.projection = projection;  // decodeElement把它交给每个条目
         try {
-            System.out.println("  DCMDataSequence.Parse开始: idx=" + idx[0] + ", length=" + length + ", 剩余字节=" + (data.length - idx[0]));
-            
-            if (length == (int)0xffffffff) {   // sq未定义长度
-                while (idx[0] < data.length) {  // 循环条件为数据长度
-                    System.out.println("    解析位置: " + idx[0] + ", 剩余: " + (data.length - idx[0]));
-                    
-                    // 检查是否还有足够的数据来解析一个完整的元素头部
-                    if (idx[0] + 8 > data.length) {
-                        System.out.println("    数据不足，结束解析");
-                        break;
-                    }
-                    
-                    DCMAbstractType item = syntax.Decode(data, idx);     // 解析一个条目或定界符
-                    if (item == null) {
-                        System.err.println("    解析序列时出错: 解析返回null");
-                        break;
-                    }
-                    
-                    System.out.println("    解析到元素: (" + String.format("%04X", item.gtag & 0xFFFF) + 
-                                     "," + String.format("%04X", item.etag & 0xFFFF) + ") VR=" + item.vr + " length=" + item.length);
-                    
-                    if (item.gtag == (short) 0xfffe && item.etag == (short) 0xe0dd) {  // sq定界符，结束
-                        System.out.println("    遇到SQ定界符，结束解析");
-                        break;
-                    } else if (item.gtag == (short) 0xfffe && item.etag == (short) 0xe000) {
-                        // 条目开始标记，创建DCMDataItem并解析内容
-                        System.out.println("    遇到条目开始标记，创建DCMDataItem");
-                        
-                        // 检查是否还有数据用于解析条目内容
-                        if (idx[0] >= data.length) {
-                            System.out.println("    警告：条目开始标记后没有数据，跳过");
-                            break;
-                        }
-                        
-                        DCMDataItem dataItem = new DCMDataItem(syntax);
-                        dataItem.gtag = item.gtag;
-                        dataItem.etag = item.etag;
-                        dataItem.length = item.length;
-                        dataItem.vr = ""; // 条目没有VR
-                        dataItem.name = "";
-                        dataItem.syntax = this.syntax; // 设置传输语法
-                        dataItem.Parse(data, idx);  // 解析条目内容
-                        System.out.println("    条目解析完成，包含 " + dataItem.getItemCount() + " 个子元素");
-                        
-                        // 总是添加解析的条目，即使是空的（符合DICOM标准）
-                        items.add(dataItem);
-                    } else {
-                        // 其他类型的元素直接添加（不应该出现在序列中）
-                        System.err.println("    警告：序列中发现非条目元素: " + 
-                                         String.format("(%04X,%04X)", item.gtag & 0xFFFF, item.etag & 0xFFFF));
-                        items.add(item);
-                    }
+            while (idx[0] + 8 <= end) {
+                DCMAbstractType item = decodeElement(data, idx, end);
+                if (item == null) {
+                    continue;
                 }
-            } else {      // sq确定长度
-                int offset = idx[0];
-                while (idx[0] < length + offset) {
-                    DCMAbstractType item = syntax.Decode(data, idx);
-                    if (item == null) {
-                        System.err.println("解析序列时出错: 解析返回null");
-                        break;
-                    }
-                    
-                    if (item.gtag == (short) 0xfffe && item.etag == (short) 0xe000) {
-                        // 条目开始标记，创建DCMDataItem并解析内容
-                        DCMDataItem dataItem = new DCMDataItem(syntax);
-                        dataItem.gtag = item.gtag;
-                        dataItem.etag = item.etag;
-                        dataItem.length = item.length;
-                        dataItem.Parse(data, idx);  // 解析条目内容
-                        items.add(dataItem);
-                    } else {
-                        items.add(item);
-                    }
+                if (item.gtag == (short) 0xfffe && item.etag == (short) 0xe0dd) {  // sq定界符，结束
+                    break;
+                }
+                if (!(item instanceof DCMDataItem)) {
+                    // 其他类型的元素直接添加（不应该出现在序列中）
+                    System.err.println("    警告：序列中发现非条目元素: " + 
+                                     String.format("(%04X,%04X)", item.gtag & 0xFFFF, item.etag & 0xFFFF));
                 }
+                items.add(item);
             }
-            
-            System.out.println("  DCMDataSequence.Parse完成: 解析了 " + items.size() + " 个条目");
-            
-        } catch (Exception e) {
-            System.err.println("解析序列时出错: " + e.getMessage());
-            e.printStackTrace();
+        } finally {
+            this.projection = null;
         }
-        
-        return this;
+        if (!undefined) {
+            idx[0] = end;
+        }
+    }
+    
+    /**
+     * 记录序列值域的位置，推迟到首次访问条目时再解析
+     * @param data 数据缓冲区（已按传输语法设置字节序，需保持有效）
+     * @param offset 值域开始位置
+     * @param limit 值域的结束位置
+     * @param projection 条目内的标签投影，null表示完整解析
+     */
+    void defer(ByteBuffer data, int offset, int limit, TagProjection projection) {
+        items.clear();
+        pendingData = data;
+        pendingOffset = offset;
+        pendingLimit = limit;
+        pendingProjection = projection;
+    }
+    
+    /**
+     * 条目是否已解析
+     */
+    public boolean isParsed() {
+        return pendingData == null;
+    }
+    
+    /**
+     * 首次访问时解析条目；解析出错时保留已读出的条目
+     */
+    @Override
+    protected List<DCMAbstractType> items() {
+        if (pendingData != null) {
+            int[] idx = {pendingOffset};
+            try {
+                parseItems(pendingData, idx, pendingLimit, pendingProjection);
+            } catch (RuntimeException e) {
+                System.err.println("解析序列时出错: " + e.getMessage());
+            } finally {
+                pendingData = null;
+                pendingProjection = null;
+            }
+        }
+        return items;
     }
 
     /**
@@ -130,26 +134,22 @@ public class DCMDataSequence extends DCMDataSet {
         StringBuilder str = new StringBuilder();
         str.append(String.format("%04X", gtag & 0xFFFF)).append("\t")
            .append(String.format("%04X", etag & 0xFFFF)).append("\t")
-           .append(name).append("\t")
+           .append(getName()).append("\t")
            .append(vr).append("\t")
            .append(length);
 
-        System.out.println("DCMDataSequence.ToString: 序列包含 " + items.size() + " 个条目");
+        List<DCMAbstractType> items = items();
         
         if (items.isEmpty()) {
             str.append(" (empty)");
         } else {
             for (int i = 0; i < items.size(); i++) {
                 DCMAbstractType elem = items.get(i);
-                System.out.println("  条目 " + i + ": " + (elem != null ? elem.getClass().getSimpleName() : "null"));
                 if (elem != null) {
                     str.append("\n").append(head).append(">item");
                     if (elem instanceof DCMDataItem) {
                         // 对于DCMDataItem，直接显示其内容
-                        DCMDataItem dataItem = (DCMDataItem) elem;
-                        System.out.println("    DCMDataItem包含 " + dataItem.getItemCount() + " 个元素");
                         String itemContent = elem.ToString(head + ">");
-                        System.out.println("    ToString结果长度: " + itemContent.length() + " 内容: [" + itemContent + "]");
                         if (!itemContent.trim().isEmpty()) {
                             str.append("\n").append(itemContent);
                         } else {
@@ -174,7 +174,8 @@ public class DCMDataSequence extends DCMDataSet {
         if("DCMDataItem[]".equals(obj.getClass().getSimpleName())) {
             DCMDataItem[] val = (DCMDataItem[]) obj;
             
-            // 清空现有条目并添加新的条目
+            // 清空现有条目并添加新的条目（未解析的值域作废）
+            pendingData = null;
             items.clear();
             Collections.addAll(items, val);
             length = 0xffffffff; // 设置为未定义长度
@@ -202,7 +203,7 @@ public class DCMDataSequence extends DCMDataSet {
             int lenpos = buff.position() - 4;  // SQ长度域开始位置
             
             // 编码值域：遍历SQ中每条条目
-            for (DCMAbstractType elem : items) {
+            for (DCMAbstractType elem : items()) {
                 // 条目开始标记，隐式VR，UL
                 buff.putShort((short)0xfffe);
                 buff.putShort((short)0xe000);
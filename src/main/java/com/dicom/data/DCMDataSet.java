@@ -1,7 +1,10 @@
 package com.dicom.data;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.function.IntPredicate;
+import com.dicom.vr.VRCode;
 import com.dicom.vr.VRFactory;
 import com.dicom.vr.US;
 import com.dicom.vr.SS;
@@ -9,6 +12,8 @@ import com.dicom.vr.UL;
 import com.dicom.vr.SL;
 import com.dicom.vr.OW;
 import com.dicom.dictionary.DicomDictionary;
+import com.dicom.dictionary.DicomDictionaryEntry;
+import com.dicom.dictionary.PrivateCreatorCache;
 
 /**
  * DICOM数据集类 - 容器构件类
@@ -22,19 +27,58 @@ public class DCMDataSet extends DCMAbstractType {
     protected List<DCMAbstractType> items;
     
     /**
-     * DICOM字典实例，用于查找标签的VR
+     * DICOM字典实例，用于查找标签的VR（进程共享的只读字典）
      */
-    private static DicomDictionary dictionary;
+    protected static final DicomDictionary dictionary = DicomDictionary.getInstance();
     
-    // 静态初始化字典
-    static {
-        try {
-            dictionary = DicomDictionary.loadFromClasspath();
-        } catch (Exception e) {
-            System.err.println("Warning: Failed to load DICOM dictionary: " + e.getMessage());
-            dictionary = null;
-        }
-    }
+    /**
+     * 本数据集的私有创建者块缓存，遇到第一个私有元素时创建
+     */
+    protected PrivateCreatorCache privateCreators;
+    
+    /**
+     * 解码时重复使用的元素头，第一次解码时创建；读出后立即取到局部变量，嵌套的跳过和解码可以再次使用
+     */
+    private ElementHeader header;
+    
+    /**
+     * 是否在文件映射窗口上解析：为true时跨越缓冲区末尾的元素留给下一个窗口，不视为错误
+     */
+    protected boolean truncatedWindow;
+    
+    /**
+     * 最近一次parseElements中断解析的解码错误；正常结束或元素跨越窗口末尾时为null。
+     * 窗口解析的调用方据此决定是否继续后续窗口
+     */
+    protected RuntimeException decodeError;
+    
+    /**
+     * 停止条件：对即将解析的元素标签（组号 << 16 | 元素号）返回true时，在该元素之前停止解析；
+     * 为null时解析到数据末尾。只作用于本数据集的顶层元素，序列内的元素不检查
+     */
+    protected IntPredicate stopCondition;
+    
+    /**
+     * 因停止条件而停止时，停止元素在缓冲区中的开始位置；未停止时为-1
+     */
+    protected int stoppedAt = -1;
+    
+    /**
+     * 标签投影：不为null时只保留投影中的顶层元素，其余元素跳过值域、不创建对象
+     */
+    protected TagProjection projection;
+    
+    /**
+     * 窗口解析时被跳过的值域越过窗口末尾的字节数：此时idx停在窗口末尾，
+     * 下一个窗口应从 窗口末尾 + windowSkip 处开始
+     */
+    protected long windowSkip;
+    
+    /**
+     * decodeElement的返回值，表示窗口解析时元素跨越窗口末尾、缓冲区内的数据不够解码：
+     * 不是错误，parseElements把idx退回到元素开始处并停止，由调用方读入下一个窗口后继续
+     */
+    protected static final DCMAbstractType NEED_MORE_DATA = new DCMDataElement(null);
     
     /**
      * 构造函数
@@ -42,7 +86,7 @@ public class DCMDataSet extends DCMAbstractType {
      */
     public DCMDataSet(TransferSyntax ts) {
         super(ts);
-        this.items = new ArrayList<DCMAbstractType>();
+        this.items = new DCMItemList();
     }
     
     /**
@@ -75,153 +119,430 @@ public class DCMDataSet extends DCMAbstractType {
      * @return 解码后的数据元素列表
      */    @Override
     public DCMAbstractType Parse(byte[] data, int[] idx) {
+        return parseBuffer(ByteBuffer.wrap(data), idx);
+    }
+    
+    /**
+     * 解码数据集，遇到满足停止条件的标签时停止
+     * 停止时idx指向停止元素的开始位置，剩余部分可以从该位置继续读取
+     * @param data 待解码的字节数组
+     * @param idx 当前解码位置的索引数组（返回停止位置或结束位置）
+     * @param stopCondition 停止条件，如stopAtTag(0x7FE00010)；为null时完整解码
+     * @return 解码后的数据集
+     */
+    public DCMAbstractType Parse(byte[] data, int[] idx, IntPredicate stopCondition) {
+        this.stopCondition = stopCondition;
+        try {
+            return Parse(data, idx);
+        } finally {
+            this.stopCondition = null;
+        }
+    }
+    
+    /**
+     * 按标签投影解码数据集，只保留投影中的元素
+     * 不需要的元素只读元素头，值域（包括整个定长序列）直接跳过；
+     * 顶层标签超过投影中的最大标签后停止，idx指向停止位置
+     * @param data 待解码的字节数组
+     * @param idx 当前解码位置的索引数组（返回停止位置或结束位置）
+     * @param projection 标签投影；为null时完整解码
+     * @return 解码后的数据集
+     */
+    public DCMAbstractType Parse(byte[] data, int[] idx, TagProjection projection) {
+        this.projection = projection;
+        try {
+            return Parse(data, idx, projection != null ? stopAfterTag(projection.getLastTag()) : null);
+        } finally {
+            this.projection = null;
+        }
+    }
+    
+    /**
+     * 停止条件：标签大于或等于tag（按无符号比较）
+     * 例如stopAtTag(0x7FE00010)在像素数据之前停止
+     * @param tag 标签
+     * @return 停止条件
+     */
+    public static IntPredicate stopAtTag(int tag) {
+        return t -> Integer.compareUnsigned(t, tag) >= 0;
+    }
+    
+    /**
+     * 停止条件：标签大于tag（按无符号比较），tag本身仍被解析
+     * @param tag 标签
+     * @return 停止条件
+     */
+    public static IntPredicate stopAfterTag(int tag) {
+        return t -> Integer.compareUnsigned(t, tag) > 0;
+    }
+    
+    /**
+     * 上一次解析是否因停止条件而提前结束
+     * @return 是否提前结束
+     */
+    public boolean isStopped() {
+        return stoppedAt >= 0;
+    }
+    
+    /**
+     * 从ByteBuffer解码整个数据集
+     * 按绝对位置读取，不改变缓冲区的position；缓冲区可以是包装的字节数组，也可以是文件映射
+     * @param data 数据缓冲区，有效数据为 [0, limit)
+     * @param idx 当前解码位置的索引数组（用于返回新的位置）
+     * @return 解码后的数据集
+     */
+    protected DCMAbstractType parseBuffer(ByteBuffer data, int[] idx) {
         // 清空现有items
         items.clear();
-        
-        System.out.println("开始解析数据集，位置: " + idx[0] + ", 剩余字节: " + (data.length - idx[0]));
-        
+        stoppedAt = -1;
+        if (privateCreators != null) {
+            privateCreators.clear();
+        }
+        parseElements(data, idx);
+        return this;
+    }
+    
+    /**
+     * 从当前位置解码数据元素，追加到items
+     * @param data 数据缓冲区
+     * @param idx 当前解码位置的索引数组（用于返回新的位置）
+     */
+    protected void parseElements(ByteBuffer data, int[] idx) {
+        parseElements(data, idx, data.limit());
+    }
+    
+    /**
+     * 从当前位置解码数据元素直到limit或定界符，追加到items
+     * 窗口解析（truncatedWindow为true）时，跨越缓冲区末尾的元素不视为错误：
+     * idx退回到该元素开始处并停止，由调用方映射下一个窗口后继续。
+     * 遇到条目定界符时越过它并停止（条目结束）；遇到序列定界符时停在它之前，留给所属序列
+     * @param data 数据缓冲区
+     * @param idx 当前解码位置的索引数组（用于返回新的位置）
+     * @param limit 可读范围的结束位置
+     */
+    protected void parseElements(ByteBuffer data, int[] idx, int limit) {
+        data = ordered(data);
         int elementCount = 0;
-        while (idx[0] < data.length - 8) { // 至少需要8字节（标签4字节+长度4字节）
+        decodeError = null;
+        while (idx[0] + 8 <= limit) { // 至少需要8字节（标签4字节+长度4字节）
+            // 保存起始位置
+            int startPos = idx[0];
+            if (stopCondition != null && stopCondition.test(readTag(data, startPos))) {
+                stoppedAt = startPos;
+                break;
+            }
             try {
-                // 创建新的数据元素
-                DCMDataElement element = new DCMDataElement(syntax);
-                
-                // 保存起始位置
-                int startPos = idx[0];
-                  // 1. 读取标签（4字节：gtag + etag）
-                if (idx[0] + 4 > data.length) {
+                DCMAbstractType element = decodeElement(data, idx, limit);
+                if (element == NEED_MORE_DATA) {
+                    // 元素（如未定义长度序列）跨越窗口末尾，留给下一个窗口
+                    idx[0] = startPos;
                     break;
                 }
-                
-                int gtag = readUInt16(data, idx[0]);
-                int etag = readUInt16(data, idx[0] + 2);
-                idx[0] += 4;
-                  element.gtag = (short) gtag;
-                element.etag = (short) etag;
-                
-                // 2. 根据传输语法确定是否为显式VR
-                String vr = "";
-                int length = 0;
-                
-                if (syntax.isExplicit) {
-                    // 显式VR：读取VR（2字节）
-                    if (idx[0] + 2 > data.length) {
-                        break;
-                    }
-                    
-                    vr = new String(data, idx[0], 2, "ASCII").trim();
-                    idx[0] += 2;
-                    
-                    // 检查VR是否需要额外的2字节保留字段
-                    if (needsReservedField(vr)) {
-                        // 跳过2字节保留字段
-                        idx[0] += 2;
-                        // 读取4字节长度
-                        if (idx[0] + 4 > data.length) {
-                            break;
-                        }
-                        length = readUInt32(data, idx[0]);
-                        idx[0] += 4;
-                    } else {
-                        // 读取2字节长度
-                        if (idx[0] + 2 > data.length) {
-                            break;
-                        }
-                        length = readUInt16(data, idx[0]);
-                        idx[0] += 2;
-                    }
-                } else {
-                    // 隐式VR：直接读取4字节长度
-                    if (idx[0] + 4 > data.length) {
-                        break;
-                    }
-                    
-                    length = readUInt32(data, idx[0]);
-                    idx[0] += 4;
-                    
-                    // 从字典获取VR
-                    vr = getDictionaryVR(gtag, etag);
-                }
-                  // 检查长度的有效性
-                // 长度为0xFFFFFFFF（-1）是DICOM中的未定义长度，不是错误
-                if (length != (int)0xFFFFFFFF && (length < 0 || idx[0] + length > data.length)) {
-                    System.err.println("警告：数据元素长度无效: " + length + " 在位置 " + startPos);
-                    break;
+                if (element == null) {
+                    continue;  // 不在投影中，已跳过
                 }
-                  // 3. 读取值数据
-                byte[] value;
-                if (length == (int)0xFFFFFFFF) {
-                    // 未定义长度，对于序列和条目，值数据将在Parse方法中处理
-                    value = new byte[0];
-                } else {
-                    value = new byte[length];
-                    if (length > 0) {
-                        System.arraycopy(data, idx[0], value, 0, length);
-                        idx[0] += length;
+                if (element.gtag == (short) 0xFFFE && element.etag != (short) 0xE000) {
+                    if (element.etag == (short) 0xE0DD) {
+                        idx[0] = startPos;
                     }
-                }// 4. 填充element的字段
-                element.vr = vr;
-                element.vm = "1"; // 简化处理，默认为1
-                element.length = length;
-                element.value = value;
-                element.name = getElementName(gtag, etag);
-                  // 5. 创建VR解析器
-                if (vr != null && !vr.isEmpty()) {
-                    element.vrparser = VRFactory.getVRInstance(vr, syntax.isBE);
-                }
-                  // 6. 检查是否为序列类型，如果是则创建DCMDataSequence而不是普通元素
-                if ("SQ".equals(vr)) {
-                    // 创建序列对象
-                    DCMDataSequence sequence = new DCMDataSequence(syntax);
-                    sequence.gtag = element.gtag;
-                    sequence.etag = element.etag;
-                    sequence.vr = element.vr;
-                    sequence.vm = element.vm;
-                    sequence.length = element.length;
-                    sequence.name = element.name;
-                    sequence.vrparser = element.vrparser;
-                    
-                    // 解析序列内容
-                    try {
-                        if (length == (int)0xFFFFFFFF) {
-                            // 未定义长度的序列，直接从当前位置开始解析
-                            sequence.Parse(data, idx);
-                        } else {
-                            // 确定长度的序列，从值数据中解析
-                            int[] seqIdx = {0};
-                            sequence.Parse(value, seqIdx);
-                        }
-                        items.add(sequence);
-                        System.out.println("序列元素: " + element.name + " (已解析内容，长度=" + 
-                            (length == (int)0xFFFFFFFF ? "未定义" : String.valueOf(length)) + ")");
-                    } catch (Exception e) {
-                        System.err.println("解析序列时出错: " + e.getMessage());
-                        // 如果序列解析失败，仍然添加普通元素
-                        items.add(element);
-                    }} else {
-                    // 普通数据元素
-                    items.add(element);
+                    break;
                 }
+                items.add(element);
                 elementCount++;
-                
-                // 输出调试信息（限制输出数量）
-                if (elementCount <= 10) {
-                    System.out.println("解析元素 #" + elementCount + ": " + 
-                        String.format("(%04X,%04X)", gtag, etag) + " " + 
-                        element.name + " [" + vr + "] 长度=" + length);
-                } else if (elementCount == 11) {
-                    System.out.println("... （继续解析更多元素）");
-                }
-                
-            } catch (Exception e) {
+            } catch (RuntimeException e) {
                 // 解码出错时跳出循环
+                decodeError = e;
                 System.err.println("解码数据集第" + (elementCount + 1) + "个元素时出错: " + e.getMessage());
                 break;
             }
         }
+    }
+    
+    /**
+     * 解码一个数据元素
+     * 数据集、序列条目、序列和TransferSyntax.Decode都经过这里，元素头由ElementHeader解码：
+     * 显式VR按VR码表区分长短VR，(FFFE,xxxx)条目和定界符在任何传输语法下都是4字节长度；
+     * 序列的条目在同一缓冲区上递归解码，值域只记录位置，不复制
+     * @param data 数据缓冲区，字节序与传输语法一致（见ordered）
+     * @param idx 元素开始位置，返回元素之后的位置
+     * @param limit 可读范围的结束位置
+     * @return 数据元素、序列、条目或定界符；不在投影中被跳过时返回null；
+     *         窗口解析时元素跨越窗口末尾返回NEED_MORE_DATA（此时idx无意义）
+     * @throws IndexOutOfBoundsException 不是窗口解析时，数据在元素中间结束
+     * @throws IllegalStateException 元素长度无效
+     */
+    protected DCMAbstractType decodeElement(ByteBuffer data, int[] idx, int limit) {
+        int startPos = idx[0];
+        ElementHeader header = header();
+        if (!header.read(data, startPos, limit, syntax.isExplicit)) {
+            return needMoreData("元素头超出范围", startPos);
+        }
+        int gtag = header.group();
+        int etag = header.element();
+        int length = header.length;
+        int vrCode = header.vrCode;
+        int pos = startPos + header.headerSize;
+        idx[0] = pos;
+        if (gtag == 0xFFFE) {
+            return decodeItemOrDelimiter(data, idx, limit, etag, length);
+        }
         
-        System.out.println("数据集解析完成，共解析了 " + elementCount + " 个元素");
-        return this;
+        // 显式VR直接由VR码得到VR字符串；隐式VR稍后从字典获取
+        String vr = syntax.isExplicit ? VRCode.toString(vrCode) : null;
+        
+        // 不在投影中的元素：跳过值域，不创建对象。窗口解析时值域可以越过窗口末尾，
+        // 下一个窗口从值域之后开始
+        if (projection != null && !projection.wants((gtag << 16) | etag)) {
+            if (length == UNDEFINED_LENGTH) {
+                int end = skipUndefinedLength(data, pos);
+                if (end < 0) {
+                    return needMoreData("未定义长度的值域没有结束", startPos);
+                }
+                idx[0] = end;
+                return null;
+            }
+            long skip = length & 0xFFFFFFFFL;
+            if (skip <= limit - pos) {
+                idx[0] = pos + (int) skip;
+                return null;
+            }
+            if (truncatedWindow) {
+                windowSkip = skip - (limit - pos);
+                idx[0] = limit;
+                return null;
+            }
+        }
+        if (!syntax.isExplicit) {
+            vr = getDictionaryVR(gtag, etag);
+            vrCode = VRCode.of(vr);
+        }
+        
+        // 检查长度的有效性
+        // 长度为0xFFFFFFFF（-1）是DICOM中的未定义长度，不是错误
+        if (length != UNDEFINED_LENGTH && (length < 0 || length > limit - pos)) {
+            if (truncatedWindow && length > 0) {
+                return NEED_MORE_DATA;
+            }
+            throw new IllegalStateException("数据元素长度无效: " + length + " 在位置 " + startPos);
+        }
+        
+        // 记录值域位置：不复制，首次访问值时才复制为字节数组
+        DCMDataElement element = new DCMDataElement(syntax);
+        element.gtag = (short) gtag;
+        element.etag = (short) etag;
+        element.vr = vr;  // 名称和VM不保存，需要时由getName()/getVM()查字典
+        if (length == UNDEFINED_LENGTH) {
+            element.length = length;
+            element.setValueBytes(new byte[0]);
+        } else {
+            element.setValueReference(data, pos, length);
+            idx[0] = pos + length;
+        }
+        if ((gtag & 1) != 0) {
+            // 私有元素按私有创建者查询私有字典
+            resolvePrivateElement(element);
+            vr = element.vr;
+            vrCode = VRCode.of(vr);
+        }
+        if (vr != null && !vr.isEmpty()) {
+            element.vrparser = VRFactory.getVRInstance(vr, syntax.isBE);
+        }
+        
+        if (vrCode == VRCode.SQ) {
+            return decodeSequence(element, data, idx, limit, pos);
+        }
+        if (length == UNDEFINED_LENGTH && ((gtag << 16) | etag) == 0x7FE00010) {
+            // 封装像素数据：只记录各片段的位置，按帧访问见DCMDataFragments
+            return decodeFragments(element, data, idx, pos);
+        }
+        if (length == UNDEFINED_LENGTH) {
+            // 其他未定义长度的非序列值域：跳到序列定界符，值域引用其中的条目
+            int end = skipUndefinedLength(data, pos);
+            if (end < 0) {
+                return needMoreData("未定义长度的值域没有结束", startPos);
+            }
+            element.setValueReference(data, pos, end - 8 - pos);
+            element.length = length;
+            idx[0] = end;
+        }
+        return element;
+    }
+    
+    /**
+     * 缓冲区内的数据不够解码当前元素：窗口解析时返回NEED_MORE_DATA，留给下一个窗口；
+     * 否则数据在元素中间结束，抛出IndexOutOfBoundsException
+     * @param message 错误信息
+     * @param pos 出错位置
+     */
+    private DCMAbstractType needMoreData(String message, int pos) {
+        if (truncatedWindow) {
+            return NEED_MORE_DATA;
+        }
+        throw new IndexOutOfBoundsException(message + ": " + pos);
+    }
+    
+    /**
+     * 解码 (FFFE,xxxx)：条目开始时解析条目内容，定界符只返回标记元素
+     * @param data 数据缓冲区
+     * @param idx 条目值域开始位置，返回条目之后的位置
+     * @param limit 可读范围的结束位置
+     * @param etag 元素号
+     * @param length 条目长度
+     * @return 条目或定界符
+     */
+    private DCMAbstractType decodeItemOrDelimiter(ByteBuffer data, int[] idx, int limit, int etag, int length) {
+        if (etag == 0xE000) {
+            DCMDataItem item = new DCMDataItem(syntax);
+            item.gtag = (short) 0xFFFE;
+            item.etag = (short) etag;
+            item.length = length;
+            item.parseContent(data, idx, limit, projection);
+            return item;
+        }
+        DCMDataElement delimiter = new DCMDataElement(syntax);
+        delimiter.gtag = (short) 0xFFFE;
+        delimiter.etag = (short) etag;
+        delimiter.length = length;
+        delimiter.setValueBytes(new byte[0]);
+        return delimiter;
+    }
+    
+    /**
+     * 把SQ元素转换为序列：只记录值域所在的缓冲区和范围，条目在首次访问序列时才解析
+     * 定长序列直接越过值域；未定义长度的序列先扫描到序列定界符（只读条目和元素头，不创建对象），
+     * 窗口解析时序列跨越窗口末尾则返回NEED_MORE_DATA，留给下一个窗口
+     * @param element 已读出元素头的SQ元素
+     * @param data 数据缓冲区
+     * @param idx 定长序列为序列之后的位置；未定义长度时返回序列定界符之后的位置
+     * @param limit 可读范围的结束位置
+     * @param valueOffset 序列值域开始位置
+     * @return 序列；未定义长度的序列扫描和解码都出错时返回原元素；序列跨越窗口末尾时返回NEED_MORE_DATA
+     */
+    private DCMAbstractType decodeSequence(DCMDataElement element, ByteBuffer data, int[] idx, int limit, int valueOffset) {
+        DCMDataSequence sequence = new DCMDataSequence(syntax);
+        sequence.gtag = element.gtag;
+        sequence.etag = element.etag;
+        sequence.vr = element.vr;
+        sequence.vm = element.vm;
+        sequence.length = element.length;
+        sequence.name = element.name;
+        sequence.vrparser = element.vrparser;
+        TagProjection nested = projection != null ? projection.getNested(element.getTag()) : null;
+        
+        boolean undefined = element.length == UNDEFINED_LENGTH;
+        int end = limit;
+        if (undefined) {
+            try {
+                end = skipUndefinedLength(data, valueOffset);
+            } catch (IllegalStateException e) {
+                if (truncatedWindow) {
+                    throw e;
+                }
+                end = -1;
+            }
+            if (end < 0) {
+                if (truncatedWindow) {
+                    return NEED_MORE_DATA;
+                }
+                // 找不到序列定界符（数据截断或格式错误）：立即解码，保留能读出的条目
+                int[] seqIdx = {valueOffset};
+                try {
+                    sequence.parseItems(data, seqIdx, limit, nested);
+                } catch (RuntimeException e2) {
+                    System.err.println("解析序列时出错: " + e2.getMessage());
+                    return element;
+                }
+                idx[0] = seqIdx[0];
+                return sequence;
+            }
+            idx[0] = end;
+        }
+        sequence.defer(data, valueOffset, end, nested);
+        return sequence;
+    }
+    
+    /**
+     * 把未定义长度的像素数据转换为封装像素数据，扫描片段条目头
+     * @param element 已读出元素头的像素数据元素
+     * @param data 数据缓冲区
+     * @param idx 返回序列定界符之后的位置
+     * @param valueOffset 第一个条目（基本偏移表）的位置
+     * @return 封装像素数据；片段序列跨越窗口末尾时返回NEED_MORE_DATA
+     */
+    private DCMAbstractType decodeFragments(DCMDataElement element, ByteBuffer data, int[] idx, int valueOffset) {
+        DCMDataFragments fragments = new DCMDataFragments(syntax);
+        fragments.gtag = element.gtag;
+        fragments.etag = element.etag;
+        fragments.vr = element.vr;
+        fragments.vrparser = element.vrparser;
+        int end = fragments.parseFragments(data, valueOffset, this);
+        if (end < 0) {
+            return needMoreData("片段序列超出缓冲区", valueOffset);
+        }
+        idx[0] = end;
+        return fragments;
+    }
+    
+    /**
+     * 获取封装像素数据
+     * @return 像素数据为封装格式时返回其片段信息，否则返回null
+     */
+    public DCMDataFragments getPixelDataFragments() {
+        DCMAbstractType item = findItem(0x7FE00010);
+        return item instanceof DCMDataFragments ? (DCMDataFragments) item : null;
+    }
+    
+    /**
+     * 解析私有数据元素（奇数组）
+     * 私有创建者元素(gggg,0010-00FF)登记到本数据集的创建者缓存；
+     * 私有数据元素(gggg,1000-FFFF)按所属创建者块查询私有字典，填充名称、VM，
+     * 隐式VR或UN时以字典VR替换；替换为SQ的元素由decodeElement按序列解码（延迟解析条目）。
+     * @param element 已读出标签、长度和值域位置的数据元素
+     */
+    protected void resolvePrivateElement(DCMAbstractType element) {
+        int group = element.gtag & 0xFFFF;
+        int etag = element.etag & 0xFFFF;
+        if ((group & 1) == 0 || group <= 0x0007 || group == 0xFFFF) {
+            return;
+        }
+        if (etag >= 0x0010 && etag <= 0x00FF) {
+            // 私有创建者
+            if (privateCreators == null) {
+                privateCreators = new PrivateCreatorCache();
+            }
+            byte[] creatorBytes = element.getValue();
+            String creator = creatorBytes != null
+                    ? new String(creatorBytes, java.nio.charset.StandardCharsets.ISO_8859_1).trim() : "";
+            privateCreators.addCreator(group, etag, creator);
+            if (element.name == null || "Unknown".equals(element.name) || element.name.startsWith("(")) {
+                element.name = "Private Creator";
+            }
+            if (isUnresolvedVR(element.vr)) {
+                element.vr = "LO";
+                element.vrparser = VRFactory.getVRInstance("LO", syntax.isBE);
+            }
+            return;
+        }
+        if (etag < 0x1000 || privateCreators == null) {
+            return;
+        }
+        DicomDictionaryEntry entry = privateCreators.lookup(group, etag);
+        if (entry == null) {
+            return;
+        }
+        element.name = entry.getName();
+        element.vm = entry.getVm();
+        if (isUnresolvedVR(element.vr)) {
+            element.vr = entry.getDefaultVr();
+            element.vrparser = VRFactory.getVRInstance(element.vr, syntax.isBE);
+        }
+    }
+    
+    /**
+     * VR是否尚未确定（隐式VR的未知元素或显式UN）
+     */
+    private static boolean isUnresolvedVR(String vr) {
+        return vr == null || vr.isEmpty() || "UN".equals(vr) || "\0\0".equals(vr);
     }
     
     /**
@@ -229,6 +550,15 @@ public class DCMDataSet extends DCMAbstractType {
      * @return items列表
      */
     public List<DCMAbstractType> getItems() {
+        return items();
+    }
+    
+    /**
+     * 访问items的统一入口，子类可在首次访问时再解析内容（见DCMDataSequence）
+     * 解码过程向items追加元素时直接使用字段
+     * @return items列表
+     */
+    protected List<DCMAbstractType> items() {
         return items;
     }
     
@@ -238,7 +568,7 @@ public class DCMDataSet extends DCMAbstractType {
      */
     public void addItem(DCMAbstractType item) {
         if (item != null) {
-            items.add(item);
+            items().add(item);
         }
     }
     
@@ -255,7 +585,7 @@ public class DCMDataSet extends DCMAbstractType {
      * @return 元素数量
      */
     public int getItemCount() {
-        return items.size();
+        return items().size();
     }    /**
      * 智能获取数据元素方法：
      * - 如果参数 < 1000，视为数组索引，返回对应位置的元素
@@ -266,10 +596,11 @@ public class DCMDataSet extends DCMAbstractType {
     public Object Item(int indexOrTag) {
         if (indexOrTag < 1000) {
             // 视为数组索引
-            if (indexOrTag < 0 || indexOrTag >= items.size()) {
+            List<DCMAbstractType> list = items();
+            if (indexOrTag < 0 || indexOrTag >= list.size()) {
                 return null;
             }
-            return items.get(indexOrTag);
+            return list.get(indexOrTag);
         } else {
             // 视为DICOM标签，返回包装器
             return new DCMElementWrapper(this, indexOrTag);
@@ -286,7 +617,7 @@ public class DCMDataSet extends DCMAbstractType {
             java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
             
             // 编码所有子项
-            for (DCMAbstractType item : items) {
+            for (DCMAbstractType item : items()) {
                 if (item != null) {
                     byte[] encodedItem = item.Encode();
                     if (encodedItem != null && encodedItem.length > 0) {
@@ -313,7 +644,7 @@ public class DCMDataSet extends DCMAbstractType {
             java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
             
             // 编码所有子项，传递未定义长度参数
-            for (DCMAbstractType item : items) {
+            for (DCMAbstractType item : items()) {
                 if (item != null) {
                     byte[] encodedItem = item.Encode(isUndefinedLength);
                     if (encodedItem != null && encodedItem.length > 0) {
@@ -358,17 +689,9 @@ public class DCMDataSet extends DCMAbstractType {
             short gtag = (short) ((dicomTag >> 16) & 0xFFFF);
             short etag = (short) (dicomTag & 0xFFFF);
             
-            // 查找现有元素
-            DCMDataElement element = null;
-            for (DCMAbstractType item : dataset.items) {
-                if (item instanceof DCMDataElement) {
-                    DCMDataElement elem = (DCMDataElement) item;
-                    if (elem.gtag == gtag && elem.etag == etag) {
-                        element = elem;
-                        break;
-                    }
-                }
-            }
+            // 按标签索引查找现有元素
+            DCMAbstractType existing = dataset.findItem(dicomTag);
+            DCMDataElement element = existing instanceof DCMDataElement ? (DCMDataElement) existing : null;
             
             // 如果元素不存在，创建新元素
             if (element == null) {
@@ -378,29 +701,30 @@ public class DCMDataSet extends DCMAbstractType {
                 element.name = getElementName(gtag, etag);
                 element.vr = getDictionaryVR(gtag, etag);
                 element.vm = "1"; // 默认VM
-                dataset.items.add(element);
+                dataset.items().add(element);
             }
             
             // 根据VR类型设置值
             try {
+                byte[] bytes;
                 if (value instanceof String) {
                     if ("UI".equals(element.vr) || "SH".equals(element.vr) || "LO".equals(element.vr) || 
                         "PN".equals(element.vr) || "CS".equals(element.vr) || "DA".equals(element.vr) || 
                         "TM".equals(element.vr) || "DT".equals(element.vr) || "AS".equals(element.vr) ||
                         "IS".equals(element.vr) || "DS".equals(element.vr) || "AE".equals(element.vr)) {
                         String strValue = (String) value;
-                        element.value = strValue.getBytes("UTF-8");
+                        bytes = strValue.getBytes("UTF-8");
                         // 确保长度为偶数
-                        if (element.value.length % 2 != 0) {
-                            byte[] paddedValue = new byte[element.value.length + 1];
-                            System.arraycopy(element.value, 0, paddedValue, 0, element.value.length);
+                        if (bytes.length % 2 != 0) {
+                            byte[] paddedValue = new byte[bytes.length + 1];
+                            System.arraycopy(bytes, 0, paddedValue, 0, bytes.length);
                             // 对于UI和其他不同VR使用不同的填充字符
                             if ("UI".equals(element.vr)) {
-                                paddedValue[element.value.length] = 0x00; // UI用null填充
+                                paddedValue[bytes.length] = 0x00; // UI用null填充
                             } else {
-                                paddedValue[element.value.length] = 0x20; // 其他用空格填充
+                                paddedValue[bytes.length] = 0x20; // 其他用空格填充
                             }
-                            element.value = paddedValue;
+                            bytes = paddedValue;
                         }
                     } else {
                         throw new IllegalArgumentException("VR " + element.vr + " 不支持String类型的值");
@@ -408,49 +732,49 @@ public class DCMDataSet extends DCMAbstractType {
                 } else if (value instanceof Short) {
                     if ("US".equals(element.vr)) {
                         US usVR = US.getInstance(dataset.syntax.isBE);
-                        element.value = usVR.SetValue(value);
+                        bytes = usVR.SetValue(value);
                     } else if ("SS".equals(element.vr)) {
                         SS ssVR = SS.getInstance(dataset.syntax.isBE);
-                        element.value = ssVR.SetValue(value);
+                        bytes = ssVR.SetValue(value);
                     } else {
                         throw new IllegalArgumentException("VR " + element.vr + " 不支持Short类型的值");
                     }
                 } else if (value instanceof Integer) {
                     if ("UL".equals(element.vr)) {
                         UL ulVR = UL.getInstance(dataset.syntax.isBE);
-                        element.value = ulVR.SetValue(value);
+                        bytes = ulVR.SetValue(value);
                     } else if ("SL".equals(element.vr)) {
                         SL slVR = SL.getInstance(dataset.syntax.isBE);
-                        element.value = slVR.SetValue(value);
+                        bytes = slVR.SetValue(value);
                     } else if ("US".equals(element.vr)) {
                         US usVR = US.getInstance(dataset.syntax.isBE);
-                        element.value = usVR.SetValue(value);
+                        bytes = usVR.SetValue(value);
                     } else {
                         throw new IllegalArgumentException("VR " + element.vr + " 不支持Integer类型的值");
                     }
                 } else if (value instanceof short[]) {
                     if ("OW".equals(element.vr)) {
                         OW owVR = OW.getInstance(dataset.syntax.isBE);
-                        element.value = owVR.SetValue(value);
+                        bytes = owVR.SetValue(value);
                     } else {
                         throw new IllegalArgumentException("VR " + element.vr + " 不支持short[]类型的值");
                     }
                 } else if (value instanceof byte[]) {
                     // 直接使用byte[]值，适用于OB、UN等VR类型以及文件头元素
-                    byte[] byteValue = (byte[]) value;
-                    element.value = byteValue;
+                    bytes = (byte[]) value;
                     // 确保长度为偶数
-                    if (element.value.length % 2 != 0) {
-                        byte[] paddedValue = new byte[element.value.length + 1];
-                        System.arraycopy(element.value, 0, paddedValue, 0, element.value.length);
-                        paddedValue[element.value.length] = 0x00; // 用null填充
-                        element.value = paddedValue;
+                    if (bytes.length % 2 != 0) {
+                        byte[] paddedValue = new byte[bytes.length + 1];
+                        System.arraycopy(bytes, 0, paddedValue, 0, bytes.length);
+                        paddedValue[bytes.length] = 0x00; // 用null填充
+                        bytes = paddedValue;
                     }
                 } else {
                     throw new IllegalArgumentException("不支持的值类型: " + value.getClass().getSimpleName());
                 }
                 
-                element.length = element.value.length;
+                element.setValueBytes(bytes);
+                element.length = bytes.length;
                 
                 // 创建VR解析器
                 element.vrparser = VRFactory.getVRInstance(element.vr, dataset.syntax.isBE);
@@ -521,6 +845,238 @@ public class DCMDataSet extends DCMAbstractType {
         }
     }
     
+    /**
+     * 按标签查找本数据集中的数据元素
+     * items为DCMItemList时按标签索引查找（O(1)），否则顺序扫描
+     * @param dicomTag DICOM标签 (组号 << 16 | 元素号)
+     * @return 数据元素，不存在时返回null
+     */
+    protected DCMAbstractType findItem(int dicomTag) {
+        List<DCMAbstractType> list = items();
+        if (list instanceof DCMItemList) {
+            return ((DCMItemList) list).findByTag(dicomTag);
+        }
+        for (DCMAbstractType item : list) {
+            if (item != null && (((item.gtag & 0xFFFF) << 16) | (item.etag & 0xFFFF)) == dicomTag) {
+                return item;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 获取指定标签第一个值的整数形式，直接从值域字节解码，不装箱，不创建缓冲区视图
+     * 二进制VR（US/SS/UL/SL等）按字节序解码，IS/DS等字符串VR按十进制解析
+     * @param dicomTag DICOM标签常量
+     * @param defaultValue 元素不存在或无法解析时的返回值
+     * @return 整数值
+     */
+    public int getInt(int dicomTag, int defaultValue) {
+        return getInt(dicomTag, 0, defaultValue);
+    }
+    
+    /**
+     * 获取指定标签第index个值的整数形式
+     * @param dicomTag DICOM标签常量
+     * @param index 值序号（从0开始）
+     * @param defaultValue 元素不存在或无法解析时的返回值
+     * @return 整数值
+     */
+    public int getInt(int dicomTag, int index, int defaultValue) {
+        DCMAbstractType item = findItem(dicomTag);
+        return item == null ? defaultValue : item.intValueAt(index, defaultValue);
+    }
+    
+    /**
+     * 获取指定标签第一个值的浮点形式（如多值的Window Center取第一个）
+     * @param dicomTag DICOM标签常量
+     * @param defaultValue 元素不存在或无法解析时的返回值
+     * @return 浮点值
+     */
+    public double getDouble(int dicomTag, double defaultValue) {
+        return getDouble(dicomTag, 0, defaultValue);
+    }
+    
+    /**
+     * 获取指定标签第index个值的浮点形式
+     * @param dicomTag DICOM标签常量
+     * @param index 值序号（从0开始）
+     * @param defaultValue 元素不存在或无法解析时的返回值
+     * @return 浮点值
+     */
+    public double getDouble(int dicomTag, int index, double defaultValue) {
+        DCMAbstractType item = findItem(dicomTag);
+        return item == null ? defaultValue : item.doubleValueAt(index, defaultValue);
+    }
+    
+    /**
+     * 获取指定标签的字符串值
+     * @param dicomTag DICOM标签常量
+     * @return 字符串值，元素不存在时返回null
+     */
+    public String getString(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return null;
+        }
+        return item.vrparser.getString(item.getValueBuffer());
+    }
+    
+    /**
+     * 获取指定标签全部值的short数组（如16位像素数据）
+     * @param dicomTag DICOM标签常量
+     * @return short数组，元素不存在时返回null
+     */
+    public short[] getShortArray(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return null;
+        }
+        return item.vrparser.getShortArray(item.getValueBuffer());
+    }
+    
+    /**
+     * 获取指定标签全部值的整数数组
+     * @param dicomTag DICOM标签常量
+     * @return 整数数组，元素不存在时返回null
+     */
+    public int[] getIntArray(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return null;
+        }
+        return item.vrparser.getIntArray(item.getValueBuffer());
+    }
+    
+    /**
+     * 获取指定标签全部值的单精度浮点数组
+     * @param dicomTag DICOM标签常量
+     * @return 浮点数组，元素不存在时返回null
+     */
+    public float[] getFloatArray(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return null;
+        }
+        return item.vrparser.getFloatArray(item.getValueBuffer());
+    }
+    
+    /**
+     * 获取指定标签全部值的双精度浮点数组
+     * @param dicomTag DICOM标签常量
+     * @return 浮点数组，元素不存在时返回null
+     */
+    public double[] getDoubleArray(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return null;
+        }
+        return item.vrparser.getDoubleArray(item.getValueBuffer());
+    }
+    
+    /**
+     * 将指定标签的全部值解码到调用方提供的数组（如逐帧复用的像素缓冲）
+     * 直接从值域视图（内存映射时即映射的文件）解码到dst，不经过中间字节数组，也不在元素上缓存副本
+     * @param dicomTag DICOM标签常量
+     * @param dst 目标数组
+     * @param dstOffset 目标数组起始位置
+     * @return 实际解码的值个数，元素不存在时返回0
+     */
+    public int getShorts(int dicomTag, short[] dst, int dstOffset) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return 0;
+        }
+        return item.vrparser.getShorts(item.getValueBuffer(), dst, dstOffset);
+    }
+    
+    /**
+     * 将指定标签的全部值解码到调用方提供的int数组
+     * @see #getShorts(int, short[], int)
+     */
+    public int getInts(int dicomTag, int[] dst, int dstOffset) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return 0;
+        }
+        return item.vrparser.getInts(item.getValueBuffer(), dst, dstOffset);
+    }
+    
+    /**
+     * 将指定标签的全部值解码到调用方提供的float数组
+     * @see #getShorts(int, short[], int)
+     */
+    public int getFloats(int dicomTag, float[] dst, int dstOffset) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return 0;
+        }
+        return item.vrparser.getFloats(item.getValueBuffer(), dst, dstOffset);
+    }
+    
+    /**
+     * 将指定标签的全部值解码到调用方提供的double数组
+     * @see #getShorts(int, short[], int)
+     */
+    public int getDoubles(int dicomTag, double[] dst, int dstOffset) {
+        DCMAbstractType item = findItem(dicomTag);
+        if (item == null || item.vrparser == null) {
+            return 0;
+        }
+        return item.vrparser.getDoubles(item.getValueBuffer(), dst, dstOffset);
+    }
+    
+    /**
+     * 获取指定标签值域的只读视图，字节序与传输语法一致
+     * 大的二进制元素（像素数据等）直接切片源缓冲区，不复制
+     * @param dicomTag DICOM标签常量
+     * @return 只读缓冲区，元素不存在时返回null
+     */
+    public java.nio.ByteBuffer getValueBuffer(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        return item != null ? item.getValueBuffer() : null;
+    }
+    
+    /**
+     * 按16位值查看指定标签的值域（如OW像素数据），只读、不复制
+     * @param dicomTag DICOM标签常量
+     * @return 只读ShortBuffer，元素不存在时返回null
+     */
+    public java.nio.ShortBuffer getShortBuffer(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        return item != null ? item.asShortBuffer() : null;
+    }
+    
+    /**
+     * 按32位整数查看指定标签的值域（如OL），只读、不复制
+     * @param dicomTag DICOM标签常量
+     * @return 只读IntBuffer，元素不存在时返回null
+     */
+    public java.nio.IntBuffer getIntBuffer(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        return item != null ? item.asIntBuffer() : null;
+    }
+    
+    /**
+     * 按单精度浮点查看指定标签的值域（如OF浮点像素数据），只读、不复制
+     * @param dicomTag DICOM标签常量
+     * @return 只读FloatBuffer，元素不存在时返回null
+     */
+    public java.nio.FloatBuffer getFloatBuffer(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        return item != null ? item.asFloatBuffer() : null;
+    }
+    
+    /**
+     * 按双精度浮点查看指定标签的值域（如OD），只读、不复制
+     * @param dicomTag DICOM标签常量
+     * @return 只读DoubleBuffer，元素不存在时返回null
+     */
+    public java.nio.DoubleBuffer getDoubleBuffer(int dicomTag) {
+        DCMAbstractType item = findItem(dicomTag);
+        return item != null ? item.asDoubleBuffer() : null;
+    }
+    
     /**
      * 重写GetValue方法：根据DICOM标签获取值
      * @param dicomTag DICOM标签常量
@@ -529,13 +1085,13 @@ public class DCMDataSet extends DCMAbstractType {
     @Override
     public <T> T GetValue(int dicomTag) {
         try {
-            for (DCMAbstractType item : items) {
-                if (item != null && (item.gtag * 65536 + item.etag) == dicomTag) {
-                    if (item.vrparser != null) {
-                        return item.vrparser.GetValue(item.value, 0);
-                    }
-                    break;
+            DCMAbstractType item = findItem(dicomTag);
+            if (item != null && item.vrparser != null) {
+                if (TransferSyntax.isBulkData(item.getVRCode(), item.getValueLength())) {
+                    // 批量数据（像素数据等）从值域视图解析，不复制整个值域
+                    return item.vrparser.GetValue(item.getValueBuffer(), 0);
                 }
+                return item.vrparser.GetValue(item.getValue(), 0);
             }
         } catch (Exception e) {
             System.err.println("获取值时出错，标签: 0x" + Integer.toHexString(dicomTag) + ", 错误: " + e.getMessage());
@@ -550,10 +1106,9 @@ public class DCMDataSet extends DCMAbstractType {
     @Override
     public String GetName(int dicomTag) {
         try {
-            for (DCMAbstractType item : items) {
-                if (item != null && (item.gtag * 65536 + item.etag) == dicomTag) {
-                    return item.name != null ? item.name : "";
-                }
+            DCMAbstractType item = findItem(dicomTag);
+            if (item != null) {
+                return item.getName();
             }
         } catch (Exception e) {
             System.err.println("获取名称时出错，标签: 0x" + Integer.toHexString(dicomTag) + ", 错误: " + e.getMessage());
@@ -568,10 +1123,9 @@ public class DCMDataSet extends DCMAbstractType {
     @Override
     public String GetVR(int dicomTag) {
         try {
-            for (DCMAbstractType item : items) {
-                if (item != null && (item.gtag * 65536 + item.etag) == dicomTag) {
-                    return item.vr != null ? item.vr : "";
-                }
+            DCMAbstractType item = findItem(dicomTag);
+            if (item != null) {
+                return item.vr != null ? item.vr : "";
             }
         } catch (Exception e) {
             System.err.println("获取VR时出错，标签: 0x" + Integer.toHexString(dicomTag) + ", 错误: " + e.getMessage());
@@ -586,91 +1140,137 @@ public class DCMDataSet extends DCMAbstractType {
     @Override
     public String GetVM(int dicomTag) {
         try {
-            for (DCMAbstractType item : items) {
-                if (item != null && (item.gtag * 65536 + item.etag) == dicomTag) {
-                    return item.vm != null ? item.vm : "";
-                }
+            DCMAbstractType item = findItem(dicomTag);
+            if (item != null) {
+                return item.getVM();
             }
         } catch (Exception e) {
             System.err.println("获取VM时出错，标签: 0x" + Integer.toHexString(dicomTag) + ", 错误: " + e.getMessage());
         }
         return "";
     }
-      /**
-     * 小端序读取16位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
-     * @return 16位整数值
+    /**
+     * 按传输语法的字节序查看缓冲区
+     * 元素头读取直接使用ByteBuffer的getShort/getInt，不再逐字节拼接、逐次判断字节序；
+     * 字节序不同时返回共享内容的副本，绝对位置不变
+     * @param data 数据缓冲区
+     * @return 字节序与传输语法一致的缓冲区
      */
-    private int readUInt16LE(byte[] data, int offset) {
-        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8);
+    protected ByteBuffer ordered(ByteBuffer data) {
+        ByteOrder order = syntax != null && syntax.isBE ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        return data.order() == order ? data : data.duplicate().order(order);
     }
     
     /**
-     * 小端序读取32位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
-     * @return 32位整数值
+     * 读取标签（缓冲区须已按传输语法设置字节序），用于在解码元素之前判断停止条件
+     * @return 标签 (组号 << 16 | 元素号)
      */
-    private int readUInt32LE(byte[] data, int offset) {
-        return (data[offset] & 0xFF) | 
-               ((data[offset + 1] & 0xFF) << 8) | 
-               ((data[offset + 2] & 0xFF) << 16) | 
-               ((data[offset + 3] & 0xFF) << 24);
+    private static int readTag(ByteBuffer data, int offset) {
+        return ((data.getShort(offset) & 0xFFFF) << 16) | (data.getShort(offset + 2) & 0xFFFF);
     }
     
     /**
-     * 大端序读取16位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
-     * @return 16位整数值
+     * 复制缓冲区中的一段字节
+     * @param data 数据缓冲区
+     * @param offset 绝对位置
+     * @param length 字节数
+     * @return 新的字节数组
      */
-    private int readUInt16BE(byte[] data, int offset) {
-        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    protected static byte[] copyBytes(ByteBuffer data, int offset, int length) {
+        byte[] bytes = new byte[length];
+        if (length > 0) {
+            if (data.hasArray()) {
+                System.arraycopy(data.array(), data.arrayOffset() + offset, bytes, 0, length);
+            } else {
+                ByteBuffer src = data.duplicate();
+                src.position(offset);
+                src.get(bytes);
+            }
+        }
+        return bytes;
     }
     
     /**
-     * 大端序读取32位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
-     * @return 32位整数值
+     * 截取缓冲区中的一段作为值域视图，不复制
+     * @param data 数据缓冲区
+     * @param offset 绝对位置
+     * @param length 字节数
+     * @return position为0、容量为length的切片
      */
-    private int readUInt32BE(byte[] data, int offset) {
-        return ((data[offset] & 0xFF) << 24) | 
-               ((data[offset + 1] & 0xFF) << 16) | 
-               ((data[offset + 2] & 0xFF) << 8) | 
-               (data[offset + 3] & 0xFF);
+    protected static ByteBuffer slice(ByteBuffer data, int offset, int length) {
+        ByteBuffer src = data.duplicate();
+        src.limit(offset + length);
+        src.position(offset);
+        return src.slice();
     }
     
     /**
-     * 根据字节序读取16位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
-     * @return 16位整数值
+     * 跳过未定义长度的值域（序列或封装像素数据），不创建任何对象
+     * 值域由条目 (FFFE,E000) 组成，以序列定界符 (FFFE,E0DD) 结束；
+     * 未定义长度的条目逐个元素跳过直到条目定界符 (FFFE,E00D)，嵌套的未定义长度元素递归跳过。
+     * 每个元素头和值域都先检查缓冲区剩余字节，窗口解析时值域跨越窗口末尾是正常情况，以返回值表示
+     * @param data 数据缓冲区
+     * @param pos 值域开始位置
+     * @return 序列定界符之后的位置；缓冲区内没有完整的值域时返回-1
+     * @throws IllegalStateException 值域中出现非条目元素
      */
-    private int readUInt16(byte[] data, int offset) {
-        return syntax.isBE ? readUInt16BE(data, offset) : readUInt16LE(data, offset);
+    protected int skipUndefinedLength(ByteBuffer data, int pos) {
+        ElementHeader header = header();
+        int limit = data.limit();
+        while (true) {
+            if (!header.read(data, pos, limit, syntax.isExplicit)) {
+                return -1;
+            }
+            int length = header.length;
+            pos += header.headerSize;
+            if (header.group() != 0xFFFE) {
+                throw new IllegalStateException(String.format("未定义长度值域中出现非条目元素(%04X,%04X)",
+                        header.group(), header.element()));
+            }
+            if (header.element() == 0xE0DD) {
+                return pos;
+            }
+            if (length != UNDEFINED_LENGTH) {
+                pos = skip(pos, length, limit);
+                if (pos < 0) {
+                    return -1;
+                }
+                continue;
+            }
+            // 未定义长度的条目：逐个跳过元素
+            while (true) {
+                if (!header.read(data, pos, limit, syntax.isExplicit)) {
+                    return -1;
+                }
+                pos += header.headerSize;
+                if (header.tag == 0xFFFEE00D) {
+                    break;
+                }
+                length = header.length;
+                pos = length == UNDEFINED_LENGTH ? skipUndefinedLength(data, pos) : skip(pos, length, limit);
+                if (pos < 0) {
+                    return -1;
+                }
+            }
+        }
     }
     
     /**
-     * 根据字节序读取32位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
-     * @return 32位整数值
+     * 跳过length字节
+     * @return 值域之后的位置；值域超出limit时返回-1
      */
-    private int readUInt32(byte[] data, int offset) {
-        return syntax.isBE ? readUInt32BE(data, offset) : readUInt32LE(data, offset);
+    private static int skip(int pos, int length, int limit) {
+        return length >= 0 && length <= limit - pos ? pos + length : -1;
     }
     
     /**
-     * 检查VR是否需要2字节保留字段
-     * @param vr VR字符串
-     * @return 是否需要保留字段
+     * 本数据集解码时重复使用的元素头
      */
-    private boolean needsReservedField(String vr) {
-        // OB, OW, OF, SQ, UT, UN 等VR需要保留字段
-        return "OB".equals(vr) || "OW".equals(vr) || "OF".equals(vr) || 
-               "SQ".equals(vr) || "UT".equals(vr) || "UN".equals(vr);
+    private ElementHeader header() {
+        if (header == null) {
+            header = new ElementHeader();
+        }
+        return header;
     }
     
     /**
@@ -681,11 +1281,10 @@ public class DCMDataSet extends DCMAbstractType {
      */
     private String getDictionaryVR(int gtag, int etag) {
         // 首先尝试从字典查找
-        if (dictionary != null) {
-            String vr = dictionary.getVR(String.format("%04X", gtag), String.format("%04X", etag));
-            if (vr != null && !vr.trim().isEmpty()) {
-                return vr.trim();
-            }
+        DicomDictionaryEntry entry = dictionary.lookup((gtag << 16) | etag);
+        if (entry != null && entry.getVr() != null && !entry.getVr().trim().isEmpty()) {
+            // 复合VR（如"OB or OW"）取默认VR，避免把整个字符串当作VR
+            return entry.getDefaultVr();
         }
         
         // 如果字典查找失败，使用预定义的常见标签
@@ -720,8 +1319,14 @@ public class DCMDataSet extends DCMAbstractType {
      * @param etag 元素标签
      * @return 元素名称
      */
-    private String getElementName(int gtag, int etag) {
-        // 简化实现：根据常见标签返回名称
+    static String lookupElementName(int gtag, int etag) {
+        // 首先尝试从字典查找
+        DicomDictionaryEntry entry = dictionary.lookup(gtag, etag);
+        if (entry != null && entry.getName() != null && !entry.getName().isEmpty()) {
+            return entry.getName();
+        }
+        
+        // 字典中没有时根据常见标签返回名称
         int tag = gtag * 65536 + etag;
         switch (tag) {
             case 0x00080016: return "SOP Class UID";
@@ -38,8 +38,8 @@ public class DCMDataSetTest {
         element.etag = (short) 0x0010;
         element.vr = "PN";
         element.name = "Patient's Name";
-        element.value = "Test^Patient".getBytes();
-        element.length = element.value.length;
+        element.setValueBytes("Test^Patient".getBytes());
+        element.length = element.getValueLength();
         
         // 添加到数据集
         dataSet.Add(element);
@@ -59,6 +59,178 @@ public class DCMDataSetTest {
         
         System.out.println("   元素数量: " + dataSet.getItemCount());
         
+        // 测试停止条件：隐式VR小端的三个元素，在像素数据之前停止
+        System.out.println("\n2. 测试停止条件...");
+        java.nio.ByteBuffer buffer = java.nio.ByteBuffer.allocate(128).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        buffer.putShort((short) 0x0010).putShort((short) 0x0020).putInt(4).put("ID01".getBytes());
+        buffer.putShort((short) 0x0020).putShort((short) 0x000D).putInt(6).put("1.2.3\0".getBytes());
+        buffer.putShort((short) 0x7FE0).putShort((short) 0x0010).putInt(8).put(new byte[8]);
+        byte[] data = java.util.Arrays.copyOf(buffer.array(), buffer.position());
+        
+        DCMDataSet partial = new DCMDataSet(new com.dicom.transfersyntax.ImplicitVRLittleEndian());
+        int[] idx = {0};
+        partial.Parse(data, idx, DCMDataSet.stopAtTag(DicomTags.PixelData));
+        System.out.println("   元素数量: " + partial.getItemCount() + ", 是否提前停止: " + partial.isStopped()
+                + ", 停止位置: " + idx[0]);
+        System.out.println("   患者ID: " + partial.getString(DicomTags.PatientID));
+        
+        partial.Parse(data, idx = new int[]{0}, DCMDataSet.stopAfterTag(DicomTags.PatientID));
+        System.out.println("   stopAfterTag(PatientID) 元素数量: " + partial.getItemCount() + ", 停止位置: " + idx[0]);
+        
+        // 测试标签投影：只保留患者ID和序列条目中的Referenced SOP Instance UID
+        System.out.println("\n3. 测试标签投影...");
+        buffer.clear();
+        buffer.putShort((short) 0x0008).putShort((short) 0x1115).putInt(36);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(28);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1150).putInt(6).put("1.2.4\0".getBytes());
+        buffer.putShort((short) 0x0008).putShort((short) 0x1155).putInt(6).put("1.2.5\0".getBytes());
+        buffer.putShort((short) 0x0010).putShort((short) 0x0010).putInt(4).put("DOE ".getBytes());
+        buffer.putShort((short) 0x0010).putShort((short) 0x0020).putInt(4).put("ID01".getBytes());
+        buffer.putShort((short) 0x7FE0).putShort((short) 0x0010).putInt(8).put(new byte[8]);
+        data = java.util.Arrays.copyOf(buffer.array(), buffer.position());
+        
+        TagProjection projection = new TagProjection(DicomTags.PatientID)
+                .add(0x00081115, 0x00081155);
+        partial.Parse(data, idx = new int[]{0}, projection);
+        System.out.println("   元素数量: " + partial.getItemCount() + ", 停止位置: " + idx[0]);
+        System.out.println(partial.ToString("   "));
+
+        // 测试紧凑数据集：完整解析后转换为按列存储的只读数据集
+        System.out.println("\n4. 测试紧凑数据集...");
+        partial.Parse(data, new int[]{0});
+        DCMCompactDataSet compact = new DCMCompactDataSet(partial);
+        System.out.println("   元素数量: " + compact.size() + ", 患者ID: " + compact.getString(DicomTags.PatientID)
+                + ", 名称: " + compact.getName(DicomTags.PatientID) + ", VR: " + compact.getVR(DicomTags.PatientID));
+        System.out.println("   值域长度: 患者ID " + compact.getLengthAt(compact.indexOf(DicomTags.PatientID))
+                + ", 序列 " + compact.getLengthAt(compact.indexOf(0x00081115))
+                + ", 像素数据 " + compact.getLengthAt(compact.indexOf(DicomTags.PixelData)));
+        DCMCompactDataSet[] refItems = compact.getItems(0x00081115);
+        System.out.println("   序列条目数: " + refItems.length
+                + ", Referenced SOP Instance UID: " + refItems[0].getString(0x00081155));
+
+        // 测试封装像素数据：基本偏移表指出3帧，第2帧由两个片段组成
+        System.out.println("\n5. 测试封装像素数据...");
+        buffer.clear();
+        buffer.putShort((short) 0x7FE0).putShort((short) 0x0010).putInt(-1);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(12).putInt(0).putInt(12).putInt(36);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(4).putInt(0x11111111);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(4).putInt(0x22222222);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(8).putLong(0x2222222222222222L);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(2).putShort((short) 0x3333);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE0DD).putInt(0);
+        data = java.util.Arrays.copyOf(buffer.array(), buffer.position());
+        partial.Parse(data, new int[]{0});
+        DCMDataFragments fragments = partial.getPixelDataFragments();
+        System.out.println("   片段数: " + fragments.getFragmentCount() + ", 帧数: " + fragments.getNumberOfFrames());
+        for (int frame = 0; frame < fragments.getNumberOfFrames(); frame++) {
+            System.out.println("   第" + frame + "帧: " + fragments.getFrameFragments(frame).length + "个片段, "
+                    + fragments.getFrameLength(frame) + "字节");
+        }
+
+        // 测试序列延迟解析：定长和未定义长度的序列解码后都未解析，访问条目时才解析
+        System.out.println("\n6. 测试序列延迟解析...");
+        buffer.clear();
+        buffer.putShort((short) 0x0008).putShort((short) 0x1115).putInt(-1);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(-1);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1155).putInt(6).put("1.2.5\0".getBytes());
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE00D).putInt(0);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE0DD).putInt(0);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1140).putInt(22);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(14);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1150).putInt(6).put("1.2.4\0".getBytes());
+        buffer.putShort((short) 0x0010).putShort((short) 0x0020).putInt(4).put("ID01".getBytes());
+        data = java.util.Arrays.copyOf(buffer.array(), buffer.position());
+        partial.Parse(data, idx = new int[]{0});
+        DCMDataSequence undefinedSeq = (DCMDataSequence) partial.getItems().get(0);
+        DCMDataSequence definedSeq = (DCMDataSequence) partial.getItems().get(1);
+        System.out.println("   元素数量: " + partial.getItemCount() + ", 停止位置: " + idx[0]
+                + ", 患者ID: " + partial.getString(DicomTags.PatientID));
+        System.out.println("   解码后已解析: " + undefinedSeq.isParsed() + "/" + definedSeq.isParsed());
+        System.out.println("   条目数: " + undefinedSeq.getItemCount() + "/" + definedSeq.getItemCount()
+                + ", 访问后已解析: " + undefinedSeq.isParsed() + "/" + definedSeq.isParsed());
+
+        // 测试隐式VR私有序列：VR由私有字典确定为SQ，定长和未定义长度都与标准序列一样延迟解析
+        System.out.println("\n7. 测试隐式VR私有序列...");
+        buffer = java.nio.ByteBuffer.allocate(256).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        buffer.putShort((short) 0x0029).putShort((short) 0x0010).putInt(22).put("SIEMENS MEDCOM HEADER ".getBytes());
+        buffer.putShort((short) 0x0029).putShort((short) 0x1040).putInt(22);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(14);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1155).putInt(6).put("1.2.5\0".getBytes());
+        buffer.putShort((short) 0x0029).putShort((short) 0x0011).putInt(22).put("SIEMENS MEDCOM HEADER ".getBytes());
+        buffer.putShort((short) 0x0029).putShort((short) 0x1140).putInt(-1);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(14);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1155).putInt(6).put("1.2.6\0".getBytes());
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE0DD).putInt(0);
+        buffer.putShort((short) 0x0010).putShort((short) 0x0020).putInt(4).put("ID02".getBytes());
+        data = java.util.Arrays.copyOf(buffer.array(), buffer.position());
+        partial.Parse(data, idx = new int[]{0});
+        System.out.println("   元素数量: " + partial.getItemCount() + ", 停止位置: " + idx[0]
+                + ", 患者ID: " + partial.getString(DicomTags.PatientID));
+        for (int i : new int[] {1, 3}) {
+            DCMAbstractType privateItem = partial.getItems().get(i);
+            if (privateItem instanceof DCMDataSequence) {
+                DCMDataSequence privateSeq = (DCMDataSequence) privateItem;
+                boolean parsedBefore = privateSeq.isParsed();
+                DCMDataItem item = (DCMDataItem) privateSeq.getItems().get(0);
+                System.out.println("   " + privateSeq.getName() + " [" + privateSeq.vr + "] 解码后已解析: " + parsedBefore
+                        + ", 条目数: " + privateSeq.getItemCount()
+                        + ", Referenced SOP Instance UID: " + item.getString(0x00081155));
+            } else {
+                System.out.println("   ✗ 第" + i + "个元素未解码为序列: " + privateItem.getClass().getSimpleName());
+            }
+        }
+
+        // 测试基本类型访问：二进制VR按偏移直接解码，字符串VR按十进制解析，值域缓冲区字节序与传输语法不同时也按传输语法解码
+        System.out.println("\n8. 测试基本类型访问...");
+        buffer = java.nio.ByteBuffer.allocate(64).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        buffer.putShort((short) 0x0028).putShort((short) 0x0010).putInt(2).putShort((short) 512);
+        buffer.putShort((short) 0x0028).putShort((short) 0x1050).putInt(8).put("40\\-400 ".getBytes());
+        data = java.util.Arrays.copyOf(buffer.array(), buffer.position());
+        partial.Parse(data, new int[]{0});
+        System.out.println("   Rows: " + partial.getInt(DicomTags.Rows, -1)
+                + ", Window Center: " + partial.getDouble(DicomTags.WindowCenter, Double.NaN)
+                + "/" + partial.getInt(DicomTags.WindowCenter, 1, -1)
+                + ", 越界序号: " + partial.getInt(DicomTags.Rows, 1, -1));
+        java.nio.ByteBuffer bigEndian = java.nio.ByteBuffer.allocate(6).order(java.nio.ByteOrder.BIG_ENDIAN);
+        bigEndian.putShort((short) 0).putShort((short) 0x0200).putShort((short) 0x0100);
+        bigEndian.position(2);
+        DCMAbstractType rows = partial.findItem(DicomTags.Rows);
+        rows.setValueView(bigEndian);
+        System.out.println("   大端缓冲区上的小端值: " + partial.getInt(DicomTags.Rows, 0, -1)
+                + "/" + partial.getInt(DicomTags.Rows, 1, -1));
+
+        // 测试窗口末尾：在每个位置截断窗口，跨越末尾的元素（未定义长度序列、封装像素数据）留给下一个窗口，不是错误
+        System.out.println("\n9. 测试窗口末尾...");
+        buffer = java.nio.ByteBuffer.allocate(128).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1115).putInt(-1);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(-1);
+        buffer.putShort((short) 0x0008).putShort((short) 0x1155).putInt(6).put("1.2.5\0".getBytes());
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE00D).putInt(0);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE0DD).putInt(0);
+        buffer.putShort((short) 0x0010).putShort((short) 0x0020).putInt(4).put("ID01".getBytes());
+        buffer.putShort((short) 0x7FE0).putShort((short) 0x0010).putInt(-1);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(0);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE000).putInt(4).putInt(0x11111111);
+        buffer.putShort((short) 0xFFFE).putShort((short) 0xE0DD).putInt(0);
+        data = java.util.Arrays.copyOf(buffer.array(), buffer.position());
+        int failedCuts = 0;
+        for (int cut = 1; cut < data.length; cut++) {
+            DCMDataSet windowed = new DCMDataSet(new com.dicom.transfersyntax.ImplicitVRLittleEndian());
+            windowed.truncatedWindow = true;
+            idx = new int[]{0};
+            windowed.parseBuffer(java.nio.ByteBuffer.wrap(data, 0, cut), idx);
+            boolean carried = windowed.decodeError == null && idx[0] <= cut;
+            windowed.truncatedWindow = false;
+            windowed.parseElements(java.nio.ByteBuffer.wrap(data), idx);
+            if (!carried || windowed.decodeError != null || windowed.getItemCount() != 3
+                    || !"ID01".equals(windowed.getString(DicomTags.PatientID))
+                    || windowed.getPixelDataFragments() == null) {
+                System.out.println("   ✗ 在位置" + cut + "截断时结果不正确");
+                failedCuts++;
+            }
+        }
+        System.out.println("   截断位置: 1-" + (data.length - 1) + ", 失败: " + failedCuts);
+
         System.out.println("\n✓ DCMDataSet测试完成");
     }
 }
\ No newline at end of file
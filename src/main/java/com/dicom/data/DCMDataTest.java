@@ -28,7 +28,7 @@ public class DCMDataTest {
             element.vr = "PN";
             element.vm = "1";
             element.length = 12;
-            element.value = "SMITH^JOHN".getBytes();
+            element.setValueBytes("SMITH^JOHN".getBytes());
             
             System.out.println("DCMDataElement创建成功");
             System.out.println("元素信息: " + element.ToString(""));
@@ -48,7 +48,7 @@ public class DCMDataTest {
             element2.vr = "UI";
             element2.vm = "1";
             element2.length = 26;
-            element2.value = "1.2.3.4.5.6.7.8.9.0.1.2.3.4".getBytes();
+            element2.setValueBytes("1.2.3.4.5.6.7.8.9.0.1.2.3.4".getBytes());
             
             dataSet.addItem(element2);
             
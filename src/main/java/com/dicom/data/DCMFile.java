@@ -2,9 +2,16 @@ package com.dicom.data;
 
 import com.dicom.transfersyntax.ImplicitVRLittleEndian;
 import com.dicom.transfersyntax.ExplicitVRLittleEndian;
+import com.dicom.transfersyntax.InflaterChannel;
+import com.dicom.transfersyntax.TransferSyntaxRegistry;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntPredicate;
 
 /**
  * DICOM文件处理类
@@ -18,6 +25,31 @@ import java.nio.file.Paths;
  */
 public class DCMFile extends DCMDataSet {
     
+    /**
+     * 单个映射窗口的最大字节数（MappedByteBuffer以int寻址）
+     */
+    private static final long MAX_MAPPING_WINDOW = Integer.MAX_VALUE;
+    
+    /**
+     * 带停止条件解析时首次读取的字节数，一般已包含文件头和患者/检查/序列属性
+     */
+    private static final int PARTIAL_READ_SIZE = 64 * 1024;
+    
+    /**
+     * 当前缓冲区（窗口）在文件中的起始位置
+     */
+    private long windowBase;
+    
+    /**
+     * 按窗口读取文件时打开的通道，Deflated数据集从当前窗口末尾继续读取压缩数据；其他时候为null
+     */
+    private FileChannel windowChannel;
+    
+    /**
+     * 数据集是否为解压后解析的（此时停止位置不对应文件偏移）
+     */
+    private boolean inflated;
+    
     /**
      * DICOM文件路径
      */
@@ -43,7 +75,7 @@ public class DCMFile extends DCMDataSet {
      * @param filename DICOM文件路径
      */
     public DCMFile(String filename) {
-        super(new ImplicitVRLittleEndian()); // 默认传输语法，后续会根据文件头更新
+        super(ImplicitVRLittleEndian.getInstance()); // 默认传输语法，后续会根据文件头更新
         this.filename = filename;
         this.filemeta = null;
         this.preamble = new byte[128];
@@ -65,7 +97,7 @@ public class DCMFile extends DCMDataSet {
         super(ts);
         this.filename = "";
         // 头元素：显式VRLE传输语法
-        this.filemeta = new DCMFileMeta(new ExplicitVRLittleEndian());
+        this.filemeta = new DCMFileMeta(ExplicitVRLittleEndian.getInstance());
         this.preamble = new byte[128];
         this.dicmPrefix = new byte[4];
     }
@@ -80,6 +112,7 @@ public class DCMFile extends DCMDataSet {
             return false;
         }
         
+        windowBase = 0;
         try {            // 读取文件到字节数组
             byte[] fileData = Files.readAllBytes(Paths.get(filename));
             int[] idx = {0};
@@ -93,16 +126,207 @@ public class DCMFile extends DCMDataSet {
             return false;
         }
     }
-      /**
-     * 重写Parse方法，解析完整的DICOM文件
-     * @param data 文件字节数据
+    
+    /**
+     * 解析DICOM文件，遇到满足停止条件的标签时停止
+     * 不读入整个文件：先读取开头64KB，不够时从上次停下的元素开始继续读取，
+     * 停止后文件的剩余部分（如像素数据）不会被读取。停止位置由getStopOffset()返回。
+     * @param stopCondition 停止条件，如stopAtTag(0x7FE00010)；为null时等同于Parse()
+     * @return 解析是否成功
+     */
+    public boolean Parse(IntPredicate stopCondition) {
+        if (stopCondition == null) {
+            return Parse();
+        }
+        if (filename == null || filename.isEmpty()) {
+            System.err.println("错误：未指定文件名");
+            return false;
+        }
+        
+        this.stopCondition = stopCondition;
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            windowChannel = channel;
+            long size = channel.size();
+            int windowSize = (int) Math.min(size, PARTIAL_READ_SIZE);
+            windowBase = 0;
+            ByteBuffer window = readWindow(channel, windowBase, windowSize);
+            truncatedWindow = window.limit() < size;
+            int[] idx = {0};
+            if (parseBuffer(window, idx) == null) {
+                return false;
+            }
+            while (truncatedWindow && stoppedAt < 0 && decodeError == null) {
+                if (idx[0] == 0) {
+                    // 窗口内放不下一个完整元素，扩大窗口
+                    if (windowSize >= MAX_MAPPING_WINDOW) {
+                        System.err.println("警告：位置 " + windowBase + " 处的元素超过读取窗口大小，停止解析");
+                        break;
+                    }
+                    windowSize = (int) Math.min(windowSize * 2L, MAX_MAPPING_WINDOW);
+                }
+                windowBase += idx[0] + windowSkip;
+                windowSkip = 0;
+                if (windowBase >= size) {
+                    break;
+                }
+                window = readWindow(channel, windowBase, (int) Math.min(size - windowBase, windowSize));
+                truncatedWindow = windowBase + window.limit() < size;
+                idx[0] = 0;
+                parseElements(window, idx);
+            }
+            return true;
+            
+        } catch (IOException e) {
+            System.err.println("读取文件失败: " + e.getMessage());
+            return false;
+        } finally {
+            truncatedWindow = false;
+            windowSkip = 0;
+            windowChannel = null;
+            this.stopCondition = null;
+        }
+    }
+    
+    /**
+     * 从文件position处读取length字节到堆缓冲区
+     */
+    private static ByteBuffer readWindow(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * 以内存映射方式解析DICOM文件，遇到满足停止条件的标签时停止
+     * @param stopCondition 停止条件；为null时等同于ParseMapped()
+     * @return 解析是否成功
+     */
+    public boolean ParseMapped(IntPredicate stopCondition) {
+        this.stopCondition = stopCondition;
+        try {
+            return ParseMapped();
+        } finally {
+            this.stopCondition = null;
+        }
+    }
+    
+    /**
+     * 按标签投影解析DICOM文件，只保留投影中的元素
+     * 不需要的元素跳过值域，顶层标签超过投影中的最大标签后停止，文件其余部分不再读取
+     * @param projection 标签投影；为null时等同于Parse()
+     * @return 解析是否成功
+     */
+    public boolean Parse(TagProjection projection) {
+        if (projection == null) {
+            return Parse();
+        }
+        this.projection = projection;
+        try {
+            return Parse(stopAfterTag(projection.getLastTag()));
+        } finally {
+            this.projection = null;
+        }
+    }
+    
+    /**
+     * 以内存映射方式按标签投影解析DICOM文件
+     * @param projection 标签投影；为null时等同于ParseMapped()
+     * @return 解析是否成功
+     */
+    public boolean ParseMapped(TagProjection projection) {
+        this.projection = projection;
+        try {
+            return ParseMapped(projection != null ? stopAfterTag(projection.getLastTag()) : null);
+        } finally {
+            this.projection = null;
+        }
+    }
+    
+    /**
+     * 上一次解析停止的文件偏移
+     * 即满足停止条件的元素的开始位置，文件的剩余部分可以从这里继续读取
+     * @return 文件偏移，完整解析（未停止）或数据集为Deflated压缩时返回-1
+     */
+    public long getStopOffset() {
+        return stoppedAt < 0 || inflated ? -1 : windowBase + stoppedAt;
+    }
+    
+    /**
+     * 以内存映射方式解析DICOM文件
+     * 文件不读入堆内存，用FileChannel.map映射后直接在映射缓冲区上解码，
+     * 大的二进制值（像素数据等）引用映射而不复制（见DCMAbstractType.setValueView）。
+     * 超过2GB的文件分窗口映射：跨越窗口末尾的元素从其开始位置映射下一个窗口继续解析，
+     * 因此单个元素的值域不能超过2GB。
+     * @return 解析是否成功
+     */
+    public boolean ParseMapped() {
+        if (filename == null || filename.isEmpty()) {
+            System.err.println("错误：未指定文件名");
+            return false;
+        }
+        
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            windowChannel = channel;
+            long size = channel.size();
+            windowBase = 0;
+            ByteBuffer window = mapWindow(channel, windowBase, size);
+            truncatedWindow = window.limit() < size;
+            int[] idx = {0};
+            if (parseBuffer(window, idx) == null) {
+                return false;
+            }
+            // 后续窗口：从上一窗口停止的元素开始重新映射，继续追加元素
+            while (truncatedWindow && stoppedAt < 0 && decodeError == null) {
+                if (idx[0] == 0) {
+                    System.err.println("警告：位置 " + windowBase + " 处的元素超过映射窗口大小，停止解析");
+                    break;
+                }
+                windowBase += idx[0] + windowSkip;
+                windowSkip = 0;
+                if (windowBase >= size) {
+                    break;
+                }
+                window = mapWindow(channel, windowBase, size);
+                truncatedWindow = windowBase + window.limit() < size;
+                idx[0] = 0;
+                parseElements(window, idx);
+            }
+            return true;
+            
+        } catch (IOException e) {
+            System.err.println("映射文件失败: " + e.getMessage());
+            return false;
+        } finally {
+            truncatedWindow = false;
+            windowSkip = 0;
+            windowChannel = null;
+        }
+    }
+    
+    /**
+     * 只读映射从base开始的一个窗口
+     */
+    private static ByteBuffer mapWindow(FileChannel channel, long base, long size) throws IOException {
+        long length = Math.min(size - base, MAX_MAPPING_WINDOW);
+        return channel.map(FileChannel.MapMode.READ_ONLY, base, length);
+    }
+    
+    /**
+     * 重写解析方法，解析完整的DICOM文件（字节数组包装或文件映射）
+     * @param data 文件数据缓冲区
      * @param idx 当前位置索引
      * @return 解析后的对象
      */
     @Override
-    public DCMAbstractType Parse(byte[] data, int[] idx) {
+    protected DCMAbstractType parseBuffer(ByteBuffer data, int[] idx) {
         System.out.println("开始解析DICOM文件: " + filename);
-        System.out.println("文件大小: " + data.length + " 字节");
+        System.out.println("文件大小: " + data.limit() + " 字节");
+        inflated = false;
         
         try {
             // 检查文件是否包含标准DICOM前导和DICM标识符
@@ -129,14 +353,13 @@ public class DCMFile extends DCMDataSet {
      * @param data 文件数据
      * @return 是否包含标准DICOM头部
      */
-    private boolean checkForStandardDICOMHeader(byte[] data) {
-        if (data.length < 132) {
+    private boolean checkForStandardDICOMHeader(ByteBuffer data) {
+        if (data.limit() < 132) {
             return false;
         }
         
         // 检查位置128-131是否是"DICM"
-        String prefix = new String(data, 128, 4);
-        return "DICM".equals(prefix);
+        return data.get(128) == 'D' && data.get(129) == 'I' && data.get(130) == 'C' && data.get(131) == 'M';
     }
     
     /**
@@ -145,7 +368,7 @@ public class DCMFile extends DCMDataSet {
      * @param idx 当前位置
      * @return 解析结果
      */
-    private DCMAbstractType parseStandardDICOM(byte[] data, int[] idx) {
+    private DCMAbstractType parseStandardDICOM(ByteBuffer data, int[] idx) {
         // 第1步：读取128字节前导
         if (!parsePreamble(data, idx)) {
             return null;
@@ -183,45 +406,22 @@ public class DCMFile extends DCMDataSet {
      * @param idx 当前位置
      * @return 解析结果
      */
-    private DCMAbstractType parseNonStandardDICOM(byte[] data, int[] idx) {
+    private DCMAbstractType parseNonStandardDICOM(ByteBuffer data, int[] idx) {
         try {
             // 创建默认文件头信息
-            filemeta = new DCMFileMeta(new ExplicitVRLittleEndian());
-            
-            // 尝试使用不同的传输语法解析
-            boolean success = false;
+            filemeta = new DCMFileMeta(ExplicitVRLittleEndian.getInstance());
             
-            // 首先尝试Implicit VR Little Endian
-            System.out.println("尝试使用 Implicit VR Little Endian 解析...");
-            this.syntax = new ImplicitVRLittleEndian();
+            // 根据开头几个元素头识别传输语法，只完整解析一遍
+            this.syntax = TransferSyntaxRegistry.sniff(data, 0);
+            System.out.println("识别的传输语法: " + syntax.name);
             idx[0] = 0; // 从文件开始解析
             
+            boolean success = false;
             try {
-                super.Parse(data, idx);
-                if (items.size() > 0) {
-                    success = true;
-                    System.out.println("使用 Implicit VR Little Endian 解析成功");
-                }
+                super.parseBuffer(data, idx);
+                success = items.size() > 0;
             } catch (Exception e) {
-                System.out.println("Implicit VR Little Endian 解析失败: " + e.getMessage());
-            }
-            
-            // 如果失败，尝试Explicit VR Little Endian
-            if (!success) {
-                System.out.println("尝试使用 Explicit VR Little Endian 解析...");
-                this.syntax = new ExplicitVRLittleEndian();
-                idx[0] = 0; // 重置位置
-                items.clear(); // 清除之前的尝试
-                
-                try {
-                    super.Parse(data, idx);
-                    if (items.size() > 0) {
-                        success = true;
-                        System.out.println("使用 Explicit VR Little Endian 解析成功");
-                    }
-                } catch (Exception e) {
-                    System.out.println("Explicit VR Little Endian 解析失败: " + e.getMessage());
-                }
+                System.out.println(syntax.name + " 解析失败: " + e.getMessage());
             }
             
             if (success) {
@@ -245,14 +445,14 @@ public class DCMFile extends DCMDataSet {
      * @param idx 当前位置
      * @return 是否成功
      */
-    private boolean parsePreamble(byte[] data, int[] idx) {
-        if (data.length < 128) {
+    private boolean parsePreamble(ByteBuffer data, int[] idx) {
+        if (data.limit() < 128) {
             System.err.println("错误：文件太小，无法包含完整的前导");
             return false;
         }
         
         // 读取128字节前导
-        System.arraycopy(data, idx[0], preamble, 0, 128);
+        preamble = copyBytes(data, idx[0], 128);
         idx[0] += 128;
         
         System.out.println("已读取128字节前导");
@@ -265,14 +465,14 @@ public class DCMFile extends DCMDataSet {
      * @param idx 当前位置
      * @return 是否成功
      */
-    private boolean parseDICMPrefix(byte[] data, int[] idx) {
-        if (idx[0] + 4 > data.length) {
+    private boolean parseDICMPrefix(ByteBuffer data, int[] idx) {
+        if (idx[0] + 4 > data.limit()) {
             System.err.println("错误：文件太小，无法包含DICM标识符");
             return false;
         }
         
         // 读取4字节"DICM"
-        System.arraycopy(data, idx[0], dicmPrefix, 0, 4);
+        dicmPrefix = copyBytes(data, idx[0], 4);
         idx[0] += 4;
         
         String prefix = new String(dicmPrefix);
@@ -291,13 +491,13 @@ public class DCMFile extends DCMDataSet {
      * @param idx 当前位置
      * @return 是否成功
      */
-    private boolean parseFileMeta(byte[] data, int[] idx) {
+    private boolean parseFileMeta(ByteBuffer data, int[] idx) {
         try {
             // 创建文件头对象（总是使用显式VR小端序）
-            filemeta = new DCMFileMeta(new ExplicitVRLittleEndian());
+            filemeta = new DCMFileMeta(ExplicitVRLittleEndian.getInstance());
             
             // 解析文件头
-            filemeta.Parse(data, idx);
+            filemeta.parseBuffer(data, idx);
             
             if (filemeta.getItemCount() == 0) {
                 System.err.println("警告：未找到文件头元素");
@@ -333,22 +533,14 @@ public class DCMFile extends DCMDataSet {
         
         System.out.println("传输语法UID: " + transferSyntaxUID);
         
-        // 根据UID选择合适的传输语法
-        switch (transferSyntaxUID) {
-            case "1.2.840.10008.1.2":     // Implicit VR Little Endian
-                this.syntax = new ImplicitVRLittleEndian();
-                System.out.println("使用传输语法: Implicit VR Little Endian");
-                break;
-                
-            case "1.2.840.10008.1.2.1":   // Explicit VR Little Endian
-                this.syntax = new ExplicitVRLittleEndian();
-                System.out.println("使用传输语法: Explicit VR Little Endian");
-                break;
-                
-            default:
-                System.err.println("警告：不支持的传输语法 " + transferSyntaxUID + "，使用默认值");
-                this.syntax = new ImplicitVRLittleEndian();
-                break;
+        // 按UID查找共享的传输语法实例
+        TransferSyntax registered = TransferSyntaxRegistry.lookup(transferSyntaxUID);
+        if (registered != null) {
+            this.syntax = registered;
+            System.out.println("使用传输语法: " + registered.name);
+        } else {
+            System.err.println("警告：不支持的传输语法 " + transferSyntaxUID + "，使用默认值");
+            this.syntax = ImplicitVRLittleEndian.getInstance();
         }
         
         return true;
@@ -360,12 +552,16 @@ public class DCMFile extends DCMDataSet {
      * @param idx 当前位置
      * @return 是否成功
      */
-    private boolean parseDataset(byte[] data, int[] idx) {
+    private boolean parseDataset(ByteBuffer data, int[] idx) {
         try {
-            System.out.println("开始解析数据集，当前位置: " + idx[0] + "/" + data.length);
+            System.out.println("开始解析数据集，当前位置: " + idx[0] + "/" + data.limit());
+            
+            if (syntax.isDeflated()) {
+                return parseDeflatedDataset(data, idx);
+            }
             
             // 调用父类的Parse方法解析数据集
-            super.Parse(data, idx);
+            super.parseBuffer(data, idx);
             
             System.out.println("数据集解析完成，解析了 " + items.size() + " 个元素");
             return true;
@@ -376,6 +572,82 @@ public class DCMFile extends DCMDataSet {
         }
     }
     
+    /**
+     * 解析Deflated数据集：边解压边解析
+     * 解压后的数据放在固定大小的窗口中（初始64KB，放不下一个元素时加倍），按窗口方式解析，
+     * 跨越窗口末尾的元素移到下一个窗口的开头继续，整个数据集不会解压到一个数组中。
+     * 按窗口读取文件时，当前窗口之后的压缩数据从文件通道继续读取
+     * @param data 文件数据，idx[0]处起为压缩数据
+     * @param idx 当前位置
+     * @return 是否成功
+     */
+    private boolean parseDeflatedDataset(ByteBuffer data, int[] idx) throws IOException {
+        ByteBuffer compressed = data.duplicate();
+        compressed.limit(data.limit()).position(idx[0]);
+        ReadableByteChannel rest = null;
+        if (truncatedWindow && windowChannel != null) {
+            windowChannel.position(windowBase + data.limit());
+            rest = windowChannel;
+        }
+        
+        items.clear();
+        stoppedAt = -1;
+        if (privateCreators != null) {
+            privateCreators.clear();
+        }
+        inflated = true;
+        int windowSize = PARTIAL_READ_SIZE;
+        ByteBuffer window = ByteBuffer.allocate(windowSize);
+        // 文件通道由调用方的try-with-resources管理，解压通道关闭时不关闭它
+        try (InflaterChannel inflater = new InflaterChannel(compressed, rest, false)) {
+            while (true) {
+                boolean ended = false;
+                while (window.hasRemaining() && !ended) {
+                    ended = inflater.read(window) < 0;
+                }
+                window.flip();
+                truncatedWindow = !ended;
+                windowSkip = 0;
+                int[] pos = {0};
+                parseElements(window, pos);
+                if (!truncatedWindow || stoppedAt >= 0 || decodeError != null) {
+                    break;
+                }
+                if (pos[0] == 0) {
+                    // 窗口内放不下一个完整元素，扩大窗口
+                    if (windowSize >= MAX_MAPPING_WINDOW) {
+                        System.err.println("警告：解压后位置 " + inflater.getBytesRead() + " 附近的元素超过窗口大小，停止解析");
+                        break;
+                    }
+                    windowSize = (int) Math.min(windowSize * 2L, MAX_MAPPING_WINDOW);
+                }
+                // 已解析的元素仍引用旧窗口，下一个窗口另行分配
+                ByteBuffer next = ByteBuffer.allocate(windowSize);
+                window.position(pos[0]);
+                next.put(window);
+                for (long skip = windowSkip; skip > 0; ) {
+                    // 投影跳过的值域越过了窗口末尾（此时窗口中没有剩余数据），解压后丢弃
+                    next.limit((int) Math.min(next.capacity(), skip));
+                    int n = inflater.read(next);
+                    if (n < 0) {
+                        break;
+                    }
+                    skip -= n;
+                    next.clear();
+                }
+                if (windowSkip > 0) {
+                    next.clear();
+                }
+                window = next;
+            }
+            System.out.println("数据集解析完成（解压 " + inflater.getBytesRead() + " 字节），解析了 " + items.size() + " 个元素");
+            return true;
+        } finally {
+            truncatedWindow = false;
+            windowSkip = 0;
+        }
+    }
+    
     /**
      * 获取文件名
      * @return 文件名
@@ -462,34 +734,14 @@ public class DCMFile extends DCMDataSet {
      * @return 行数
      */
     public int getRows() {
-        Object value = GetValue(0x00280010); // Rows
-        try {
-            if (value instanceof Integer) {
-                return (Integer) value;
-            } else if (value instanceof String) {
-                return Integer.parseInt(((String) value).trim());
-            }
-            return 0;
-        } catch (Exception e) {
-            return 0;
-        }
+        return getInt(0x00280010, 0); // Rows
     }
       /**
      * 获取图像列数
      * @return 列数
      */
     public int getColumns() {
-        Object value = GetValue(0x00280011); // Columns
-        try {
-            if (value instanceof Integer) {
-                return (Integer) value;
-            } else if (value instanceof String) {
-                return Integer.parseInt(((String) value).trim());
-            }
-            return 0;
-        } catch (Exception e) {
-            return 0;
-        }
+        return getInt(0x00280011, 0); // Columns
     }
     
     /**
@@ -1,6 +1,9 @@
 package com.dicom.data;
 
+import com.dicom.dictionary.DicomDictionaryEntry;
+import com.dicom.vr.VRCode;
 import com.dicom.vr.VRFactory;
+import java.nio.ByteBuffer;
 
 /**
  * DICOM文件头元素处理类
@@ -27,13 +30,14 @@ public class DCMFileMeta extends DCMDataSet {
     /**
      * 重写Parse方法，专门解析DICOM文件头部元素
      * 文件头部只包含组号为0x0002的元素，且总是使用显式VR小端序
+     * 有(0002,0000)组长度时按组长度确定文件头的结束位置，否则以第一个组号不是0x0002的元素为界
      * 
-     * @param data 待解码的字节数组
+     * @param data 数据缓冲区（字节数组包装或文件映射）
      * @param idx 当前解码位置的索引数组（用于返回新的位置）
      * @return 解码后的文件头数据集
      */
     @Override
-    public DCMAbstractType Parse(byte[] data, int[] idx) {
+    protected DCMAbstractType parseBuffer(ByteBuffer data, int[] idx) {
         // 清空现有items
         items.clear();
         
@@ -43,9 +47,16 @@ public class DCMFileMeta extends DCMDataSet {
             // 文件头部元素总是使用显式VR小端序传输语法
             // 每个数据元素结构：标签(4字节) + VR(2字节) + 保留(2字节) + 长度(4字节) + 值数据
             
-            while (idx[0] < data.length) {
+            int limit = data.limit();
+            long metaEnd = -1;  // 由(0002,0000)组长度得到的文件头结束位置，未知时为-1
+            while (idx[0] < limit) {
+                // 有组长度时按位置结束：之后的数据可能是Deflated压缩数据，不能当作元素头读取
+                if (metaEnd >= 0 && idx[0] >= metaEnd) {
+                    break;
+                }
+                
                 // 检查是否还有足够的字节读取一个完整的元素头部
-                if (idx[0] + 12 > data.length) {
+                if (idx[0] + 12 > limit) {
                     break;
                 }
                 
@@ -54,15 +65,16 @@ public class DCMFileMeta extends DCMDataSet {
                 int etag = readUInt16LE(data, idx[0] + 2);
                 idx[0] += 4;
                 
-                // 检查是否还是组号0x0002的元素
-                if (gtag != 0x0002) {
+                // 没有组长度时，检查是否还是组号0x0002的元素
+                if (metaEnd < 0 && gtag != 0x0002) {
                     // 已经不是文件头元素，回退位置并结束解析
                     idx[0] -= 4;
                     break;
                 }
                 
-                // 读取VR（2字节）
-                String vr = new String(data, idx[0], 2, "ASCII");
+                // 读取VR（2字节），直接由两个字节得到VR码
+                int vrCode = VRCode.of(data.get(idx[0]), data.get(idx[0] + 1));
+                String vr = VRCode.toString(vrCode);
                 idx[0] += 2;
                 
                 // 读取保留字段（2字节，应该为0）
@@ -73,14 +85,17 @@ public class DCMFileMeta extends DCMDataSet {
                 idx[0] += 4;
                 
                 // 检查长度的有效性
-                if (length < 0 || idx[0] + length > data.length) {
+                if (length < 0 || idx[0] + length > limit) {
                     System.err.println("警告：数据元素长度无效: " + length);
                     break;
                 }
                 
+                if (gtag == 0x0002 && etag == 0x0000 && length == 4) {
+                    metaEnd = idx[0] + 4 + readUInt32LE(data, idx[0]);
+                }
+                
                 // 读取值数据
-                byte[] value = new byte[(int)length];
-                System.arraycopy(data, idx[0], value, 0, (int)length);
+                byte[] value = copyBytes(data, idx[0], (int)length);
                 idx[0] += (int)length;
                   // 创建数据元素
                 DCMDataElement element = new DCMDataElement(syntax);
@@ -89,7 +104,7 @@ public class DCMFileMeta extends DCMDataSet {
                 element.vr = vr;
                 element.vm = "1"; // 文件头元素通常是单值
                 element.length = (int)length;
-                element.value = value;
+                element.setValueBytes(value);
                 
                 // 根据字典获取元素名称
                 try {
@@ -166,25 +181,25 @@ public class DCMFileMeta extends DCMDataSet {
     
     /**
      * 小端序读取16位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
+     * @param data 数据缓冲区
+     * @param offset 绝对位置
      * @return 16位整数值
      */
-    private int readUInt16LE(byte[] data, int offset) {
-        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8);
+    private int readUInt16LE(ByteBuffer data, int offset) {
+        return (data.get(offset) & 0xFF) | ((data.get(offset + 1) & 0xFF) << 8);
     }
     
     /**
      * 小端序读取32位无符号整数
-     * @param data 字节数组
-     * @param offset 偏移位置
+     * @param data 数据缓冲区
+     * @param offset 绝对位置
      * @return 32位长整数值
      */
-    private long readUInt32LE(byte[] data, int offset) {
-        return (data[offset] & 0xFF) | 
-               ((data[offset + 1] & 0xFF) << 8) | 
-               ((data[offset + 2] & 0xFF) << 16) | 
-               ((data[offset + 3] & 0xFF) << 24);
+    private long readUInt32LE(ByteBuffer data, int offset) {
+        return (data.get(offset) & 0xFF) | 
+               ((data.get(offset + 1) & 0xFF) << 8) | 
+               ((data.get(offset + 2) & 0xFF) << 16) | 
+               ((data.get(offset + 3) & 0xFF) << 24);
     }
     
     /**
@@ -194,6 +209,12 @@ public class DCMFileMeta extends DCMDataSet {
      * @return 元素名称
      */
     private String getElementName(int gtag, int etag) {
+        // 优先使用共享字典中的名称
+        DicomDictionaryEntry entry = dictionary.lookup(gtag, etag);
+        if (entry != null && entry.getName() != null && !entry.getName().isEmpty()) {
+            return entry.getName();
+        }
+        
         // 文件头常见元素名称映射
         int tag = gtag * 65536 + etag;
         switch (tag) {
@@ -0,0 +1,149 @@
+package com.dicom.data;
+
+import java.util.ArrayList;
+
+/**
+ * 带标签索引的数据元素列表（DCMDataSet.items的实现）
+ * 在列表之外维护一个以整数标签为键的开放寻址散列表，保存每个标签第一次出现的下标，
+ * 按标签查找为O(1)。末尾追加（Parse/Add/addItem的常见情况）时增量更新索引；
+ * 插入、删除、替换等其他修改只把索引标记为失效，下一次查找时整体重建。
+ * 元素加入列表后不应再修改其gtag/etag。
+ */
+class DCMItemList extends ArrayList<DCMAbstractType> {
+    private static final long serialVersionUID = 1L;
+
+    private int[] keys = new int[16];     // 标签
+    private int[] slots = new int[16];    // 下标+1，0表示空槽
+    private int indexed;                  // 已登记的元素个数
+    private int indexedModCount = -1;     // 索引对应的modCount，不等于modCount时索引失效
+
+    /**
+     * 元素的整数标签 (组号 << 16 | 元素号)
+     */
+    static int tagOf(DCMAbstractType item) {
+        return ((item.gtag & 0xFFFF) << 16) | (item.etag & 0xFFFF);
+    }
+
+    /**
+     * 元素是否参与索引（列表中的null不参与）
+     */
+    private static boolean hasTag(DCMAbstractType item) {
+        return item != null;
+    }
+
+    @Override
+    public boolean add(DCMAbstractType item) {
+        boolean current = indexedModCount == modCount;
+        super.add(item);
+        if (current) {
+            put(item, size() - 1);
+            indexedModCount = modCount;
+        }
+        return true;
+    }
+
+    @Override
+    public DCMAbstractType set(int index, DCMAbstractType item) {
+        indexedModCount = -1;  // ArrayList.set不改变modCount
+        return super.set(index, item);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        reset(16);
+    }
+
+    /**
+     * 按标签查找第一个元素
+     * @param tag 标签
+     * @return 元素，不存在时返回null
+     */
+    DCMAbstractType findByTag(int tag) {
+        if (indexedModCount != modCount) {
+            rebuild();
+        }
+        DCMAbstractType item = lookup(tag);
+        if (item != null && (!hasTag(item) || tagOf(item) != tag)) {
+            // 元素加入后标签被修改过，重建后再查
+            rebuild();
+            item = lookup(tag);
+        }
+        return item;
+    }
+
+    private DCMAbstractType lookup(int tag) {
+        int mask = keys.length - 1;
+        for (int i = hash(tag) & mask; slots[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == tag) {
+                return get(slots[i] - 1);
+            }
+        }
+        return null;
+    }
+
+    private void rebuild() {
+        int capacity = 16;
+        while (capacity < size() * 2) {
+            capacity <<= 1;
+        }
+        reset(capacity);
+        for (int i = 0; i < size(); i++) {
+            put(get(i), i);
+        }
+    }
+
+    private void reset(int capacity) {
+        keys = new int[capacity];
+        slots = new int[capacity];
+        indexed = 0;
+        indexedModCount = modCount;
+    }
+
+    /**
+     * 登记元素，同一标签只保留第一次出现的下标
+     */
+    private void put(DCMAbstractType item, int index) {
+        if (!hasTag(item)) {
+            return;
+        }
+        if ((indexed + 1) * 2 > keys.length) {
+            grow();
+        }
+        int tag = tagOf(item);
+        int mask = keys.length - 1;
+        int i = hash(tag) & mask;
+        while (slots[i] != 0) {
+            if (keys[i] == tag) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = tag;
+        slots[i] = index + 1;
+        indexed++;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new int[oldKeys.length * 2];
+        slots = new int[oldSlots.length * 2];
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldSlots[j] != 0) {
+                int i = hash(oldKeys[j]) & mask;
+                while (slots[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                slots[i] = oldSlots[j];
+            }
+        }
+    }
+
+    private static int hash(int tag) {
+        int h = tag * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
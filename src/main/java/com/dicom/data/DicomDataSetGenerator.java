@@ -30,7 +30,7 @@ public class DicomDataSetGenerator {
         
         try {
             // 1. 初始化DCMFile，使用ExplicitVRBigEndian传输语法
-            DCMFile dcm = new DCMFile(new ExplicitVRBigEndian());
+            DCMFile dcm = new DCMFile(ExplicitVRBigEndian.getInstance());
 
             System.out.println("开始创建DICOM数据集...\n");
 
@@ -137,7 +137,7 @@ public class DicomDataSetGenerator {
 
             // 5. 解析验证测试
             System.out.println("\n=== 解析验证测试 ===");
-            DCMDataSet dcm2 = new DCMDataSet(new ExplicitVRBigEndian());
+            DCMDataSet dcm2 = new DCMDataSet(ExplicitVRBigEndian.getInstance());
             int[] idx = {0};
             dcm2.Parse(encodedData, idx);
             
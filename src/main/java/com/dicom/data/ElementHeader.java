@@ -0,0 +1,74 @@
+package com.dicom.data;
+
+import com.dicom.vr.VRCode;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 数据元素头：标签、VR码、值长度和元素头字节数
+ * 元素头只在read中解码，DCMDataSet的元素解码和未定义长度值域的跳过、
+ * DicomStreamReader的流式读取、TransferSyntaxRegistry的传输语法识别共用：
+ * (FFFE,xxxx)条目和定界符在任何传输语法下都是8字节头；
+ * 显式VR按VR码区分长VR（2字节保留字段和4字节长度，共12字节）和短VR（2字节长度，共8字节）；
+ * 隐式VR为8字节头，VR码为VRCode.NONE，由调用方查字典。
+ * 按缓冲区的字节序读取，不改变其position，不创建对象；可以重复使用同一实例，
+ * 字段在下一次read之前有效
+ */
+public final class ElementHeader {
+    /** 标签 (组号 << 16 | 元素号) */
+    public int tag;
+    /** VR码（见VRCode），隐式VR和条目、定界符为VRCode.NONE */
+    public int vrCode;
+    /** 值长度，未定义长度为DCMAbstractType.UNDEFINED_LENGTH */
+    public int length;
+    /** 元素头字节数（8或12） */
+    public int headerSize;
+
+    /**
+     * 读取pos处的元素头
+     * @param data 数据缓冲区，字节序与传输语法一致
+     * @param pos 元素头的绝对位置
+     * @param limit 可读范围的结束位置
+     * @param explicit 是否为显式VR
+     * @return 元素头完整时返回true；[pos, limit) 内不够一个元素头时返回false，此时各字段无意义
+     */
+    public boolean read(ByteBuffer data, int pos, int limit, boolean explicit) {
+        if (pos < 0 || limit - pos < 8) {
+            return false;
+        }
+        int group = data.getShort(pos) & 0xFFFF;
+        tag = (group << 16) | (data.getShort(pos + 2) & 0xFFFF);
+        if (group == 0xFFFE || !explicit) {
+            vrCode = VRCode.NONE;
+            length = data.getInt(pos + 4);
+            headerSize = 8;
+            return true;
+        }
+        vrCode = VRCode.of(data.get(pos + 4), data.get(pos + 5));
+        if (VRCode.isLongVR(vrCode)) {
+            if (limit - pos < 12) {
+                return false;
+            }
+            length = data.getInt(pos + 8);
+            headerSize = 12;
+        } else {
+            length = data.getShort(pos + 6) & 0xFFFF;
+            headerSize = 8;
+        }
+        return true;
+    }
+
+    /**
+     * 组号
+     */
+    public int group() {
+        return tag >>> 16;
+    }
+
+    /**
+     * 元素号
+     */
+    public int element() {
+        return tag & 0xFFFF;
+    }
+}
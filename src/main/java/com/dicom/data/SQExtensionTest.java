@@ -40,8 +40,8 @@ public class SQExtensionTest {
             element1.name = "Modality";
             element1.vr = "CS";
             element1.vm = "1";
-            element1.value = "CT".getBytes();
-            element1.length = element1.value.length;
+            element1.setValueBytes("CT".getBytes());
+            element1.length = element1.getValueLength();
             
             DCMDataElement element2 = new DCMDataElement(ts);
             element2.gtag = (short) 0x0020;
@@ -49,8 +49,8 @@ public class SQExtensionTest {
             element2.name = "Instance Number";
             element2.vr = "IS";
             element2.vm = "1";
-            element2.value = "1".getBytes();
-            element2.length = element2.value.length;
+            element2.setValueBytes("1".getBytes());
+            element2.length = element2.getValueLength();
             
             // 添加元素到条目
             item.addItem(element1);
@@ -93,8 +93,8 @@ public class SQExtensionTest {
             elem1.etag = (short) 0x1150;
             elem1.name = "Referenced SOP Class UID";
             elem1.vr = "UI";
-            elem1.value = "1.2.840.10008.5.1.4.1.1.2".getBytes();
-            elem1.length = elem1.value.length;
+            elem1.setValueBytes("1.2.840.10008.5.1.4.1.1.2".getBytes());
+            elem1.length = elem1.getValueLength();
             item1.addItem(elem1);
             
             // 创建条目2
@@ -104,8 +104,8 @@ public class SQExtensionTest {
             elem2.etag = (short) 0x1155;
             elem2.name = "Referenced SOP Instance UID";
             elem2.vr = "UI";
-            elem2.value = "1.2.3.4.5.6.7.8.9".getBytes();
-            elem2.length = elem2.value.length;
+            elem2.setValueBytes("1.2.3.4.5.6.7.8.9".getBytes());
+            elem2.length = elem2.getValueLength();
             item2.addItem(elem2);
             
             // 添加条目到序列
@@ -142,8 +142,8 @@ public class SQExtensionTest {
             normalElement.etag = (short) 0x0010;
             normalElement.name = "Patient's Name";
             normalElement.vr = "PN";
-            normalElement.value = "SMITH^JOHN".getBytes();
-            normalElement.length = normalElement.value.length;
+            normalElement.setValueBytes("SMITH^JOHN".getBytes());
+            normalElement.length = normalElement.getValueLength();
             
             // 创建序列元素
             DCMDataSequence sequence = new DCMDataSequence(ts);
@@ -160,8 +160,8 @@ public class SQExtensionTest {
             seqElement.etag = (short) 0x1150;
             seqElement.name = "Referenced SOP Class UID";
             seqElement.vr = "UI";
-            seqElement.value = "1.2.840.10008.5.1.4.1.1.2".getBytes();
-            seqElement.length = seqElement.value.length;
+            seqElement.setValueBytes("1.2.840.10008.5.1.4.1.1.2".getBytes());
+            seqElement.length = seqElement.getValueLength();
             item.addItem(seqElement);
             sequence.addItem(item);
             
@@ -0,0 +1,174 @@
+package com.dicom.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * 标签投影：解析时只保留的标签集合
+ * 标签按无符号顺序保存在有序int数组中，二分查找；序列标签可以带一个嵌套投影，
+ * 表示序列条目内只保留的标签（路径），没有嵌套投影的序列整体保留。
+ * 例如 new TagProjection(0x00100020).add(0x00081115, 0x00081150)
+ * 保留Patient ID，以及Referenced Series Sequence条目中的Referenced SOP Class UID。
+ */
+public final class TagProjection {
+    private int[] tags = new int[0];                       // 按无符号顺序排列的标签
+    private TagProjection[] nested = new TagProjection[0]; // 与tags并行的嵌套投影，null表示整体保留
+
+    /**
+     * 构造函数
+     * @param tags 需要保留的标签 (组号 << 16 | 元素号)
+     */
+    public TagProjection(int... tags) {
+        for (int tag : tags) {
+            add(tag);
+        }
+    }
+
+    /**
+     * 添加一个标签或序列内的标签路径
+     * add(seq)整体保留序列；add(seq, tag)只保留序列条目中的tag，可以多层嵌套
+     * @param path 标签路径，前面各级为序列标签
+     * @return this，便于连续调用
+     */
+    public TagProjection add(int... path) {
+        if (path.length == 0) {
+            return this;
+        }
+        int tag = path[0];
+        int i = indexOf(tag);
+        if (i < 0) {
+            i = -i - 1;
+            tags = insert(tags, i, tag);
+            nested = insert(nested, i, path.length > 1 ? new TagProjection() : null);
+        } else if (path.length == 1) {
+            nested[i] = null;  // 整体保留优先于路径
+        }
+        if (path.length > 1 && nested[i] != null) {
+            nested[i].add(Arrays.copyOfRange(path, 1, path.length));
+        }
+        return this;
+    }
+
+    /**
+     * 是否包含标签
+     */
+    public boolean contains(int tag) {
+        return indexOf(tag) >= 0;
+    }
+
+    /**
+     * 解析时是否保留该标签
+     * 除投影中的标签外，私有创建者元素(gggg,00bb)在投影包含其块内元素(gggg,bbxx)时也保留，
+     * 否则无法按私有字典解析这些元素
+     * @param tag 标签
+     * @return 是否保留
+     */
+    public boolean wants(int tag) {
+        if (indexOf(tag) >= 0) {
+            return true;
+        }
+        int group = tag >>> 16;
+        int element = tag & 0xFFFF;
+        if ((group & 1) == 0 || element < 0x0010 || element > 0x00FF) {
+            return false;
+        }
+        int first = (group << 16) | (element << 8);
+        int i = indexOf(first);
+        i = i < 0 ? -i - 1 : i;
+        return i < tags.length && (tags[i] >>> 8) == (first >>> 8);
+    }
+
+    /**
+     * 序列标签的嵌套投影
+     * @param tag 序列标签
+     * @return 嵌套投影，序列整体保留或不在投影中时返回null
+     */
+    public TagProjection getNested(int tag) {
+        int i = indexOf(tag);
+        return i >= 0 ? nested[i] : null;
+    }
+
+    /**
+     * 投影中按无符号顺序最大的标签，顶层元素超过它之后不必继续解析
+     * @return 最大标签，投影为空时返回0
+     */
+    public int getLastTag() {
+        return tags.length > 0 ? tags[tags.length - 1] : 0;
+    }
+
+    /**
+     * 投影中的标签个数（不含嵌套）
+     */
+    public int size() {
+        return tags.length;
+    }
+
+    /**
+     * 按投影裁剪已解析的数据集：删除不保留的元素，带嵌套投影的序列逐条目裁剪
+     * @param dataset 数据集或条目
+     */
+    public void prune(DCMDataSet dataset) {
+        Iterator<DCMAbstractType> it = dataset.items.iterator();
+        while (it.hasNext()) {
+            DCMAbstractType item = it.next();
+            int tag = ((item.gtag & 0xFFFF) << 16) | (item.etag & 0xFFFF);
+            if (!wants(tag)) {
+                it.remove();
+                continue;
+            }
+            TagProjection child = getNested(tag);
+            if (child != null && item instanceof DCMDataSequence) {
+                child.pruneItems((DCMDataSequence) item);
+            }
+        }
+    }
+
+    /**
+     * 裁剪序列中的每个条目
+     * @param sequence 序列
+     */
+    void pruneItems(DCMDataSequence sequence) {
+        for (DCMAbstractType item : sequence.items()) {
+            if (item instanceof DCMDataItem) {
+                prune((DCMDataItem) item);
+            }
+        }
+    }
+
+    /**
+     * 按无符号顺序二分查找
+     * @return 下标，不存在时返回 -(插入位置) - 1
+     */
+    private int indexOf(int tag) {
+        int low = 0;
+        int high = tags.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Integer.compareUnsigned(tags[mid], tag);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int[] insert(int[] array, int index, int value) {
+        int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    private static TagProjection[] insert(TagProjection[] array, int index, TagProjection value) {
+        TagProjection[] result = new TagProjection[array.length + 1];
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+}
@@ -3,39 +3,36 @@ package com.dicom.data;
 import com.dicom.dictionary.DicomDictionary;
 import com.dicom.dictionary.DicomDictionaryEntry;
 import com.dicom.transfersyntax.DicomByteBuffer;
+import com.dicom.vr.VRCode;
 import com.dicom.vr.VRFactory;
-import java.nio.ByteOrder;
+import java.nio.ByteBuffer;
 
 /**
  * 传输语法基类
  * 用于处理DICOM数据的传输语法
+ * 传输语法只描述UID、字节序和VR方式，创建后不再改变，不保存解析状态（解析位置由调用方的idx、
+ * DicomByteBuffer维护），同一实例可被多个线程的解析共用；标准传输语法的共享实例见TransferSyntaxRegistry
  */
 public abstract class TransferSyntax {
     // 公共字段
-    public boolean isBE;        // 是否大端字节序
-    public boolean isExplicit;  // 是否显式VR
-    public String name;         // 传输语法名称
-    public String uid;          // 传输语法UID
+    public final boolean isBE;        // 是否大端字节序
+    public final boolean isExplicit;  // 是否显式VR
+    public final String name;         // 传输语法名称
+    public final String uid;          // 传输语法UID
     
-    // 私有字段
-    private DicomByteBuffer buffer;  // 缓存区
+    /**
+     * 批量数据阈值：不小于该字节数的OB/OW/OF/OD/OL/OV值视为批量数据（像素、波形等），
+     * 输出时只显示长度，不展开值域
+     */
+    private static volatile int bulkDataThreshold = 64 * 1024;
       // 保护字段
-    protected DicomDictionary dict;  // 数据字典对象
-    protected VRFactory vrfactory;   // VR工厂实例
+    protected final DicomDictionary dict;  // 数据字典对象
+    protected final VRFactory vrfactory;   // VR工厂实例
       /**
      * 默认构造函数
      */
     public TransferSyntax() {
-        this.buffer = null;
-        // 初始化数据字典
-        try {
-            this.dict = DicomDictionary.loadFromClasspath();
-        } catch (Exception e) {
-            System.err.println("加载DICOM字典失败: " + e.getMessage());
-            this.dict = new DicomDictionary();
-        }
-        // 初始化VR工厂
-        this.vrfactory = new VRFactory(isBE);
+        this(false);
     }
     
     /**
@@ -43,15 +40,23 @@ public abstract class TransferSyntax {
      * @param isBE 是否为大端字节序
      */
     public TransferSyntax(boolean isBE) {
+        this(null, null, isBE, false);
+    }
+    
+    /**
+     * 完整构造函数
+     * @param uid 传输语法UID
+     * @param name 传输语法名称
+     * @param isBE 是否为大端字节序
+     * @param isExplicit 是否显式VR
+     */
+    protected TransferSyntax(String uid, String name, boolean isBE, boolean isExplicit) {
+        this.uid = uid;
+        this.name = name;
         this.isBE = isBE;
-        this.buffer = null;
-        // 初始化数据字典
-        try {
-            this.dict = DicomDictionary.loadFromClasspath();
-        } catch (Exception e) {
-            System.err.println("加载DICOM字典失败: " + e.getMessage());
-            this.dict = new DicomDictionary();
-        }
+        this.isExplicit = isExplicit;
+        // 使用进程共享的数据字典
+        this.dict = DicomDictionary.getInstance();
         // 初始化VR工厂
         this.vrfactory = new VRFactory(isBE);
     }    /**
@@ -72,11 +77,8 @@ public abstract class TransferSyntax {
             return;
         }
         
-        // 将short转换为十六进制字符串进行查询
-        String gtag = String.format("%04X", element.gtag & 0xFFFF);
-        String etag = String.format("%04X", element.etag & 0xFFFF);
-        
-        DicomDictionaryEntry entry = dict.lookup(gtag, etag);
+        // 按整数标签查询，不做字符串格式化
+        DicomDictionaryEntry entry = dict.lookup(element.gtag & 0xFFFF, element.etag & 0xFFFF);
         if(entry != null) {
             element.name = entry.getName();
             if(entry.getVr().length() == 2) {
@@ -86,8 +88,8 @@ public abstract class TransferSyntax {
             }
             else if(receiver != null)
                 element.vr = receiver.action(element.gtag, element.etag);
-            else
-                element.vr = "OW";
+            else if (element.vr == null || element.vr.isEmpty() || element.vr.equals("\0\0"))
+                element.vr = entry.getDefaultVr();
                 
             element.vm = entry.getVm();
         } else {
@@ -111,63 +113,90 @@ public abstract class TransferSyntax {
      * @return 是否为长VR
      */
     protected boolean isLongVR(String vr) {
-        if (vr == null || vr.length() == 0) {
+        // 长VR类型：OB/OD/OF/OL/OV/OW/SQ/SV/UC/UN/UR/UT/UV，按VR码查表
+        return VRCode.isLongVR(VRCode.of(vr));
+    }
+    
+    /**
+     * 数据集是否整体经过deflate压缩（Deflated Explicit VR Little Endian）
+     * 压缩的传输语法需要先解压，解压后的数据按本传输语法的元素格式解码
+     * @return 是否压缩
+     */
+    public boolean isDeflated() {
+        return false;
+    }
+    
+    /**
+     * 获取批量数据阈值
+     * @return 字节数
+     */
+    public static int getBulkDataThreshold() {
+        return bulkDataThreshold;
+    }
+    
+    /**
+     * 设置批量数据阈值
+     * @param bytes 字节数
+     */
+    public static void setBulkDataThreshold(int bytes) {
+        bulkDataThreshold = bytes;
+    }
+    
+    /**
+     * 是否为大块的二进制批量数据（像素、波形、浮点数组等）
+     * @param vrCode VR码
+     * @param length 值长度
+     * @return 是否为批量数据
+     */
+    public static boolean isBulkData(int vrCode, int length) {
+        if (length < bulkDataThreshold || length == DCMAbstractType.UNDEFINED_LENGTH) {
             return false;
         }
-        
-        // 长VR类型：OB/OF/OD/OW/OL/SQ/UT/UN/UR/UC
-        return vr.equals("OB") || vr.equals("OF") || vr.equals("OD") ||
-               vr.equals("OW") || vr.equals("OL") || vr.equals("SQ") ||
-               vr.equals("UT") || vr.equals("UN") || vr.equals("UR") ||
-               vr.equals("UC");
-    }    /**
+        switch (vrCode) {
+            case VRCode.OB:
+            case VRCode.OW:
+            case VRCode.OF:
+            case VRCode.OD:
+            case VRCode.OL:
+            case VRCode.OV:
+                return true;
+            default:
+                return false;
+        }
+    }
+    
+    /**
      * 解码方法（公共接口）
+     * 与数据集解析使用同一个元素解码器（DCMDataSet.decodeElement），条目开始标记会连同条目内容一起解码；
+     * 普通元素的name、vm字段从字典填充
      * @param data 字节数据
-     * @param idx 位置索引数组
-     * @return 解码后的数据元素
+     * @param idx 位置索引数组（返回解码数据元素后的位置）
+     * @return 解码后的数据元素，出错时返回null
      */
     public DCMAbstractType Decode(byte[] data, int[] idx) {
         if (data == null || idx == null || idx.length == 0) {
             return null;
         }
-        
-        // 检查是否需要重新加载数据到buffer
-        if (buffer == null || data.length != data.length 
-                || buffer.getPosition() != idx[0]) { // 有数据更改就重新加载数据
-            ByteOrder byteOrder = isBE ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
-            buffer = new DicomByteBuffer(data, idx[0], byteOrder);
-        }        DCMAbstractType element;
-        short gtag = buffer.readShort();
-
-        if (gtag == (short)0xfffe) {   // 三个特殊标记按照隐式VR读
-            short etag = buffer.readShort();
-            
-            if (etag == (short)0xe000) {
-                // 条目开始标记 - 创建DCMDataItem
-                element = new DCMDataItem(this);
-            } else {
-                // 序列定界符(0xE0DD)或条目结束定界符(0xE00D) - 创建普通元素
-                element = new DCMDataElement(this);
-            }
-
-            // 读取TAG
-            element.gtag = gtag;
-            element.etag = etag;
-            element.vr = "UL";
-            element.vrparser = VRFactory.getVRInstance(element.vr, isBE);
-            element.length = buffer.readInt(); // 读4字节值长度
-            idx[0] = buffer.getPosition();
-            
-            // 只有条目开始标记需要进一步解析内容
-            if (etag == (short)0xe000) {
-                element.Parse(data, idx);
+        return decode(ByteBuffer.wrap(data), idx, data.length);
+    }
+    
+    /**
+     * 从缓冲区的绝对位置idx[0]解码一个数据元素，两个Decode入口共用
+     */
+    private DCMAbstractType decode(ByteBuffer data, int[] idx, int limit) {
+        DCMDataSet context = new DCMDataSet(this);
+        try {
+            DCMAbstractType element = context.decodeElement(context.ordered(data), idx, limit);
+            if (element instanceof DCMDataElement) {
+                // 单个元素的解码结果照旧填充名称和VM字段
+                element.name = element.getName();
+                element.vm = element.getVM();
             }
-        } else {
-            buffer.setPosition(buffer.getPosition() - 2);  // 回退2字节
-            element = this.Decode(buffer);  // 调用具体传输语法类解码数据元素
+            return element;
+        } catch (RuntimeException e) {
+            System.err.println(name + "解码出错: " + e.getMessage());
+            return null;
         }
-        idx[0] = buffer.getPosition();  // 返回解码数据元素后的位置
-        return element;
     }
     
     /**
@@ -176,12 +205,9 @@ public abstract class TransferSyntax {
      * @param element 数据元素
      */
     protected void WriteValue(java.nio.ByteBuffer buff, DCMAbstractType element) {
-        buff.put(element.value);
-        if (element.value.length % 2 != 0) {    //填充为偶数字节长
-            if (element.vr.equals("OB") || element.vr.equals("UI"))
-                buff.put((byte)0x00);
-            else
-                buff.put((byte)0x20);
+        buff.put(element.getValueBuffer());  // 值域仍引用源缓冲区时直接写出，不先复制为字节数组
+        if (element.getValueLength() % 2 != 0) {    //填充为偶数字节长：UI及二进制VR填0x00，字符串填空格
+            buff.put(VRCode.padByte(element.getVRCode()));
         }
     }
     
@@ -199,7 +225,7 @@ public abstract class TransferSyntax {
      * @return 编码后的字节数组
      */
     public byte[] Encode(DCMAbstractType item, boolean isUndefinedLength) {
-        if (isUndefinedLength && "SQ".equals(item.vr)) {
+        if (isUndefinedLength && item.getVRCode() == VRCode.SQ) {
             // 对于SQ序列，使用未定义长度编码
             return encodeSequenceUndefinedLength(item);
         } else {
@@ -243,8 +269,8 @@ public abstract class TransferSyntax {
         buffer.putInt(0xFFFFFFFF);
         
         // 4. 编码序列值（由DCMDataSequence处理）
-        if (item.value != null && item.value.length > 0) {
-            buffer.put(item.value);
+        if (item.getValueLength() > 0) {
+            buffer.put(item.getValueBuffer());
         }
         
         // 5. 序列定界符
@@ -283,19 +309,25 @@ public abstract class TransferSyntax {
         }
         
         // 3. 编码值数据
-        if (item.value != null && item.value.length > 0) {
-            buffer.put(item.value);
+        if (item.getValueLength() > 0) {
+            buffer.put(item.getValueBuffer());
             // 确保偶数长度
-            if (item.value.length % 2 != 0) {
+            if (item.getValueLength() % 2 != 0) {
                 buffer.put((byte) 0);
             }
         }
     }
     
     /**
-     * 抽象解码方法（由具体传输语法类实现）
+     * 从DicomByteBuffer的当前位置解码一个数据元素，解码后移动其位置
+     * 与Decode(byte[], int[])相同，直接读取其底层缓冲区（可以是直接缓冲区或文件映射）
      * @param buff 字节缓冲区
-     * @return 解码后的数据元素
+     * @return 解码后的数据元素，出错时返回null
      */
-    protected abstract DCMAbstractType Decode(DicomByteBuffer buff);
+    protected DCMAbstractType Decode(DicomByteBuffer buff) {
+        int[] idx = {buff.getPosition()};
+        DCMAbstractType element = decode(buff.asByteBuffer(), idx, buff.getLimit());
+        buff.setPosition(idx[0]);
+        return element;
+    }
 }
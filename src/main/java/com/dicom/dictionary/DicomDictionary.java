@@ -1,10 +1,15 @@
 package com.dicom.dictionary;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.net.URISyntaxException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 /**
@@ -14,6 +19,55 @@ import java.util.regex.Pattern;
 public class DicomDictionary {
     private HashMap<String, DicomDictionaryEntry> dict;
     
+    /**
+     * 是否为只读字典（进程共享实例加载完成后置为true）
+     */
+    private boolean readOnly;
+    
+    /**
+     * 预编译字典映像的类路径位置（由构建过程根据dicom.dic生成）
+     */
+    public static final String IMAGE_RESOURCE = "com/dicom/dictionary/dicom.bin";
+    
+    /**
+     * 字典映像文件标识"DDIC"
+     */
+    private static final int IMAGE_MAGIC = 0x44444943;
+    
+    /**
+     * 字典映像格式版本
+     */
+    private static final short IMAGE_VERSION = 3;
+    
+    /**
+     * 整数标签索引：精确标签 -> 条目
+     */
+    private TagTable tagIndex = new TagTable(0);
+    
+    /**
+     * 通配符条目的掩码，按掩码中有效位从多到少排列
+     * 如(60xx,0010)为0xFF00FFFF，(0020,31xx)为0xFFFFFF00，(1000,xxx0)为0xFFFF000F
+     */
+    private int[] wildcardMasks = new int[0];
+    
+    /**
+     * 与wildcardMasks并行的通配符索引：(标签 & 掩码) -> 条目，精确查找失败时依次探测
+     */
+    private TagTable[] wildcardIndexes = new TagTable[0];
+    
+    /**
+     * 关键字索引：关键字 -> 标签/条目（完美散列，查找不分配对象）
+     */
+    private KeywordTable keywordIndex = KeywordTable.build(new int[0], new DicomDictionaryEntry[0], 0, null);
+    
+    /**
+     * 进程共享字典持有者
+     * 首次调用getInstance()时才加载，由类初始化机制保证线程安全且只加载一次
+     */
+    private static class SharedHolder {
+        static final DicomDictionary INSTANCE = createShared();
+    }
+    
     /**
      * 默认构造函数
      */
@@ -29,7 +83,62 @@ public class DicomDictionary {
         loadDictionary(filePath);
     }
       /**
+     * 获取进程共享的只读字典实例
+     * 所有传输语法、数据集共用同一份字典，避免重复解析dicom.dic
+     * @return 共享字典实例
+     */
+    public static DicomDictionary getInstance() {
+        return SharedHolder.INSTANCE;
+    }
+    
+    /**
+     * 创建共享字典：优先加载预编译字典映像，没有时解析dicom.dic，加载后冻结为只读
+     */
+    private static DicomDictionary createShared() {
+        DicomDictionary shared;
+        try {
+            shared = loadFromImageResource();
+            if (shared == null) {
+                shared = loadFromClasspath();
+            }
+        } catch (Exception e) {
+            System.err.println("加载DICOM字典失败: " + e.getMessage());
+            shared = new DicomDictionary();
+        }
+        shared.freeze();
+        return shared;
+    }
+    
+    /**
+     * 冻结字典及其全部条目，之后不允许再加载或修改
+     */
+    private void freeze() {
+        for (DicomDictionaryEntry entry : dict.values()) {
+            entry.freeze();
+        }
+        readOnly = true;
+    }
+    
+    /**
+     * 检查字典是否可写
+     */
+    private void checkWritable() {
+        if (readOnly) {
+            throw new IllegalStateException("共享DICOM字典为只读，不能重新加载");
+        }
+    }
+    
+    /**
+     * 是否为只读字典
+     * @return 只读返回true
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+    
+    /**
      * 从类路径加载字典
+     * 每次调用都会重新解析dicom.dic，一般应使用getInstance()获取共享实例
      */
     public static DicomDictionary loadFromClasspath() {
         DicomDictionary dict = new DicomDictionary();
@@ -40,6 +149,7 @@ public class DicomDictionary {
      * 从资源文件加载字典
      */
     public void loadDictionaryFromResource() {
+        checkWritable();
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         InputStream is = null;
         BufferedReader reader = null;
@@ -81,6 +191,7 @@ public class DicomDictionary {
                 }
             }
             
+            buildIndex();
             System.out.println("成功加载 " + dict.size() + " 个DICOM字典条目");
             
         } catch (IOException e) {
@@ -106,6 +217,7 @@ public class DicomDictionary {
      * 加载数据字典文件
      */
     public void loadDictionary(String filePath) {
+        checkWritable();
         BufferedReader reader = null;
         try {
             reader = new BufferedReader(
@@ -140,6 +252,7 @@ public class DicomDictionary {
                 }
             }
             
+            buildIndex();
             System.out.println("成功加载 " + dict.size() + " 个DICOM字典条目");
             
         } catch (IOException e) {
@@ -155,6 +268,192 @@ public class DicomDictionary {
         }
     }
     
+    /**
+     * 从类路径加载预编译字典映像
+     * @return 加载后的字典；映像不存在或格式版本不匹配时返回null
+     */
+    public static DicomDictionary loadFromImageResource() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try (InputStream is = classLoader.getResourceAsStream(IMAGE_RESOURCE)) {
+            if (is == null) {
+                return null;
+            }
+            DicomDictionary dict = new DicomDictionary();
+            dict.loadDictionaryFromImage(readFully(is));
+            return dict;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("加载字典映像失败，改为解析文本字典: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 一次性读出输入流的全部字节
+     */
+    private static byte[] readFully(InputStream is) throws IOException {
+        byte[] buffer = new byte[Math.max(is.available(), 64 * 1024)];
+        int total = 0;
+        int n;
+        while ((n = is.read(buffer, total, buffer.length - total)) > 0) {
+            total += n;
+            if (total == buffer.length) {
+                buffer = java.util.Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+        return total == buffer.length ? buffer : java.util.Arrays.copyOf(buffer, total);
+    }
+    
+    /**
+     * 从预编译字典映像加载字典
+     * 映像格式（大端序）：
+     * 标识"DDIC"(4) 版本(2) 字符串数(4) {长度(2) UTF-8字节}...
+     * 条目数(4) {标签(4) 掩码(4) 默认VR码(2) VM下限(1) VM上限(1)
+     *            名称/关键字/VR/VM/退役 各为字符串序号(2)}...
+     * 关键字散列桶数(4) {桶位移值(4)}...
+     * @param image 映像字节
+     */
+    public void loadDictionaryFromImage(byte[] image) {
+        checkWritable();
+        ByteBuffer buf = ByteBuffer.wrap(image);
+        if (buf.remaining() < 6 || buf.getInt() != IMAGE_MAGIC) {
+            throw new IllegalArgumentException("不是DICOM字典映像");
+        }
+        short version = buf.getShort();
+        if (version != IMAGE_VERSION) {
+            throw new IllegalArgumentException("字典映像版本不匹配: " + version);
+        }
+        
+        // 字符串池：同一字符串在内存中只保留一份
+        String[] strings = new String[buf.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            int len = buf.getChar();
+            strings[i] = new String(image, buf.position(), len, StandardCharsets.UTF_8);
+            buf.position(buf.position() + len);
+        }
+        
+        int count = buf.getInt();
+        int[] tags = new int[count];
+        int[] tagMasks = new int[count];
+        DicomDictionaryEntry[] entries = new DicomDictionaryEntry[count];
+        for (int i = 0; i < count; i++) {
+            int tag = buf.getInt();
+            int tagMask = buf.getInt();
+            int vrCode = buf.getChar();
+            int vmMin = buf.get();
+            int vmMax = buf.get();
+            String name = strings[buf.getChar()];
+            String keyword = strings[buf.getChar()];
+            String vr = strings[buf.getChar()];
+            String vm = strings[buf.getChar()];
+            String retired = strings[buf.getChar()];
+            DicomDictionaryEntry entry = new DicomDictionaryEntry(
+                    tagString(tag >>> 16, tagMask >>> 16), tagString(tag & 0xFFFF, tagMask & 0xFFFF),
+                    name, keyword, vr, vm, retired, vmMin, vmMax, vrCode);
+            dict.put(entry.getFullTag(), entry);
+            tags[i] = tag;
+            tagMasks[i] = tagMask;
+            entries[i] = entry;
+        }
+        
+        // 关键字完美散列的位移表，生成映像时已搜索好
+        int[] displacements = new int[buf.getInt()];
+        for (int i = 0; i < displacements.length; i++) {
+            displacements[i] = buf.getInt();
+        }
+        
+        // 映像中已有整数标签和掩码，直接建索引
+        buildIndex(tags, tagMasks, entries, count, displacements);
+        System.out.println("成功从字典映像加载 " + dict.size() + " 个DICOM字典条目");
+    }
+    
+    /**
+     * 把16位标签值还原为4位十六进制字符串，掩码为0的位写作x
+     */
+    private static String tagString(int value, int mask) {
+        char[] chars = new char[4];
+        for (int i = 0; i < 4; i++) {
+            int shift = (3 - i) * 4;
+            chars[i] = ((mask >> shift) & 0xF) == 0
+                    ? 'x' : Character.toUpperCase(Character.forDigit((value >> shift) & 0xF, 16));
+        }
+        return new String(chars);
+    }
+    
+    /**
+     * 根据dict中的条目重建整数标签索引
+     * 不含通配符的条目进入精确索引，组号为xx的重复组条目进入重复组索引
+     */
+    private void buildIndex() {
+        int[] tags = new int[dict.size()];
+        int[] tagMasks = new int[dict.size()];
+        DicomDictionaryEntry[] entries = new DicomDictionaryEntry[dict.size()];
+        int count = 0;
+        for (DicomDictionaryEntry entry : dict.values()) {
+            try {
+                tags[count] = entry.getTag();
+                tagMasks[count] = entry.getTagMask();
+            } catch (NumberFormatException e) {
+                System.err.println("忽略无效标签: " + entry.getFullTag());
+                continue;
+            }
+            entries[count++] = entry;
+        }
+        buildIndex(tags, tagMasks, entries, count, null);
+    }
+    
+    /**
+     * 根据已解析好的标签、掩码和条目并行数组重建整数标签索引
+     * 不含通配符的条目进入精确索引；通配符条目按掩码分组，每种掩码一张表，
+     * 表中以 (标签 & 掩码) 为键，查找时每种掩码只需一次探测
+     * @param tags 整数标签（通配位为0）
+     * @param tagMasks 标签掩码
+     * @param entries 字典条目
+     * @param count 有效元素个数
+     * @param keywordDisplacements 关键字散列的位移表，为null时重新搜索
+     */
+    private void buildIndex(int[] tags, int[] tagMasks, DicomDictionaryEntry[] entries, int count,
+                            int[] keywordDisplacements) {
+        // 统计每种通配掩码的条目数
+        TreeMap<Integer, Integer> maskCounts = new TreeMap<>();
+        int exactCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (tagMasks[i] == 0xFFFFFFFF) {
+                exactCount++;
+            } else {
+                Integer n = maskCounts.get(tagMasks[i]);
+                maskCounts.put(tagMasks[i], n == null ? 1 : n + 1);
+            }
+        }
+        
+        // 有效位多的掩码更具体，先探测
+        Integer[] masks = maskCounts.keySet().toArray(new Integer[0]);
+        java.util.Arrays.sort(masks, (a, b) -> Integer.bitCount(b) - Integer.bitCount(a));
+        int[] maskArray = new int[masks.length];
+        TagTable[] tables = new TagTable[masks.length];
+        for (int m = 0; m < masks.length; m++) {
+            maskArray[m] = masks[m];
+            tables[m] = new TagTable(maskCounts.get(masks[m]));
+        }
+        
+        TagTable exact = new TagTable(exactCount);
+        for (int i = 0; i < count; i++) {
+            if (tagMasks[i] == 0xFFFFFFFF) {
+                exact.put(tags[i], entries[i]);
+                continue;
+            }
+            for (int m = 0; m < maskArray.length; m++) {
+                if (maskArray[m] == tagMasks[i]) {
+                    tables[m].put(tags[i] & tagMasks[i], entries[i]);
+                    break;
+                }
+            }
+        }
+        this.tagIndex = exact;
+        this.wildcardMasks = maskArray;
+        this.wildcardIndexes = tables;
+        this.keywordIndex = KeywordTable.build(tags, entries, count, keywordDisplacements);
+    }
+    
     /**
      * 清理行中的非法字符
      */
@@ -225,9 +524,81 @@ public class DicomDictionary {
      * 根据组号和元素号查询数据元素（十六进制整数参数）
      */
     public DicomDictionaryEntry lookup(int gtag, int etag) {
-        String gtagStr = String.format("%04X", gtag);
-        String etagStr = String.format("%04X", etag);
-        return lookup(gtagStr, etagStr);
+        return lookup(((gtag & 0xFFFF) << 16) | (etag & 0xFFFF));
+    }
+    
+    /**
+     * 根据整数标签查询数据元素
+     * 先精确查找，未命中时按每种通配掩码各探测一次（如(6002,3000)命中(60xx,3000)），
+     * 查找过程不分配对象
+     * @param tag 标签 (组号 << 16 | 元素号)
+     * @return 字典条目，不存在时返回null
+     */
+    public DicomDictionaryEntry lookup(int tag) {
+        DicomDictionaryEntry entry = tagIndex.get(tag);
+        if (entry != null) {
+            return entry;
+        }
+        // 奇数组为私有组，不匹配标准字典中的通配符条目（如6001不是覆盖层组）
+        if ((tag & 0x00010000) != 0) {
+            return null;
+        }
+        for (int m = 0; m < wildcardMasks.length; m++) {
+            entry = wildcardIndexes[m].get(tag & wildcardMasks[m]);
+            if (entry != null) {
+                return entry;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 获取指定整数标签的VR
+     * @param tag 标签 (组号 << 16 | 元素号)
+     * @return VR字符串，不存在时返回null
+     */
+    public String getVR(int tag) {
+        DicomDictionaryEntry entry = lookup(tag);
+        return entry != null ? entry.getVr() : null;
+    }
+    
+    /**
+     * 获取指定整数标签的关键字
+     * @param tag 标签 (组号 << 16 | 元素号)
+     * @return 关键字，不存在时返回null
+     */
+    public String getKeyword(int tag) {
+        DicomDictionaryEntry entry = lookup(tag);
+        return entry != null ? entry.getKeyword() : null;
+    }
+    
+    /**
+     * 根据关键字查询整数标签（如"PatientName" -> 0x00100010）
+     * 关键字索引为完美散列，查找不分配对象；重复组条目返回组内首个标签（如OverlayData -> 0x60003000）
+     * @param keyword 关键字
+     * @return 标签 (组号 << 16 | 元素号)，不存在时返回-1
+     */
+    public int getTagByKeyword(CharSequence keyword) {
+        return keyword != null ? keywordIndex.getTag(keyword) : -1;
+    }
+    
+    /**
+     * 根据关键字查询数据元素
+     * @param keyword 关键字
+     * @return 字典条目，不存在时返回null
+     */
+    public DicomDictionaryEntry lookupKeyword(CharSequence keyword) {
+        return keyword != null ? keywordIndex.get(keyword) : null;
+    }
+    
+    /**
+     * 获取指定整数标签的名称
+     * @param tag 标签 (组号 << 16 | 元素号)
+     * @return 名称，不存在时返回null
+     */
+    public String getName(int tag) {
+        DicomDictionaryEntry entry = lookup(tag);
+        return entry != null ? entry.getName() : null;
     }
     
     /**
@@ -339,10 +710,9 @@ public class DicomDictionary {
                             fw.write("    public static final int " + keyword);
                             
                             // 处理标签，将gtag和etag组合成一个整数
-                            String gtag = value.getGtag().replace("x", "F");
-                            String etag = value.getEtag().replace("x", "F");
-                            
-                            fw.write(" = 0x" + gtag + etag + ";\n");
+                            // 通配位x取0，得到重复组的首个标签（如OverlayData = 0x60003000），
+                            // lookup(int)按掩码可解析该组内的任意标签
+                            fw.write(String.format(" = 0x%08X;\n", value.getTag()));
                         }
                     }
                 } catch (IOException e) {
@@ -360,4 +730,94 @@ public class DicomDictionary {
             exception.printStackTrace();
         }
     }
+    
+    /**
+     * 生成预编译字典映像文件
+     * 与GenerateDicomTags()一样遍历字典中的每一条数据元素，按标签排序写出，
+     * 运行时由loadFromImageResource()整体读入，免去逐行解析文本字典
+     * @param outputPath 输出文件路径
+     */
+    public void GenerateDictionaryImage(String outputPath) {
+        // 按标签排序，保证同一dicom.dic生成的映像完全相同
+        TreeMap<Long, DicomDictionaryEntry> sorted = new TreeMap<>();
+        for (DicomDictionaryEntry entry : dict.values()) {
+            try {
+                long key = ((long) entry.getTag() & 0xFFFFFFFFL) << 32 | ((long) entry.getTagMask() & 0xFFFFFFFFL);
+                sorted.put(key, entry);
+            } catch (NumberFormatException e) {
+                System.err.println("忽略无效标签: " + entry.getFullTag());
+            }
+        }
+        
+        // 字符串池
+        Map<String, Integer> pool = new LinkedHashMap<>();
+        for (DicomDictionaryEntry entry : sorted.values()) {
+            intern(pool, entry.getName());
+            intern(pool, entry.getKeyword());
+            intern(pool, entry.getVr());
+            intern(pool, entry.getVm());
+            intern(pool, entry.getRetired());
+        }
+        if (pool.size() > 0xFFFF) {
+            throw new IllegalStateException("字符串池超出映像格式上限: " + pool.size());
+        }
+        
+        File output = new File(outputPath);
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(output)))) {
+            out.writeInt(IMAGE_MAGIC);
+            out.writeShort(IMAGE_VERSION);
+            
+            out.writeInt(pool.size());
+            for (String str : pool.keySet()) {
+                byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            
+            out.writeInt(sorted.size());
+            int[] tags = new int[sorted.size()];
+            DicomDictionaryEntry[] entries = new DicomDictionaryEntry[sorted.size()];
+            int count = 0;
+            for (DicomDictionaryEntry entry : sorted.values()) {
+                tags[count] = entry.getTag();
+                entries[count++] = entry;
+                out.writeInt(entry.getTag());
+                out.writeInt(entry.getTagMask());
+                out.writeShort(entry.getDefaultVrCode());  // 复合VR（如"OB or OW"）写入隐式VR下的默认VR
+                out.writeByte(entry.getVmMin());
+                out.writeByte(entry.getVmMax());
+                out.writeShort(pool.get(nullToEmpty(entry.getName())));
+                out.writeShort(pool.get(nullToEmpty(entry.getKeyword())));
+                out.writeShort(pool.get(nullToEmpty(entry.getVr())));
+                out.writeShort(pool.get(nullToEmpty(entry.getVm())));
+                out.writeShort(pool.get(nullToEmpty(entry.getRetired())));
+            }
+            
+            // 关键字完美散列的位移表，加载时按相同条目顺序直接放置
+            int[] displacements = KeywordTable.build(tags, entries, count, null).getDisplacements();
+            out.writeInt(displacements.length);
+            for (int d : displacements) {
+                out.writeInt(d);
+            }
+            
+            System.out.println("成功生成字典映像 " + outputPath + "，共 " + sorted.size() + " 个条目");
+        } catch (IOException e) {
+            throw new RuntimeException("生成字典映像失败: " + outputPath, e);
+        }
+    }
+    
+    private static void intern(Map<String, Integer> pool, String str) {
+        String key = nullToEmpty(str);
+        if (!pool.containsKey(key)) {
+            pool.put(key, pool.size());
+        }
+    }
+    
+    private static String nullToEmpty(String str) {
+        return str != null ? str : "";
+    }
 }
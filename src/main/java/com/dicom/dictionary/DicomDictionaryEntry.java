@@ -1,5 +1,7 @@
 package com.dicom.dictionary;
 
+import com.dicom.vr.VRCode;
+
 /**
  * DICOM数据字典条目类
  * 保存一条数据元素的定义
@@ -12,6 +14,10 @@ public class DicomDictionaryEntry {
     private String vr;      // VR (Value Representation)
     private String vm;      // VM (Value Multiplicity)
     private String retired; // 是否已退役
+    private int vmMin;      // VM下限
+    private int vmMax;      // VM上限，-1表示n（不限）
+    private int defaultVrCode = -1; // 默认VR的VR码，-1表示尚未计算
+    private boolean frozen; // 是否已冻结（共享字典中的条目不可修改）
     
     /**
      * 构造函数
@@ -31,6 +37,26 @@ public class DicomDictionaryEntry {
         this.vr = vr;
         this.vm = vm;
         this.retired = retired;
+        int[] range = parseVmRange(vm);
+        this.vmMin = range[0];
+        this.vmMax = range[1];
+    }
+    
+    /**
+     * 带VM范围和VR码的构造函数（从预编译字典映像加载时使用，免去解析VM字符串和VR字符串）
+     */
+    DicomDictionaryEntry(String gtag, String etag, String name, String keyword,
+                         String vr, String vm, String retired, int vmMin, int vmMax, int defaultVrCode) {
+        this.gtag = gtag;
+        this.etag = etag;
+        this.name = name;
+        this.keyword = keyword;
+        this.vr = vr;
+        this.vm = vm;
+        this.retired = retired;
+        this.vmMin = vmMin;
+        this.vmMax = vmMax;
+        this.defaultVrCode = defaultVrCode;
     }
     
     // Getter 和 Setter 方法
@@ -39,6 +65,7 @@ public class DicomDictionaryEntry {
     }
     
     public void setGtag(String gtag) {
+        checkWritable();
         this.gtag = gtag;
     }
     
@@ -47,6 +74,7 @@ public class DicomDictionaryEntry {
     }
     
     public void setEtag(String etag) {
+        checkWritable();
         this.etag = etag;
     }
     
@@ -55,6 +83,7 @@ public class DicomDictionaryEntry {
     }
     
     public void setName(String name) {
+        checkWritable();
         this.name = name;
     }
     
@@ -63,6 +92,7 @@ public class DicomDictionaryEntry {
     }
     
     public void setKeyword(String keyword) {
+        checkWritable();
         this.keyword = keyword;
     }
     
@@ -70,8 +100,45 @@ public class DicomDictionaryEntry {
         return vr;
     }
     
+    /**
+     * 获取用于隐式VR解码的默认VR
+     * 字典中的复合VR（如"OB or OW"、"US or SS"）在隐式VR语法下无法从数据流判断，
+     * 按PS3.5附录A的约定：可取OW时取OW，否则取第一个候选；空VR返回"UN"
+     * @return 两字符VR
+     */
+    public String getDefaultVr() {
+        if (vr == null) {
+            return "UN";
+        }
+        String v = vr.trim();
+        if (v.length() == 2) {
+            return v;
+        }
+        if (v.contains("OW")) {
+            return "OW";
+        }
+        if (v.length() > 2 && Character.isUpperCase(v.charAt(0)) && Character.isUpperCase(v.charAt(1))
+                && v.charAt(2) == ' ') {
+            return v.substring(0, 2);
+        }
+        return "UN";
+    }
+    
+    /**
+     * 获取默认VR的VR码（见getDefaultVr），隐式VR解码时使用，不创建字符串
+     * @return VR码，见VRCode
+     */
+    public int getDefaultVrCode() {
+        if (defaultVrCode < 0) {
+            defaultVrCode = VRCode.of(getDefaultVr());
+        }
+        return defaultVrCode;
+    }
+    
     public void setVr(String vr) {
+        checkWritable();
         this.vr = vr;
+        this.defaultVrCode = -1;
     }
     
     public String getVm() {
@@ -79,7 +146,27 @@ public class DicomDictionaryEntry {
     }
     
     public void setVm(String vm) {
+        checkWritable();
         this.vm = vm;
+        int[] range = parseVmRange(vm);
+        this.vmMin = range[0];
+        this.vmMax = range[1];
+    }
+    
+    /**
+     * 获取VM下限，如"2-2n"返回2；VM为空时返回0
+     * @return VM下限
+     */
+    public int getVmMin() {
+        return vmMin;
+    }
+    
+    /**
+     * 获取VM上限，如"1-3"返回3；上限为n时返回-1
+     * @return VM上限
+     */
+    public int getVmMax() {
+        return vmMax;
     }
     
     public String getRetired() {
@@ -87,9 +174,122 @@ public class DicomDictionaryEntry {
     }
     
     public void setRetired(String retired) {
+        checkWritable();
         this.retired = retired;
     }
     
+    /**
+     * 冻结条目，之后调用setter将抛出异常
+     */
+    void freeze() {
+        frozen = true;
+    }
+    
+    /**
+     * 检查条目是否可修改
+     */
+    private void checkWritable() {
+        if (frozen) {
+            throw new IllegalStateException("共享字典条目为只读: " + getFullTag());
+        }
+    }
+    
+    /**
+     * 获取整数形式的标签 (组号 << 16 | 元素号)
+     * 通配位x按0计算，如(60xx,3000)返回0x60003000
+     * @return 整数标签
+     * @throws NumberFormatException 组号或元素号不是4位十六进制数
+     */
+    public int getTag() {
+        return (hexValue(gtag) << 16) | hexValue(etag);
+    }
+    
+    /**
+     * 获取标签掩码：通配位x对应的4位为0，其余为1
+     * 不含通配符的条目返回0xFFFFFFFF
+     * @return 标签掩码
+     * @throws NumberFormatException 组号或元素号不是4位十六进制数
+     */
+    public int getTagMask() {
+        return (hexMask(gtag) << 16) | hexMask(etag);
+    }
+    
+    /**
+     * 解析VM字符串为 {下限, 上限}
+     * "1" -> {1,1}，"1-3" -> {1,3}，"1-n"/"2-2n" -> {下限,-1}，
+     * "1-n or 1"只取第一种写法，空串或无法识别时返回{0,0}
+     */
+    static int[] parseVmRange(String vm) {
+        int[] range = {0, 0};
+        if (vm == null) {
+            return range;
+        }
+        String text = vm.trim();
+        int or = text.indexOf(' ');
+        if (or > 0) {
+            text = text.substring(0, or);
+        }
+        if (text.isEmpty()) {
+            return range;
+        }
+        try {
+            int dash = text.indexOf('-');
+            if (dash < 0) {
+                range[0] = Integer.parseInt(text);
+                range[1] = range[0];
+            } else {
+                range[0] = Integer.parseInt(text.substring(0, dash));
+                String upper = text.substring(dash + 1);
+                range[1] = upper.endsWith("n") ? -1 : Integer.parseInt(upper);
+            }
+        } catch (NumberFormatException e) {
+            range[0] = 0;
+            range[1] = 0;
+        }
+        return range;
+    }
+    
+    /**
+     * 解析4位十六进制数，通配位x按0计算
+     */
+    private static int hexValue(String hex) {
+        checkHex(hex);
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = hex.charAt(i);
+            value = (value << 4) | (isWildcard(c) ? 0 : Character.digit(c, 16));
+        }
+        return value;
+    }
+    
+    /**
+     * 计算4位十六进制数的掩码，通配位x对应0
+     */
+    private static int hexMask(String hex) {
+        checkHex(hex);
+        int mask = 0;
+        for (int i = 0; i < 4; i++) {
+            mask = (mask << 4) | (isWildcard(hex.charAt(i)) ? 0 : 0xF);
+        }
+        return mask;
+    }
+    
+    private static boolean isWildcard(char c) {
+        return c == 'x' || c == 'X';
+    }
+    
+    private static void checkHex(String hex) {
+        if (hex == null || hex.length() != 4) {
+            throw new NumberFormatException("标签必须为4位十六进制数: " + hex);
+        }
+        for (int i = 0; i < 4; i++) {
+            char c = hex.charAt(i);
+            if (!isWildcard(c) && Character.digit(c, 16) < 0) {
+                throw new NumberFormatException("标签必须为4位十六进制数: " + hex);
+            }
+        }
+    }
+    
     /**
      * 获取完整的标签（组号+元素号）
      */
@@ -167,7 +167,7 @@ public final class DicomTags {
     public static final int PointPositionAccuracy = 0x00660017;
     public static final int PatientOrientationCodeSequence = 0x00540410;
     public static final int VisualFieldHorizontalExtent = 0x00240010;
-    public static final int TypeOfData = 0x50FF0020;
+    public static final int TypeOfData = 0x50000020;
     public static final int FluoroscopyLastImageHoldPersistenceFlag = 0x001811B4;
     public static final int RevolutionTime = 0x00189305;
     public static final int ExposureControlSensingRegionUpperHorizontalEdge = 0x00189438;
@@ -252,7 +252,7 @@ public final class DicomTags {
     public static final int DataElementLabelSequence = 0x00140200;
     public static final int FlowIdentifier = 0x00340002;
     public static final int RangeShifterType = 0x300A0320;
-    public static final int OverlayLocation = 0x60FF0200;
+    public static final int OverlayLocation = 0x60000200;
     public static final int DataObservationSequence = 0x00240325;
     public static final int AlphaPaletteColorLookupTableDescriptor = 0x00281104;
     public static final int AcquisitionMethodCodeSequence = 0x00221420;
@@ -362,7 +362,7 @@ public final class DicomTags {
     public static final int ReceiverSettingsSequence = 0x00144030;
     public static final int ContributionDescription = 0x0018A003;
     public static final int GeneralMatchingSequence = 0x00080413;
-    public static final int CurveData = 0x50FF3000;
+    public static final int CurveData = 0x50003000;
     public static final int StructuredDisplayImageBoxSequence = 0x00720422;
     public static final int CertifiedTimestampType = 0x04000305;
     public static final int DoseReferenceNumber = 0x300A0012;
@@ -418,7 +418,7 @@ public final class DicomTags {
     public static final int TableColumnNumber = 0x0040A805;
     public static final int RadionuclideHalfLife = 0x00181075;
     public static final int ASLSlabSequence = 0x00189260;
-    public static final int OverlayDescription = 0x60FF0022;
+    public static final int OverlayDescription = 0x60000022;
     public static final int SegmentAnnotationTypeModifierCodeSequence = 0x3010002F;
     public static final int ReferencedRTPhysicianIntentSequence = 0x300A063B;
     public static final int Shininess = 0x00701706;
@@ -538,7 +538,7 @@ public final class DicomTags {
     public static final int PersonNamesToUseSequence = 0x00100011;
     public static final int WedgeAngleFloat = 0x00145107;
     public static final int ROIName = 0x30060026;
-    public static final int NumberOfPoints = 0x50FF0010;
+    public static final int NumberOfPoints = 0x50000010;
     public static final int MaximumCornealCurvature = 0x00460212;
     public static final int Signature = 0x04000120;
     public static final int PlanningLandmarkPlaneSequence = 0x00686520;
@@ -792,7 +792,7 @@ public final class DicomTags {
     public static final int FailedAttributesSequence = 0x00741048;
     public static final int PTORegionSequence = 0x4010107B;
     public static final int GridPitch = 0x00187044;
-    public static final int ZonalMap = 0x1010FFFF;
+    public static final int ZonalMap = 0x10100000;
     public static final int DoseCalibrationConditionsVerifiedFlag = 0x300C0123;
     public static final int PulseWidth = 0x00144022;
     public static final int PatientAddress = 0x00101040;
@@ -1028,14 +1028,14 @@ public final class DicomTags {
     public static final int WedgeNumber = 0x300A00D2;
     public static final int SourceWaveformSequence = 0x003A020A;
     public static final int PVCRejection = 0x00181085;
-    public static final int OverlayDescriptorGreen = 0x60FF1102;
+    public static final int OverlayDescriptorGreen = 0x60001102;
     public static final int CatheterRotationalRate = 0x00520013;
     public static final int InteroperabilityVersion = 0x00160062;
     public static final int ReferencedChannelNumber = 0x00741406;
     public static final int SourceApplicatorLength = 0x300A0296;
     public static final int StationName = 0x00081010;
     public static final int QualityControlSubject = 0x00100200;
-    public static final int CodeLabel = 0x002808F0;
+    public static final int CodeLabel = 0x00280800;
     public static final int RationalNumeratorValue = 0x0040A162;
     public static final int AcquisitionNumber = 0x00200012;
     public static final int RetestStimulusSeen = 0x00240095;
@@ -1043,7 +1043,7 @@ public final class DicomTags {
     public static final int ReplacedImplantTemplateSequence = 0x00686222;
     public static final int ReconstructionProtocolElementSequence = 0x00189934;
     public static final int WedgeSequence = 0x300A00D1;
-    public static final int OverlayDescriptorRed = 0x60FF1101;
+    public static final int OverlayDescriptorRed = 0x60001101;
     public static final int SortByCategory = 0x00720602;
     public static final int IntervalsRejected = 0x00181084;
     public static final int FilmOrientation = 0x20100040;
@@ -1062,7 +1062,7 @@ public final class DicomTags {
     public static final int WedgeID = 0x300A00D4;
     public static final int StorageProtocolElementSpecificationSequence = 0x00189935;
     public static final int AITDeviceType = 0x40101070;
-    public static final int OverlayDescriptorGray = 0x60FF1100;
+    public static final int OverlayDescriptorGray = 0x60001100;
     public static final int ReferencedImageSequence = 0x00081140;
     public static final int IlluminationWaveLength = 0x00220055;
     public static final int RequestedLateralityCodeSequence = 0x00321065;
@@ -1074,7 +1074,7 @@ public final class DicomTags {
     public static final int StimulusResults = 0x00240093;
     public static final int TextValue = 0x0040A160;
     public static final int SegmentationCreationTemplateLabel = 0x3010001E;
-    public static final int NumberOfTables = 0x002808F2;
+    public static final int NumberOfTables = 0x00280802;
     public static final int RTBeamDelimiterGeometrySequence = 0x300A064C;
     public static final int CompoundGraphicType = 0x00700294;
     public static final int WedgeType = 0x300A00D3;
@@ -1153,7 +1153,7 @@ public final class DicomTags {
     public static final int HighRRValue = 0x00181082;
     public static final int ImageDataTypeSequence = 0x00189807;
     public static final int SelectorUTValue = 0x00720070;
-    public static final int OverlayDescriptorBlue = 0x60FF1103;
+    public static final int OverlayDescriptorBlue = 0x60001103;
     public static final int SortingOperationsSequence = 0x00720600;
     public static final int ReferencePixelPhysicalValueX = 0x00186028;
     public static final int SelectorULValue = 0x00720078;
@@ -1178,7 +1178,7 @@ public final class DicomTags {
     public static final int SegmentationType = 0x00620001;
     public static final int AttributeOccurrencePointer = 0x00741052;
     public static final int NumberOfKSpaceTrajectories = 0x00189093;
-    public static final int ImageDataLocation = 0x002808F8;
+    public static final int ImageDataLocation = 0x00280808;
     public static final int EntranceDoseDerivation = 0x00408303;
     public static final int SegmentedPropertyCategoryCodeSequence = 0x00620003;
     public static final int ReferencedSegmentReferenceIndex = 0x30100020;
@@ -1242,7 +1242,7 @@ public final class DicomTags {
     public static final int ParallelReductionFactorInPlaneRetired = 0x00189096;
     public static final int DirectSegmentReferenceSequence = 0x30100023;
     public static final int CreationDate = 0x21000040;
-    public static final int CodeTableLocation = 0x002808F3;
+    public static final int CodeTableLocation = 0x00280803;
     public static final int OrganAtRiskMaximumDose = 0x300A002C;
     public static final int KVP = 0x00180060;
     public static final int PhysicalDeltaX = 0x0018602C;
@@ -1257,7 +1257,7 @@ public final class DicomTags {
     public static final int CalculatedDoseReferenceDoseValue = 0x30080076;
     public static final int BeamModifierOrientationAngle = 0x300A0645;
     public static final int ReferenceDoseDefinition = 0x300A0512;
-    public static final int BitsForCodeWord = 0x002808F4;
+    public static final int BitsForCodeWord = 0x00280804;
     public static final int ReferencedImageNavigationSequence = 0x00480200;
     public static final int HeartRate = 0x00181088;
     public static final int DigitizingDeviceTransportDirection = 0x00182020;
@@ -1283,7 +1283,7 @@ public final class DicomTags {
     public static final int RepositoryUniqueID = 0x0040E030;
     public static final int AcquisitionStartLocationSequence = 0x00189931;
     public static final int ReferencePixelPhysicalValueY = 0x0018602A;
-    public static final int CurveDimensions = 0x50FF0005;
+    public static final int CurveDimensions = 0x50000005;
     public static final int CornealVertexLocation = 0x00460202;
     public static final int ParallelRTBeamDelimiterDeviceSequence = 0x300A0647;
     public static final int PhosphorType = 0x00181261;
@@ -1550,7 +1550,7 @@ public final class DicomTags {
     public static final int AdditionalParameterRecordingInstanceSequence = 0x300A0780;
     public static final int InterpretationApprovalTime = 0x40080113;
     public static final int PhaseContrast = 0x00189014;
-    public static final int ShiftTableTriplet = 0x1000FFF5;
+    public static final int ShiftTableTriplet = 0x10000005;
     public static final int DiffusionAnisotropyType = 0x00189147;
     public static final int LongDeviceDescription = 0x00500021;
     public static final int BreedRegistryCodeSequence = 0x00102296;
@@ -1570,7 +1570,7 @@ public final class DicomTags {
     public static final int RegistrationSequence = 0x00700308;
     public static final int ImageBoxScrollDirection = 0x00720310;
     public static final int SourceSequence = 0x300A0210;
-    public static final int ShiftTableSize = 0x1000FFF4;
+    public static final int ShiftTableSize = 0x10000004;
     public static final int VerticesOfThePolygonalShutter = 0x00181620;
     public static final int ConstraintViolationCondition = 0x00820037;
     public static final int OpticalOphthalmicAxialLengthMeasurementsSequence = 0x00221225;
@@ -1599,7 +1599,7 @@ public final class DicomTags {
     public static final int NamesOfIntendedRecipientsOfResults = 0x00401010;
     public static final int ScanStopPositionSequence = 0x3002012C;
     public static final int NumberOfFramesUsedForIntegration = 0x00143073;
-    public static final int HuffmanTableTriplet = 0x1000FFF3;
+    public static final int HuffmanTableTriplet = 0x10000003;
     public static final int InPlanePhaseEncodingDirection = 0x00181312;
     public static final int CalculatedAnatomyThickness = 0x00189452;
     public static final int ParallelRTBeamDelimiterLeafMountingSide = 0x300A064F;
@@ -1611,14 +1611,14 @@ public final class DicomTags {
     public static final int UniqueDeviceIdentifier = 0x00181009;
     public static final int ObservationCategoryCodeSequenceTrial = 0x0040A167;
     public static final int WedgeFactor = 0x300A00D6;
-    public static final int VariableCoefficientsSDVN = 0x7FFF0020;
+    public static final int VariableCoefficientsSDVN = 0x7F000020;
     public static final int DischargeDiagnosisCodeSequence = 0x00380044;
     public static final int MPRThicknessType = 0x00701502;
     public static final int RetrieveURL = 0x00081190;
     public static final int IntendedRecipientsOfResultsIdentificationSequence = 0x00401011;
     public static final int DopplerCorrectionAngle = 0x00186034;
     public static final int SourceReconstructionProtocolElementNumber = 0x0018993A;
-    public static final int HuffmanTableSize = 0x1000FFF2;
+    public static final int HuffmanTableSize = 0x10000002;
     public static final int ScanStartPositionSequence = 0x3002012B;
     public static final int ImplantTemplateGroupTargetAnatomySequence = 0x00780028;
     public static final int TwoDDegreeOfFreedomAxis = 0x006864F0;
@@ -1635,7 +1635,7 @@ public final class DicomTags {
     public static final int ReasonForPerformedProcedureCodeSequence = 0x00401012;
     public static final int MAUsedInGainCalibration = 0x00143072;
     public static final int ToricIOLPowerForExactTargetRefractionSequence = 0x0022104B;
-    public static final int RunLengthTriplet = 0x1000FFF1;
+    public static final int RunLengthTriplet = 0x10000001;
     public static final int ReconstructionStartLocationSequence = 0x0018993B;
     public static final int ScanArcType = 0x3002012E;
     public static final int PatientBreedDescription = 0x00102292;
@@ -1657,7 +1657,7 @@ public final class DicomTags {
     public static final int ReconstructionEndLocationSequence = 0x0018993C;
     public static final int ImagingSourceToBeamModifierDefinitionPlaneDistance = 0x3002012D;
     public static final int ImageBoxSmallScrollAmount = 0x00720314;
-    public static final int EscapeTriplet = 0x1000FFF0;
+    public static final int EscapeTriplet = 0x10000000;
     public static final int EthnicGroup = 0x00102160;
     public static final int CalibrationSequence = 0x00189455;
     public static final int AlgorithmDescriptionTrial = 0x0040A297;
@@ -1735,7 +1735,7 @@ public final class DicomTags {
     public static final int SourceToCompensatorTrayDistance = 0x300A00E6;
     public static final int NuclearMedicineSeriesType = 0x00080042;
     public static final int StructureSetTime = 0x30060009;
-    public static final int VariableCoefficientsSDHN = 0x7FFF0030;
+    public static final int VariableCoefficientsSDHN = 0x7F000030;
     public static final int ProtocolDefinedPatientPosition = 0x00189947;
     public static final int EventTimerNames = 0x00082132;
     public static final int TreatmentDeliveryContinuationFlag = 0x300A0708;
@@ -1874,7 +1874,7 @@ public final class DicomTags {
     public static final int TotalTimeOfFluoroscopy = 0x00400300;
     public static final int DetectorNormalizationCorrection = 0x00189768;
     public static final int RangeModulatorDescription = 0x300A034A;
-    public static final int OverlayType = 0x60FF0040;
+    public static final int OverlayType = 0x60000040;
     public static final int FiducialDescription = 0x0070030F;
     public static final int RTPhysicianIntentSequence = 0x30100057;
     public static final int FlashFiringStatus = 0x00160011;
@@ -1951,7 +1951,7 @@ public final class DicomTags {
     public static final int OwnerID = 0x21000160;
     public static final int IVUSAcquisition = 0x00183100;
     public static final int PatientOrientation = 0x00200020;
-    public static final int OverlaySubtype = 0x60FF0045;
+    public static final int OverlaySubtype = 0x60000045;
     public static final int AcquisitionTimeSynchronized = 0x00181800;
     public static final int AcquisitionStartCondition = 0x00180073;
     public static final int OtherFailuresSequence = 0x0008119A;
@@ -2136,7 +2136,7 @@ public final class DicomTags {
     public static final int EquipmentModality = 0x00080221;
     public static final int ProtocolContextSequence = 0x00400440;
     public static final int ScheduledProcedureStepEndTime = 0x00400005;
-    public static final int OverlayCompressionCode = 0x60FF0060;
+    public static final int OverlayCompressionCode = 0x60000060;
     public static final int ImagingServiceRequestComments = 0x00402400;
     public static final int ReferencedDirectSegmentInstanceSequence = 0x3010004A;
     public static final int ImpedanceValue = 0x003A0313;
@@ -2239,7 +2239,7 @@ public final class DicomTags {
     public static final int SubjectiveRefractionRightEyeSequence = 0x00460097;
     public static final int MediumType = 0x20000030;
     public static final int InventoryLevel = 0x00080403;
-    public static final int ROIStandardDeviation = 0x60FF1303;
+    public static final int ROIStandardDeviation = 0x60001303;
     public static final int PatientTreatmentPreparationMethodDescription = 0x300A0792;
     public static final int ScheduledStudyStartDate = 0x00321000;
     public static final int ReferencedCalculatedDoseReferenceSequence = 0x30080090;
@@ -2262,7 +2262,7 @@ public final class DicomTags {
     public static final int EncapsulatedDocument = 0x00420011;
     public static final int ReferencedStopControlPointIndex = 0x300C00F6;
     public static final int ScheduledProcedureStepExpirationDateTime = 0x00404008;
-    public static final int ROIMean = 0x60FF1302;
+    public static final int ROIMean = 0x60001302;
     public static final int ReasonForRemovalCodeSequence = 0x00080406;
     public static final int FixationLightAzimuthalAngle = 0x300A0356;
     public static final int DeliveredPulseRepetitionInterval = 0x3008013C;
@@ -2291,7 +2291,7 @@ public final class DicomTags {
     public static final int RemovedFromOperationalUse = 0x00080405;
     public static final int OperatorIdentificationSequence = 0x00081072;
     public static final int HumanPerformerCodeSequence = 0x00404009;
-    public static final int ROIArea = 0x60FF1301;
+    public static final int ROIArea = 0x60001301;
     public static final int PixelComponentRangeStart = 0x00186048;
     public static final int PartialViewCodeSequence = 0x00281352;
     public static final int UsedRTStructureSetROISequence = 0x00700315;
@@ -2337,7 +2337,7 @@ public final class DicomTags {
     public static final int SpecificHeatOfInspectionSurface = 0x00146048;
     public static final int OECFColumnNames = 0x00160008;
     public static final int VolumetricPresentationInputSetUID = 0x00701209;
-    public static final int VariablePixelData = 0x7FFF0010;
+    public static final int VariablePixelData = 0x7F000010;
     public static final int EncryptedContentTransferSyntaxUID = 0x04000510;
     public static final int InventoryInstanceDescription = 0x00080402;
     public static final int MPRViewHeight = 0x00701512;
@@ -2358,7 +2358,7 @@ public final class DicomTags {
     public static final int OECFValues = 0x00160009;
     public static final int InventoryPurpose = 0x00080401;
     public static final int ReferencedImplantTemplateGroupMemberID = 0x007800B6;
-    public static final int VariableNextDataGroup = 0x7FFF0011;
+    public static final int VariableNextDataGroup = 0x7F000011;
     public static final int DefaultPrinterResolutionID = 0x20100054;
     public static final int NumberOfPaddedALines = 0x00520038;
     public static final int ApprovalStatusDateTime = 0x00440004;
@@ -2490,7 +2490,7 @@ public final class DicomTags {
     public static final int ReferencedRTTreatmentPhaseIndex = 0x30100040;
     public static final int StartingRespiratoryAmplitude = 0x00209246;
     public static final int TransformOrderOfAxes = 0x00142226;
-    public static final int OverlayBitPosition = 0x60FF0102;
+    public static final int OverlayBitPosition = 0x60000102;
     public static final int AmplifierType = 0x0014400A;
     public static final int PatientSetupLabel = 0x300A0183;
     public static final int BulkMotionStatus = 0x00189166;
@@ -2552,7 +2552,7 @@ public final class DicomTags {
     public static final int ReceiverNotes = 0x0014400C;
     public static final int ReferencedGeneralPurposeScheduledProcedureStepSequence = 0x00404016;
     public static final int ReferencedDoseReferenceSequence = 0x300C0050;
-    public static final int OverlayBitsAllocated = 0x60FF0100;
+    public static final int OverlayBitsAllocated = 0x60000100;
     public static final int AnnotationGroupNumber = 0x0040A180;
     public static final int SpatialFilteringScheme = 0x00146053;
     public static final int TagThickness = 0x00189035;
@@ -2597,7 +2597,7 @@ public final class DicomTags {
     public static final int SpacingBetweenSlices = 0x00180088;
     public static final int ReferenceAirKermaRate = 0x300A022A;
     public static final int OptotypeDetailedDefinition = 0x00460139;
-    public static final int ImageFrameOrigin = 0x60FF0051;
+    public static final int ImageFrameOrigin = 0x60000051;
     public static final int ScheduledProtocolCodeSequence = 0x00400008;
     public static final int Component1ReferencedMatingFeatureID = 0x00760090;
     public static final int ItineraryIDType = 0x40101052;
@@ -2616,7 +2616,7 @@ public final class DicomTags {
     public static final int XRayOutput = 0x00400312;
     public static final int ReferencedSourceApplicatorNumber = 0x30080142;
     public static final int PulserType = 0x00144004;
-    public static final int OverlayPlaneOrigin = 0x60FF0052;
+    public static final int OverlayPlaneOrigin = 0x60000052;
     public static final int ScheduledProcedureStepID = 0x00400009;
     public static final int NumberOfPhaseEncodingSteps = 0x00180089;
     public static final int ROIElementalCompositionAtomicNumber = 0x300600B7;
@@ -2654,9 +2654,9 @@ public final class DicomTags {
     public static final int RefractiveIndexApplied = 0x0052003A;
     public static final int TickLabelAlignment = 0x00700279;
     public static final int ExtendedMatchingMechanisms = 0x0008040F;
-    public static final int CurveDataDescriptor = 0x50FF0110;
+    public static final int CurveDataDescriptor = 0x50000110;
     public static final int SourceStrength = 0x300A022B;
-    public static final int OverlayOrigin = 0x60FF0050;
+    public static final int OverlayOrigin = 0x60000050;
     public static final int HalfValueLayer = 0x00400314;
     public static final int ObservationSubjectClassTrial = 0x0040A403;
     public static final int StartAcquisitionDateTime = 0x00189516;
@@ -2674,7 +2674,7 @@ public final class DicomTags {
     public static final int ImagingFrequency = 0x00180084;
     public static final int TickAlignment = 0x00700274;
     public static final int BlendingLUT1TransferFunction = 0x00281405;
-    public static final int CoordinateStartValue = 0x50FF0112;
+    public static final int CoordinateStartValue = 0x50000112;
     public static final int RotationPoint = 0x00700273;
     public static final int ObservationSubjectUIDTrial = 0x0040A402;
     public static final int ROIPhysicalProperty = 0x300600B2;
@@ -2725,7 +2725,7 @@ public final class DicomTags {
     public static final int ROIPhysicalPropertiesSequence = 0x300600B0;
     public static final int EchoNumbers = 0x00180086;
     public static final int ExcitationSpectralWidth = 0x00189822;
-    public static final int CoordinateStepValue = 0x50FF0114;
+    public static final int CoordinateStepValue = 0x50000114;
     public static final int SecondaryPositionerIncrementSign = 0x00189519;
     public static final int PhaseDescription = 0x00540039;
     public static final int ReconstructionMethod = 0x00541103;
@@ -2897,7 +2897,7 @@ public final class DicomTags {
     public static final int SubjectLocation = 0x00160037;
     public static final int AcquisitionUID = 0x00080017;
     public static final int ApplicationSetupManufacturer = 0x300A0238;
-    public static final int CurveActivationLayer = 0x50FF1001;
+    public static final int CurveActivationLayer = 0x50001001;
     public static final int VolumeOfPTO = 0x40101023;
     public static final int SyntheticData = 0x0008001C;
     public static final int ScheduledStudyStopDate = 0x00321010;
@@ -3068,7 +3068,7 @@ public final class DicomTags {
     public static final int DetectorVector = 0x00540020;
     public static final int CenterOfPTO = 0x4010101C;
     public static final int ImageDataTypeCodeSequence = 0x00189836;
-    public static final int MinimumCoordinateValue = 0x50FF0104;
+    public static final int MinimumCoordinateValue = 0x50000104;
     public static final int LossyImageCompressionRetired = 0x00082110;
     public static final int TwoDPointCoordinates = 0x00686560;
     public static final int RelativeElevation = 0x00460252;
@@ -3077,17 +3077,17 @@ public final class DicomTags {
     public static final int RTImageFrameMVRadiationAcquisitionSequence = 0x3002010B;
     public static final int ThreeDMatingAxes = 0x006864D0;
     public static final int ScheduledStationClassCodeSequence = 0x00404026;
-    public static final int OverlayFormat = 0x60FF0110;
+    public static final int OverlayFormat = 0x60000110;
     public static final int CoordinateSystemAxisValues = 0x00142210;
     public static final int ImageTranslationVector = 0x00185212;
     public static final int ApplicableSafetyStandardAgency = 0x00189174;
     public static final int NumberOfDetectors = 0x00540021;
     public static final int PercentSampling = 0x00180093;
     public static final int BoundingPolygon = 0x4010101D;
-    public static final int CurveLabel = 0x50FF2500;
+    public static final int CurveLabel = 0x50002500;
     public static final int TopicKeywords = 0x00880912;
     public static final int GraphicLayerOrder = 0x00700062;
-    public static final int MaximumCoordinateValue = 0x50FF0105;
+    public static final int MaximumCoordinateValue = 0x50000105;
     public static final int TransducerOrientationSequence = 0x00082244;
     public static final int DerivationDescription = 0x00082111;
     public static final int RefractivePower = 0x00460251;
@@ -3108,7 +3108,7 @@ public final class DicomTags {
     public static final int SecondaryCountsType = 0x00541220;
     public static final int RouteSegmentStartLocationID = 0x4010101E;
     public static final int CompensatorDivergence = 0x300A02E0;
-    public static final int CurveRange = 0x50FF0106;
+    public static final int CurveRange = 0x50000106;
     public static final int FilterType = 0x00181160;
     public static final int ImageReceptorPositionSequence = 0x3002010E;
     public static final int TangentialPower = 0x00460250;
@@ -3211,7 +3211,7 @@ public final class DicomTags {
     public static final int OverlayDate = 0x00080024;
     public static final int ApplicationVersion = 0x00189525;
     public static final int PropertyLabel = 0x00142032;
-    public static final int OverlayCompressionDescription = 0x60FF0063;
+    public static final int OverlayCompressionDescription = 0x60000063;
     public static final int Acceleration = 0x00160034;
     public static final int CalibrationTime = 0x0014407C;
     public static final int DeliveredMeterset = 0x30080044;
@@ -3239,7 +3239,7 @@ public final class DicomTags {
     public static final int CumulativeDoseReferenceCoefficient = 0x300A010C;
     public static final int SourceRollAngle = 0x300A067A;
     public static final int HPGLDocument = 0x00686300;
-    public static final int OverlayCompressionOriginator = 0x60FF0061;
+    public static final int OverlayCompressionOriginator = 0x60000061;
     public static final int AlgorithmType = 0x00189527;
     public static final int ViewingDistanceType = 0x00460125;
     public static final int Pressure = 0x00160032;
@@ -3256,7 +3256,7 @@ public final class DicomTags {
     public static final int CurveDate = 0x00080025;
     public static final int ObservationDescription = 0x0082000A;
     public static final int ApplicatorDescription = 0x300A010A;
-    public static final int OverlayCompressionLabel = 0x60FF0062;
+    public static final int OverlayCompressionLabel = 0x60000062;
     public static final int AlgorithmDescription = 0x00189528;
     public static final int StartingMetersetValueKnownFlag = 0x300A0723;
     public static final int FractionPatternSequence = 0x30100079;
@@ -3267,7 +3267,7 @@ public final class DicomTags {
     public static final int InputInformationSequence = 0x00404021;
     public static final int ImageOrientationSlide = 0x00480102;
     public static final int CodeNumberFormat = 0x00280740;
-    public static final int OverlayRepeatInterval = 0x60FF0068;
+    public static final int OverlayRepeatInterval = 0x60000068;
     public static final int ImplantTypeCodeSequence = 0x006863A8;
     public static final int ResultsNormalsSequence = 0x00240064;
     public static final int GraphicLayerDescription = 0x00700068;
@@ -3276,7 +3276,7 @@ public final class DicomTags {
     public static final int BrachyPulseControlPointDeliveredSequence = 0x30080173;
     public static final int DevicePositionParameterSequence = 0x30020110;
     public static final int ControlPointDeliverySequence = 0x30080040;
-    public static final int OverlayActivationLayer = 0x60FF1001;
+    public static final int OverlayActivationLayer = 0x60001001;
     public static final int IntensifierSize = 0x00181162;
     public static final int Temperature = 0x00160030;
     public static final int BeamTaskSequence = 0x00741020;
@@ -3285,7 +3285,7 @@ public final class DicomTags {
     public static final int RespiratoryTriggerType = 0x00209250;
     public static final int BeamHardeningCorrectionTechnique = 0x00143101;
     public static final int RespiratoryMotionCompensationTechnique = 0x00189170;
-    public static final int OverlayBitsGrouped = 0x60FF0069;
+    public static final int OverlayBitsGrouped = 0x60000069;
     public static final int GraphicLayerRecommendedDisplayRGBValue = 0x00700067;
     public static final int OphthalmicAxialLengthDataSourceCodeSequence = 0x00221150;
     public static final int VisualFieldTestNormalsFlag = 0x00240063;
@@ -3300,7 +3300,7 @@ public final class DicomTags {
     public static final int ImagerPixelSpacing = 0x00181164;
     public static final int RespiratorySignalSource = 0x00189171;
     public static final int IlluminatorTypeCodeSequence = 0x00480100;
-    public static final int OverlayCompressionStepPointers = 0x60FF0066;
+    public static final int OverlayCompressionStepPointers = 0x60000066;
     public static final int FixationDeviceSequence = 0x300A0190;
     public static final int PredictorConstants = 0x00280082;
     public static final int PostDeformationMatrixRegistrationSequence = 0x00640010;
@@ -3322,7 +3322,7 @@ public final class DicomTags {
     public static final int PredictorColumns = 0x00280081;
     public static final int ClinicalTrialSponsorName = 0x00120010;
     public static final int ImagingSourceLocationSpecificationType = 0x30020111;
-    public static final int DataValueRepresentation = 0x50FF0103;
+    public static final int DataValueRepresentation = 0x50000103;
     public static final int TransducerOrientationModifierSequence = 0x00082246;
     public static final int PhotoacousticImageFrameTypeSequence = 0x00189835;
     public static final int SeriesDate = 0x00080021;
@@ -3349,7 +3349,7 @@ public final class DicomTags {
     public static final int XRay3DReconstructionSequence = 0x00189530;
     public static final int ConceptualVolumeTypeModifierCodeSequence = 0x3010006A;
     public static final int MRSpectroscopyFrameTypeSequence = 0x00189227;
-    public static final int SourceImageIDs = 0x002031FF;
+    public static final int SourceImageIDs = 0x00203100;
     public static final int ImagingDeviceLocationParameterSequence = 0x30020113;
     public static final int AbsoluteChannelDisplayScale = 0x003A0248;
     public static final int TimezoneOffsetFromUTC = 0x00080201;
@@ -3448,7 +3448,7 @@ public final class DicomTags {
     public static final int ShadowColorCIELabValue = 0x00700247;
     public static final int VolumeToTransducerMappingMatrix = 0x00209309;
     public static final int ObservationSubjectContextFlagTrial = 0x0040A600;
-    public static final int OverlayComments = 0x60FF4000;
+    public static final int OverlayComments = 0x60004000;
     public static final int TimeOfDocumentCreationOrVerbalTransactionTrial = 0x0040A112;
     public static final int YCoordinatesCenterPixelViewAngle = 0x00221529;
     public static final int DistanceObjectToTableTop = 0x00189403;
@@ -3467,7 +3467,7 @@ public final class DicomTags {
     public static final int MultiCoilElementUsed = 0x00189048;
     public static final int CalciumScoringMassFactorPatient = 0x00189351;
     public static final int ObserverContextFlagTrial = 0x0040A601;
-    public static final int CoefficientCodingPointers = 0x002804F3;
+    public static final int CoefficientCodingPointers = 0x00280403;
     public static final int TreatmentTerminationStatus = 0x3008002A;
     public static final int CompensatorRelativeStoppingPowerRatio = 0x300A02E7;
     public static final int ContainerComponentTypeCodeSequence = 0x00500012;
@@ -3570,7 +3570,7 @@ public final class DicomTags {
     public static final int PerformedProcedureCodeSequence = 0x0040A372;
     public static final int ScheduledProcedureStepStatus = 0x00400020;
     public static final int AbstractPriorValue = 0x0072003C;
-    public static final int RowsForNthOrderCoefficients = 0x002804F0;
+    public static final int RowsForNthOrderCoefficients = 0x00280400;
     public static final int FieldOfView = 0x00146027;
     public static final int TopicTitle = 0x00880904;
     public static final int VelocityOfSound = 0x00144064;
@@ -3586,7 +3586,7 @@ public final class DicomTags {
     public static final int IndicationROISequence = 0x0014201E;
     public static final int DetectorTemperature = 0x00187001;
     public static final int LUTFunction = 0x00289474;
-    public static final int ColumnsForNthOrderCoefficients = 0x002804F1;
+    public static final int ColumnsForNthOrderCoefficients = 0x00280401;
     public static final int DocumentAuthorIdentifierCodeSequenceTrial = 0x0040A068;
     public static final int IsocenterToCompensatorTrayDistance = 0x300A02E4;
     public static final int HorizontalPixelSize = 0x00146024;
@@ -3594,14 +3594,14 @@ public final class DicomTags {
     public static final int DigitalSignaturePurposeCodeSequence = 0x04000401;
     public static final int OtherSecondaryApprovalStatus = 0x00140108;
     public static final int KeratometricPower = 0x00460076;
-    public static final int OverlayLabel = 0x60FF1500;
+    public static final int OverlayLabel = 0x60001500;
     public static final int SubtaskWorkitemCodeSequence = 0x3002011B;
     public static final int TemplateType = 0x300A0242;
     public static final int ImagePositionVolume = 0x00209301;
     public static final int ReferencedRequestSequence = 0x0040A370;
     public static final int DetectorConditionsNominalFlag = 0x00187000;
     public static final int RelativeTimeUnits = 0x0072003A;
-    public static final int CoefficientCoding = 0x002804F2;
+    public static final int CoefficientCoding = 0x00280402;
     public static final int DocumentAuthorTrial = 0x0040A067;
     public static final int TotalCompensatorTrayWaterEquivalentThickness = 0x300A02E3;
     public static final int DataStreamingProtocol = 0x00146025;
@@ -3630,7 +3630,7 @@ public final class DicomTags {
     public static final int ReformattingOperationInitialViewDirection = 0x00720516;
     public static final int TreatmentPositionGroupUID = 0x300A0609;
     public static final int GeneratorPower = 0x00181170;
-    public static final int VariableCoefficientsSDDN = 0x7FFF0040;
+    public static final int VariableCoefficientsSDDN = 0x7F000040;
     public static final int ReferencedBaselineParametersRTRadiationInstanceSequence = 0x3002011E;
     public static final int NumberOfFrames = 0x00280008;
     public static final int KeratometerIndex = 0x00221033;
@@ -3675,7 +3675,7 @@ public final class DicomTags {
     public static final int DeviceDiameterUnits = 0x00500017;
     public static final int StartRespiratoryTriggerCountThreshold = 0x00189718;
     public static final int ImageDimensions = 0x00280005;
-    public static final int TotalTime = 0x50FF200A;
+    public static final int TotalTime = 0x5000200A;
     public static final int PositionAcquisitionTemplateIdentificationSequence = 0x3002011F;
     public static final int TemplateExtensionCreatorUID = 0x0040DB0D;
     public static final int ImageBoxContentSequence = 0x21300040;
@@ -3703,7 +3703,7 @@ public final class DicomTags {
     public static final int TherapeuticRoleCategoryCodeSequence = 0x30100064;
     public static final int ISOSpeedLatitudezzz = 0x0016001F;
     public static final int ContainerTypeCodeSequence = 0x00400518;
-    public static final int AudioSampleData = 0x50FF200C;
+    public static final int AudioSampleData = 0x5000200C;
     public static final int CoordinateSystemNumberOfAxes = 0x00142202;
     public static final int ShapeOfIndividualTurn = 0x00146031;
     public static final int VerifyingObserverSequence = 0x0040A073;
@@ -3739,7 +3739,7 @@ public final class DicomTags {
     public static final int CoordinateSystemAxesSequence = 0x00142204;
     public static final int RefractiveProcedureOccurred = 0x00221039;
     public static final int ISOSpeed = 0x0016001D;
-    public static final int AudioComments = 0x50FF200E;
+    public static final int AudioComments = 0x5000200E;
     public static final int Decoupling = 0x00189059;
     public static final int MultienergyCTAcquisitionSequence = 0x00189362;
     public static final int CalibrationSettingsSequence = 0x00144070;
@@ -3766,7 +3766,7 @@ public final class DicomTags {
     public static final int BlockColumns = 0x00280092;
     public static final int LineDashingStyle = 0x00700254;
     public static final int ObjectPixelSpacingInCenterOfBeam = 0x00189404;
-    public static final int SampleRate = 0x50FF2008;
+    public static final int SampleRate = 0x50002008;
     public static final int CornealPointEstimated = 0x00460248;
     public static final int CornealAxis = 0x00460115;
     public static final int ResidualSyringeCounts = 0x00540017;
@@ -3995,7 +3995,7 @@ public final class DicomTags {
     public static final int TopLeftHandCornerOfLocalizerArea = 0x00480201;
     public static final int OphthalmicVolumetricPropertiesFlag = 0x00221622;
     public static final int IonBlockSequence = 0x300A03A6;
-    public static final int AxisLabels = 0x50FF0040;
+    public static final int AxisLabels = 0x50000040;
     public static final int LensConstantSequence = 0x00221092;
     public static final int XRaySourceIsocenterPrimaryAngle = 0x00189543;
     public static final int ManipulatedImage = 0x00280050;
@@ -4017,7 +4017,7 @@ public final class DicomTags {
     public static final int ScreeningBaselineMeasuredSequence = 0x00240122;
     public static final int ThreatROIBase = 0x40101004;
     public static final int BottomRightHandCornerOfLocalizerArea = 0x00480202;
-    public static final int AudioType = 0x50FF2000;
+    public static final int AudioType = 0x50002000;
     public static final int ReferencedInstanceSequence = 0x0008114A;
     public static final int XRaySourceIsocenterSecondaryAngle = 0x00189544;
     public static final int ReferencedRTPlanSequence = 0x300C0002;
@@ -4047,7 +4047,7 @@ public final class DicomTags {
     public static final int BreastSupportIsocenterPrimaryAngle = 0x00189545;
     public static final int DigitalSignatureUID = 0x04000100;
     public static final int MaximumMemoryAllocation = 0x20000061;
-    public static final int NumberOfChannels = 0x50FF2004;
+    public static final int NumberOfChannels = 0x50002004;
     public static final int RecommendedLineThickness = 0x00660038;
     public static final int TableTopVerticalPosition = 0x300A0128;
     public static final int ContrastBolusIngredient = 0x00181048;
@@ -4055,7 +4055,7 @@ public final class DicomTags {
     public static final int RadionuclideCodeSequence = 0x00540300;
     public static final int IOLManufacturer = 0x00221093;
     public static final int ReferencedRTAccessoryHolderDeviceIndex = 0x300A060E;
-    public static final int AudioSampleFormat = 0x50FF2002;
+    public static final int AudioSampleFormat = 0x50002002;
     public static final int PatientBirthDate = 0x00100030;
     public static final int ScreeningBaselineMeasured = 0x00240120;
     public static final int DefaultMagnificationType = 0x201000A6;
@@ -4080,7 +4080,7 @@ public final class DicomTags {
     public static final int OphthalmicEnFaceVolumeDescriptorSequence = 0x00221627;
     public static final int ReferencedReferenceImageNumber = 0x300C0007;
     public static final int AdministrationRouteCodeSequence = 0x00540302;
-    public static final int NumberOfSamples = 0x50FF2006;
+    public static final int NumberOfSamples = 0x50002006;
     public static final int VisitComments = 0x00384000;
     public static final int EncapsulatedPixelDataValueTotalLength = 0x7FE00003;
     public static final int RenderedImageReferenceSequence = 0x00701104;
@@ -4265,7 +4265,7 @@ public final class DicomTags {
     public static final int KSpaceFiltering = 0x00189064;
     public static final int SnoutSequence = 0x300A030C;
     public static final int ProjectionEponymousNameCodeSequence = 0x00185104;
-    public static final int CurveReferencedOverlayGroup = 0x50FF2610;
+    public static final int CurveReferencedOverlayGroup = 0x50002610;
     public static final int SourceSeriesInformationSequence = 0x3006004C;
     public static final int StrainStockNumber = 0x00100214;
     public static final int AxialDetectorDimension = 0x00189727;
@@ -4376,7 +4376,7 @@ public final class DicomTags {
     public static final int ReferencedSOPClassUID = 0x00081150;
     public static final int ReferencedPatientAliasSequence = 0x00380004;
     public static final int DataSetSource = 0x00240308;
-    public static final int OverlaysBlue = 0x60FF1203;
+    public static final int OverlaysBlue = 0x60001203;
     public static final int ReferencedOverlayPlaneGroups = 0x20400011;
     public static final int LargestPixelValueInSeries = 0x00280109;
     public static final int RequestingPhysicianIdentificationSequence = 0x00321031;
@@ -4394,7 +4394,7 @@ public final class DicomTags {
     public static final int StrainSource = 0x00100217;
     public static final int FluenceMapSequence = 0x30020040;
     public static final int RTRadiationSequence = 0x300A0616;
-    public static final int OverlaysGreen = 0x60FF1202;
+    public static final int OverlaysGreen = 0x60001202;
     public static final int DataSetVersion = 0x00240307;
     public static final int SmallestPixelValueInSeries = 0x00280108;
     public static final int RequestingPhysician = 0x00321032;
@@ -4417,7 +4417,7 @@ public final class DicomTags {
     public static final int RadiationDoseIdentificationLabel = 0x300A0619;
     public static final int ModifiedImageID = 0x00203402;
     public static final int DataSetName = 0x00240306;
-    public static final int OverlaysRed = 0x60FF1201;
+    public static final int OverlaysRed = 0x60001201;
     public static final int SurfaceRegularityIndex = 0x00460230;
     public static final int LargestImagePixelValue = 0x00280107;
     public static final int CollimatorGridName = 0x00181180;
@@ -4436,7 +4436,7 @@ public final class DicomTags {
     public static final int RadiationDoseIdentificationSequence = 0x300A0618;
     public static final int StrainSourceRegistryCodeSequence = 0x00100215;
     public static final int OffsetDistance = 0x00189904;
-    public static final int OverlaysGray = 0x60FF1200;
+    public static final int OverlaysGray = 0x60001200;
     public static final int ModifyingDeviceID = 0x00203401;
     public static final int SmallestImagePixelValue = 0x00280106;
     public static final int VibrationExcitationVoltage = 0x0014601A;
@@ -4673,7 +4673,7 @@ public final class DicomTags {
     public static final int InterventionStatus = 0x00180038;
     public static final int VisualAcuityMeasurementSequence = 0x00240110;
     public static final int ATDAssessmentProbability = 0x40101016;
-    public static final int OverlayData = 0x60FF3000;
+    public static final int OverlayData = 0x60003000;
     public static final int PotentialDiagnosticTasks = 0x0018990A;
     public static final int FontName = 0x00700227;
     public static final int WedgeManufacturerName = 0x00145110;
@@ -4696,7 +4696,7 @@ public final class DicomTags {
     public static final int WedgeTotalLength = 0x00145115;
     public static final int RTPlanTime = 0x300A0007;
     public static final int ContraindicationsCodeSequence = 0x0018990B;
-    public static final int AxisUnits = 0x50FF0030;
+    public static final int AxisUnits = 0x50000030;
     public static final int SexParametersForClinicalUseCategorySequence = 0x00100043;
     public static final int EnergyWindowCenterline = 0x00180032;
     public static final int AcquisitionProtocolDescription = 0x00189424;
@@ -4945,7 +4945,7 @@ public final class DicomTags {
     public static final int TableTopPitchAngle = 0x300A0140;
     public static final int TwoDPlaneIntersection = 0x006865F0;
     public static final int LocalDeviationProbabilityNormalsFlag = 0x00240072;
-    public static final int OverlayPlanes = 0x60FF0012;
+    public static final int OverlayPlanes = 0x60000012;
     public static final int MaterialPropertiesDescription = 0x00140044;
     public static final int DiffusionGradientDirectionSequence = 0x00189076;
     public static final int RouteSegmentSequence = 0x4010100A;
@@ -4990,7 +4990,7 @@ public final class DicomTags {
     public static final int ParallelAcquisitionTechnique = 0x00189078;
     public static final int PrescriptionNotesSequence = 0x30100081;
     public static final int DisplayedAreaBottomRightHandCorner = 0x00700053;
-    public static final int CurveReferencedOverlaySequence = 0x50FF2600;
+    public static final int CurveReferencedOverlaySequence = 0x50002600;
     public static final int PatientSpecificationSequence = 0x00189911;
     public static final int AdmissionID = 0x00380010;
     public static final int PupilSize = 0x00460044;
@@ -5011,7 +5011,7 @@ public final class DicomTags {
     public static final int ProcedureCodeSequence = 0x00081032;
     public static final int PrimaryAnatomicStructureModifierSequence = 0x00082230;
     public static final int InversionTimes = 0x00189079;
-    public static final int OverlayColumns = 0x60FF0011;
+    public static final int OverlayColumns = 0x60000011;
     public static final int GeneticModificationsDescription = 0x00100222;
     public static final int WholeSlideMicroscopyImageFrameTypeSequence = 0x00400710;
     public static final int RelativeURIReferenceWithinEncapsulatedDocument = 0x00687005;
@@ -5021,7 +5021,7 @@ public final class DicomTags {
     public static final int ModelSpecificationSequence = 0x00189912;
     public static final int IssuerOfAdmissionID = 0x00380011;
     public static final int WedgeRearHeight = 0x0014511A;
-    public static final int OverlayRows = 0x60FF0010;
+    public static final int OverlayRows = 0x60000010;
     public static final int NominalInterval = 0x00181062;
     public static final int PrimaryFluenceModeSequence = 0x30020050;
     public static final int TrackingID = 0x00620020;
@@ -5077,7 +5077,7 @@ public final class DicomTags {
     public static final int HistogramLastBinValue = 0x00603006;
     public static final int VectorDimensionality = 0x0066001F;
     public static final int ASLSlabNumber = 0x00189253;
-    public static final int NumberOfFramesInOverlay = 0x60FF0015;
+    public static final int NumberOfFramesInOverlay = 0x60000015;
     public static final int AnimationStepSize = 0x00701A05;
     public static final int RenderFieldOfView = 0x00701606;
     public static final int RecordedSourceSequence = 0x30080100;
@@ -5094,10 +5094,10 @@ public final class DicomTags {
     public static final int ProtocolPlanningInformation = 0x0018990F;
     public static final int SexParametersForClinicalUseCategoryReference = 0x00100047;
     public static final int CineRate = 0x00180040;
-    public static final int OverlayCodeLabel = 0x60FF0800;
+    public static final int OverlayCodeLabel = 0x60000800;
     public static final int RotationAngle = 0x00700230;
     public static final int WedgeFrontHeight = 0x00145119;
-    public static final int CurveDescription = 0x50FF0022;
+    public static final int CurveDescription = 0x50000022;
     public static final int RTPlanGeometry = 0x300A000C;
     public static final int OphthalmicEnFaceVolumeDescriptorScope = 0x00221629;
     public static final int DisplaySetVerticalJustification = 0x00720718;
@@ -5176,7 +5176,7 @@ public final class DicomTags {
     public static final int RecordedLateralSpreadingDeviceSequence = 0x300800F4;
     public static final int EquivalentCDADocumentSequence = 0x0040A090;
     public static final int GeneticModificationsSequence = 0x00100221;
-    public static final int OverlayBitsForCodeWord = 0x60FF0804;
+    public static final int OverlayBitsForCodeWord = 0x60000804;
     public static final int AlternateBeamDose = 0x300A0091;
     public static final int ShortTermFluctuationProbabilityCalculated = 0x00240076;
     public static final int CommentsOnTheScheduledProcedureStep = 0x00400400;
@@ -5215,7 +5215,7 @@ public final class DicomTags {
     public static final int DepthValueAveragingFlag = 0x300A0093;
     public static final int WaveformDisplayBackgroundCIELabValue = 0x003A0231;
     public static final int PlanIntent = 0x300A000A;
-    public static final int OverlayNumberOfTables = 0x60FF0802;
+    public static final int OverlayNumberOfTables = 0x60000802;
     public static final int ShortTermFluctuationCalculated = 0x00240074;
     public static final int PerimeterTable = 0x00280070;
     public static final int VectorAccuracy = 0x00660020;
@@ -5237,7 +5237,7 @@ public final class DicomTags {
     public static final int OphthalmicAxialLengthMeasurementModified = 0x00221140;
     public static final int LocalizedDeviationProbability = 0x00240073;
     public static final int OphthalmicAxialLengthQualityMetricTypeDescription = 0x00221273;
-    public static final int OverlayCodeTableLocation = 0x60FF0803;
+    public static final int OverlayCodeTableLocation = 0x60000803;
     public static final int DisplaySetHorizontalJustification = 0x00720717;
     public static final int RegionPixelShiftSequence = 0x00289502;
     public static final int DiffusionBValueYY = 0x00189605;
@@ -18,6 +18,12 @@ public class GenerateDicomTagsTest {
             
             System.out.println("DicomTags.java文件生成完成!");
             
+            // 同时生成预编译字典映像（写到临时目录，构建时的映像由GenerateDictionaryImage放入类路径）
+            System.out.println("正在生成dicom.bin字典映像...");
+            java.io.File image = new java.io.File(System.getProperty("java.io.tmpdir"), "dicom.bin");
+            dict.GenerateDictionaryImage(image.getPath());
+            image.deleteOnExit();
+            
         } catch (Exception e) {
             System.err.println("生成过程中出现错误: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,22 @@
+package com.dicom.dictionary;
+
+/**
+ * 预编译字典映像生成程序
+ * 构建时由Maven在process-classes阶段调用，把dicom.dic编译为dicom.bin放入类路径
+ *
+ * 用法：GenerateDictionaryImage [dicom.dic路径] [输出路径]
+ * 省略参数时从类路径读取dicom.dic，输出到当前目录的dicom.bin
+ */
+public class GenerateDictionaryImage {
+    public static void main(String[] args) {
+        DicomDictionary dict;
+        if (args.length > 0) {
+            dict = new DicomDictionary(args[0]);
+        } else {
+            dict = DicomDictionary.loadFromClasspath();
+        }
+        
+        String outputPath = args.length > 1 ? args[1] : "dicom.bin";
+        dict.GenerateDictionaryImage(outputPath);
+    }
+}
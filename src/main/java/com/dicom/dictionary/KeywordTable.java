@@ -0,0 +1,221 @@
+package com.dicom.dictionary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 关键字完美散列表
+ * 采用"散列-位移"法：关键字先按种子0散列到桶，每个桶有一个位移值d，
+ * 桶内关键字以d为种子再次散列得到槽位，构造时为每个桶选取使所有槽位互不冲突的d。
+ * 查找时固定两次散列、一次字符串比较，不分配任何对象。
+ * 位移表可随预编译字典映像保存，加载时直接使用，免去重新搜索。
+ */
+final class KeywordTable {
+    private final int[] displacements;            // 每个桶的位移值
+    private final String[] keywords;              // 槽位上的关键字，null表示空槽
+    private final int[] tags;                     // 与keywords并行的整数标签
+    private final DicomDictionaryEntry[] entries; // 与keywords并行的条目
+    private final int bucketMask;                 // 桶数-1
+    private final int slotMask;                   // 槽数-1
+
+    private KeywordTable(int[] displacements, int slotCount) {
+        this.displacements = displacements;
+        this.keywords = new String[slotCount];
+        this.tags = new int[slotCount];
+        this.entries = new DicomDictionaryEntry[slotCount];
+        this.bucketMask = displacements.length - 1;
+        this.slotMask = slotCount - 1;
+    }
+
+    /**
+     * 散列函数：以seed为种子的FNV-1a，最后做一次混合
+     */
+    static int hash(CharSequence s, int seed) {
+        int h = (seed * 0x9E3779B9) ^ 0x811C9DC5;
+        for (int i = 0; i < s.length(); i++) {
+            h = (h ^ s.charAt(i)) * 0x01000193;
+        }
+        h ^= h >>> 15;
+        h *= 0x2C1B3C6D;
+        h ^= h >>> 12;
+        return h;
+    }
+
+    /**
+     * 构造关键字表
+     * @param tags 整数标签
+     * @param entries 字典条目
+     * @param count 有效元素个数
+     * @param displacements 已知的位移表（来自字典映像），为null或不适用时重新计算
+     * @return 关键字表
+     */
+    static KeywordTable build(int[] tags, DicomDictionaryEntry[] entries, int count, int[] displacements) {
+        // 收集关键字；同一关键字出现多次时优先未退役条目，其次标签较小者
+        Map<String, Integer> unique = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String keyword = entries[i].getKeyword();
+            if (keyword == null || keyword.isEmpty()) {
+                continue;
+            }
+            Integer prev = unique.get(keyword);
+            if (prev == null) {
+                unique.put(keyword, i);
+                order.add(keyword);
+            } else if (preferred(entries[i], tags[i], entries[prev], tags[prev])) {
+                unique.put(keyword, i);
+            }
+        }
+
+        int n = order.size();
+        int slotCount = 16;
+        while (slotCount < n + n / 2) {
+            slotCount <<= 1;
+        }
+        int bucketCount = 4;
+        while (bucketCount < n / 4) {
+            bucketCount <<= 1;
+        }
+
+        if (displacements != null && displacements.length == bucketCount) {
+            KeywordTable table = new KeywordTable(displacements, slotCount);
+            if (table.place(order, unique, tags, entries)) {
+                return table;
+            }
+        }
+        KeywordTable table = new KeywordTable(search(order, bucketCount, slotCount), slotCount);
+        table.place(order, unique, tags, entries);
+        return table;
+    }
+
+    /**
+     * 重复关键字时是否以候选条目替换现有条目
+     */
+    private static boolean preferred(DicomDictionaryEntry candidate, int candidateTag,
+                                     DicomDictionaryEntry current, int currentTag) {
+        boolean candidateRetired = isRetired(candidate);
+        if (candidateRetired != isRetired(current)) {
+            return !candidateRetired;
+        }
+        return Integer.compareUnsigned(candidateTag, currentTag) < 0;
+    }
+
+    private static boolean isRetired(DicomDictionaryEntry entry) {
+        return entry.getRetired() != null && !entry.getRetired().trim().isEmpty();
+    }
+
+    /**
+     * 为每个桶搜索位移值，桶按大小从大到小处理
+     */
+    private static int[] search(List<String> keys, int bucketCount, int slotCount) {
+        List<List<String>> buckets = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            buckets.add(new ArrayList<String>());
+        }
+        for (String key : keys) {
+            buckets.get(hash(key, 0) & (bucketCount - 1)).add(key);
+        }
+        Integer[] byOrder = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; b++) {
+            byOrder[b] = b;
+        }
+        java.util.Arrays.sort(byOrder, (a, c) -> buckets.get(c).size() - buckets.get(a).size());
+
+        int[] displacements = new int[bucketCount];
+        boolean[] used = new boolean[slotCount];
+        int[] slots = new int[64];
+        for (int b : byOrder) {
+            List<String> bucket = buckets.get(b);
+            if (bucket.isEmpty()) {
+                break;
+            }
+            if (slots.length < bucket.size()) {
+                slots = new int[bucket.size()];
+            }
+            for (int d = 1; ; d++) {
+                boolean ok = true;
+                int placed = 0;
+                for (String key : bucket) {
+                    int slot = hash(key, d) & (slotCount - 1);
+                    if (used[slot]) {
+                        ok = false;
+                        break;
+                    }
+                    used[slot] = true;
+                    slots[placed++] = slot;
+                }
+                if (ok) {
+                    displacements[b] = d;
+                    break;
+                }
+                for (int k = 0; k < placed; k++) {
+                    used[slots[k]] = false;
+                }
+            }
+        }
+        return displacements;
+    }
+
+    /**
+     * 按位移表放置关键字
+     * @return 位移表不适用（出现冲突）时返回false
+     */
+    private boolean place(List<String> keys, Map<String, Integer> unique, int[] tagArray,
+                          DicomDictionaryEntry[] entryArray) {
+        for (String key : keys) {
+            int slot = slotOf(key);
+            if (keywords[slot] != null) {
+                java.util.Arrays.fill(keywords, null);
+                return false;
+            }
+            int i = unique.get(key);
+            keywords[slot] = key;
+            tags[slot] = tagArray[i];
+            entries[slot] = entryArray[i];
+        }
+        return true;
+    }
+
+    private int slotOf(CharSequence keyword) {
+        return hash(keyword, displacements[hash(keyword, 0) & bucketMask]) & slotMask;
+    }
+
+    /**
+     * 查找关键字所在槽位
+     * @return 槽位，不存在时返回-1
+     */
+    private int find(CharSequence keyword) {
+        int slot = slotOf(keyword);
+        String stored = keywords[slot];
+        return stored != null && stored.contentEquals(keyword) ? slot : -1;
+    }
+
+    /**
+     * 根据关键字查询整数标签
+     * @param keyword 关键字
+     * @return 标签，不存在时返回-1
+     */
+    int getTag(CharSequence keyword) {
+        int slot = find(keyword);
+        return slot >= 0 ? tags[slot] : -1;
+    }
+
+    /**
+     * 根据关键字查询字典条目
+     * @param keyword 关键字
+     * @return 字典条目，不存在时返回null
+     */
+    DicomDictionaryEntry get(CharSequence keyword) {
+        int slot = find(keyword);
+        return slot >= 0 ? entries[slot] : null;
+    }
+
+    /**
+     * 获取位移表（写入字典映像用）
+     */
+    int[] getDisplacements() {
+        return displacements;
+    }
+}
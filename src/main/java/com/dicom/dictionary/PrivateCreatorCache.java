@@ -0,0 +1,89 @@
+package com.dicom.dictionary;
+
+/**
+ * 数据集内私有创建者块的缓存
+ * 解析数据集时遇到私有创建者元素(gggg,00bb)，只在私有字典中解析一次，
+ * 把 (组号, 块号bb) 映射到对应的256项条目块；之后该块内的私有元素(gggg,bbee)
+ * 只需找到块再按ee做一次数组索引。每个数据集（条目）各有一个缓存，
+ * 因为私有块号的分配只在本数据集内有效。
+ */
+public final class PrivateCreatorCache {
+    private final PrivateDictionary dictionary;
+    private int[] keys = new int[8];                                   // 组号 << 8 | 块号
+    private DicomDictionaryEntry[][] blocks = new DicomDictionaryEntry[8][];
+    private int count;                                                 // 已登记的块数
+    private int lastKey = -1;                                          // 最近命中的块，连续的私有元素通常属于同一块
+    private DicomDictionaryEntry[] lastBlock;
+
+    /**
+     * 使用共享私有字典构造
+     */
+    public PrivateCreatorCache() {
+        this(PrivateDictionary.getInstance());
+    }
+
+    /**
+     * 构造函数
+     * @param dictionary 私有字典
+     */
+    public PrivateCreatorCache(PrivateDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * 登记私有创建者元素
+     * @param group 组号
+     * @param etag 私有创建者元素号 (0x0010-0x00FF)
+     * @param creator 私有创建者字符串
+     */
+    public void addCreator(int group, int etag, String creator) {
+        int key = ((group & 0xFFFF) << 8) | (etag & 0xFF);
+        DicomDictionaryEntry[] block = dictionary.getBlock(creator, group);
+        lastKey = -1;
+        lastBlock = null;
+        for (int i = 0; i < count; i++) {
+            if (keys[i] == key) {
+                blocks[i] = block;
+                return;
+            }
+        }
+        if (count == keys.length) {
+            keys = java.util.Arrays.copyOf(keys, count * 2);
+            blocks = java.util.Arrays.copyOf(blocks, count * 2);
+        }
+        keys[count] = key;
+        blocks[count] = block;
+        count++;
+    }
+
+    /**
+     * 查询私有数据元素
+     * @param group 组号
+     * @param etag 元素号 (0x1000-0xFFFF)
+     * @return 字典条目，创建者未登记或字典中没有时返回null
+     */
+    public DicomDictionaryEntry lookup(int group, int etag) {
+        int key = ((group & 0xFFFF) << 8) | ((etag >> 8) & 0xFF);
+        if (key != lastKey) {
+            DicomDictionaryEntry[] found = null;
+            for (int i = 0; i < count; i++) {
+                if (keys[i] == key) {
+                    found = blocks[i];
+                    break;
+                }
+            }
+            lastKey = key;
+            lastBlock = found;
+        }
+        return lastBlock != null ? lastBlock[etag & 0xFF] : null;
+    }
+
+    /**
+     * 清空缓存（重新解析数据集时调用）
+     */
+    public void clear() {
+        count = 0;
+        lastKey = -1;
+        lastBlock = null;
+    }
+}
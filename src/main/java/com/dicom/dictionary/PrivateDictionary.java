@@ -0,0 +1,214 @@
+package com.dicom.dictionary;
+
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DICOM私有数据字典类
+ * 私有数据元素（奇数组）的含义由私有创建者(gggg,0010-00FF)的字符串决定，
+ * 同一元素号在不同厂商下含义不同，因此以 (创建者, 组号, 元素号低字节) 为键。
+ * 每个 (创建者, 组号) 对应一个256项的条目块，按元素号低字节直接索引。
+ *
+ * 字典文件每行格式（制表符分隔）：
+ * (gggg,xxee)  创建者  名称  关键字  VR  VM
+ */
+public class PrivateDictionary {
+
+    /**
+     * 类路径上的默认私有字典资源
+     */
+    private static final String RESOURCE = "com/dicom/dictionary/private.dic";
+
+    /**
+     * 条目块：键为 创建者 + 组号，值为按元素号低字节索引的256项数组
+     */
+    private final Map<String, DicomDictionaryEntry[]> blocks;
+
+    /**
+     * 条目总数
+     */
+    private int size;
+
+    /**
+     * 是否为只读字典（共享实例加载后冻结）
+     */
+    private boolean readOnly;
+
+    /**
+     * 共享实例的延迟加载持有类
+     */
+    private static class SharedHolder {
+        static final PrivateDictionary INSTANCE = createShared();
+    }
+
+    /**
+     * 默认构造函数
+     */
+    public PrivateDictionary() {
+        this.blocks = new HashMap<>();
+    }
+
+    /**
+     * 获取进程共享的只读私有字典实例
+     * @return 共享私有字典实例
+     */
+    public static PrivateDictionary getInstance() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * 创建共享私有字典：加载类路径上的private.dic，加载后冻结为只读
+     */
+    private static PrivateDictionary createShared() {
+        PrivateDictionary shared = new PrivateDictionary();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        InputStream is = classLoader.getResourceAsStream(RESOURCE);
+        if (is == null) {
+            System.err.println("未找到私有字典资源: " + RESOURCE);
+        } else {
+            try {
+                shared.load(is);
+            } catch (IOException e) {
+                System.err.println("加载私有字典失败: " + e.getMessage());
+            } finally {
+                try {
+                    is.close();
+                } catch (IOException e) {
+                    // 忽略关闭异常
+                }
+            }
+        }
+        shared.readOnly = true;
+        return shared;
+    }
+
+    /**
+     * 从文件加载私有字典条目（追加到现有条目）
+     * @param filePath 字典文件路径
+     * @throws IOException 读文件出错
+     */
+    public void load(String filePath) throws IOException {
+        InputStream is = new FileInputStream(filePath);
+        try {
+            load(is);
+        } finally {
+            is.close();
+        }
+    }
+
+    /**
+     * 从输入流加载私有字典条目（追加到现有条目）
+     * @param is 输入流，UTF-8编码
+     * @throws IOException 读流出错
+     */
+    public void load(InputStream is) throws IOException {
+        if (readOnly) {
+            throw new IllegalStateException("共享私有字典为只读，不能重新加载");
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, "UTF-8"));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            // 跳过空行和注释行
+            if (line.trim().isEmpty() || line.trim().startsWith("//")) {
+                continue;
+            }
+            try {
+                parseLine(line);
+            } catch (Exception e) {
+                System.err.println("解析私有字典第" + lineNumber + "行时出错: " + line);
+            }
+        }
+    }
+
+    /**
+     * 解析一行私有字典数据
+     */
+    private void parseLine(String line) {
+        String[] parts = line.split("\t");
+        if (parts.length < 5) {
+            return; // 数据不完整
+        }
+        String tagStr = parts[0].trim();
+        if (!tagStr.startsWith("(") || !tagStr.endsWith(")") || tagStr.length() != 11) {
+            return;
+        }
+        String gtag = tagStr.substring(1, 5);
+        String etag = tagStr.substring(6, 10);
+        int group = Integer.parseInt(gtag, 16);
+        int elementByte = Integer.parseInt(etag.substring(2), 16);
+        String creator = parts[1].trim();
+        String vm = parts.length > 5 ? parts[5].trim() : "1";
+
+        DicomDictionaryEntry entry = new DicomDictionaryEntry(gtag, etag, parts[2].trim(),
+                parts[3].trim(), parts[4].trim(), vm, "");
+        entry.freeze();
+        add(creator, group, elementByte, entry);
+    }
+
+    /**
+     * 添加一条私有条目
+     * @param creator 私有创建者字符串
+     * @param group 组号（奇数）
+     * @param elementByte 元素号低字节 (0x00-0xFF)
+     * @param entry 字典条目
+     */
+    public void add(String creator, int group, int elementByte, DicomDictionaryEntry entry) {
+        if (readOnly) {
+            throw new IllegalStateException("共享私有字典为只读，不能修改");
+        }
+        String key = blockKey(creator, group);
+        DicomDictionaryEntry[] block = blocks.get(key);
+        if (block == null) {
+            block = new DicomDictionaryEntry[256];
+            blocks.put(key, block);
+        }
+        if (block[elementByte & 0xFF] == null) {
+            size++;
+        }
+        block[elementByte & 0xFF] = entry;
+    }
+
+    /**
+     * 获取私有创建者在指定组中的条目块
+     * 解析数据集时每个私有创建者元素只需调用一次，之后按元素号低字节直接索引块数组
+     * @param creator 私有创建者字符串（首尾空格会被忽略）
+     * @param group 组号
+     * @return 256项的条目块，未知创建者返回null；返回的数组不应被修改
+     */
+    public DicomDictionaryEntry[] getBlock(String creator, int group) {
+        if (creator == null) {
+            return null;
+        }
+        return blocks.get(blockKey(creator.trim(), group));
+    }
+
+    /**
+     * 查询单个私有数据元素
+     * @param creator 私有创建者字符串
+     * @param group 组号
+     * @param elementByte 元素号低字节
+     * @return 字典条目，不存在时返回null
+     */
+    public DicomDictionaryEntry lookup(String creator, int group, int elementByte) {
+        DicomDictionaryEntry[] block = getBlock(creator, group);
+        return block != null ? block[elementByte & 0xFF] : null;
+    }
+
+    /**
+     * 获取条目总数
+     * @return 条目数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 条目块的键
+     */
+    private static String blockKey(String creator, int group) {
+        return creator + '\0' + (group & 0xFFFF);
+    }
+}
@@ -0,0 +1,84 @@
+package com.dicom.dictionary;
+
+/**
+ * 整数标签散列表
+ * 以 (组号 << 16 | 元素号) 为键的开放寻址表（线性探测），
+ * 键和条目分别存放在并行数组中，查找过程不分配任何对象
+ */
+final class TagTable {
+    private final int[] keys;                     // 标签键
+    private final DicomDictionaryEntry[] entries; // 与keys并行的条目数组，null表示空槽
+    private final int mask;                       // 容量-1，容量为2的幂
+    private final int shift;                      // 32-log2(容量)，散列时取乘积的高位
+    private int size;                             // 已存放条目数
+
+    /**
+     * 构造函数
+     * @param expectedSize 预计存放的条目数
+     */
+    TagTable(int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new int[capacity];
+        this.entries = new DicomDictionaryEntry[capacity];
+        this.mask = capacity - 1;
+        this.shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * 散列函数：斐波那契散列，取乘积高位作为槽位
+     * 低位只由标签低位决定，直接取低位会让不同组的相同元素号聚集
+     */
+    private int hash(int tag) {
+        return (tag * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * 放入条目，相同标签的旧条目会被替换
+     * @param tag 整数标签
+     * @param entry 字典条目
+     */
+    void put(int tag, DicomDictionaryEntry entry) {
+        int i = hash(tag);
+        while (entries[i] != null) {
+            if (keys[i] == tag) {
+                entries[i] = entry;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        if (size * 2 >= keys.length) {
+            throw new IllegalStateException("标签表容量不足: " + size);
+        }
+        keys[i] = tag;
+        entries[i] = entry;
+        size++;
+    }
+
+    /**
+     * 查找条目
+     * @param tag 整数标签
+     * @return 字典条目，不存在时返回null
+     */
+    DicomDictionaryEntry get(int tag) {
+        int i = hash(tag);
+        DicomDictionaryEntry entry;
+        while ((entry = entries[i]) != null) {
+            if (keys[i] == tag) {
+                return entry;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * 获取条目数
+     * @return 条目数
+     */
+    int size() {
+        return size;
+    }
+}
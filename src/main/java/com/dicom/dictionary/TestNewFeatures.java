@@ -78,14 +78,7 @@ public class TestNewFeatures {
     private static void testDCMDataSetNewMethods() {
         System.out.println("3. 测试 DCMDataSet 新方法:");
           try {            // 创建一个模拟的传输语法对象
-            TransferSyntax ts = new TransferSyntax() {
-                {
-                    this.name = "Implicit VR Little Endian";
-                    this.uid = "1.2.840.10008.1.2";
-                    this.isBE = false;
-                    this.isExplicit = false;
-                }
-                
+            TransferSyntax ts = new TransferSyntax("1.2.840.10008.1.2", "Implicit VR Little Endian", false, false) {
                 @Override
                 protected DCMAbstractType Decode(com.dicom.transfersyntax.DicomByteBuffer buff) {
                     // 简单的模拟实现，仅用于测试
@@ -108,7 +101,7 @@ public class TestNewFeatures {
             element1.name = "Patient's Weight";
             element1.vr = "DS";
             element1.vm = "1";
-            element1.value = "70.5".getBytes();
+            element1.setValueBytes("70.5".getBytes());
             
             DCMDataElement element2 = new DCMDataElement(ts);
             element2.gtag = 0x0028;
@@ -116,7 +109,7 @@ public class TestNewFeatures {
             element2.name = "Rescale Slope";
             element2.vr = "DS";
             element2.vm = "1";
-            element2.value = "1.0".getBytes();
+            element2.setValueBytes("1.0".getBytes());
             
             // 添加到数据集
             dataSet.addItem(element1);
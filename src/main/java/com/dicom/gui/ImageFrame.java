@@ -1,7 +1,6 @@
 package com.dicom.gui;
 
 import com.dicom.data.DCMFile;
-import com.dicom.data.DCMDataElement;
 import com.dicom.dictionary.DicomTags;
 import com.dicom.application.ThreadTester;
 import com.dicom.application.CustomMouseListener;
@@ -12,6 +11,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
 import java.io.File;
+import java.nio.ByteBuffer;
 
 /**
  * ImageFrame类用于显示DICOM医学图像
@@ -402,7 +402,7 @@ public class ImageFrame extends JFrame {
                 metadata.append("建议窗位: ").append(windowCenter).append("\n");
                 // 更新滑块默认值和文本框
                 try {
-                    center = convertToInt(windowCenter);
+                    center = (int) Math.round(dcmFile.getDouble(DicomTags.WindowCenter, center));
                     windowCenterSlider.setValue(center);
                     textCenter.setText(center.toString());
                 } catch (Exception ignored) {}
@@ -411,19 +411,20 @@ public class ImageFrame extends JFrame {
                 System.out.println("建议窗宽: " + windowWidth);
                 metadata.append("建议窗宽: ").append(windowWidth).append("\n");
                 try {
-                    window = convertToInt(windowWidth);
+                    window = (int) Math.round(dcmFile.getDouble(DicomTags.WindowWidth, window));
                     windowWidthSlider.setValue(window);
                     textWindow.setText(window.toString());
                 } catch (Exception ignored) {}
             }
             
-            // 检查像素数据
-            Object pixelData = dcmFile.GetValue(DicomTags.PixelData);
+            // 检查像素数据：只查看值域视图，不复制
+            ByteBuffer pixelData = dcmFile.getValueBuffer(DicomTags.PixelData);
             metadata.append("\n=== 像素数据 ===\n");
             if (pixelData != null) {
-                System.out.println("像素数据类型: " + pixelData.getClass().getName());
+                String pixelVR = dcmFile.GetVR(DicomTags.PixelData);
+                System.out.println("像素数据VR: " + pixelVR + ", 长度: " + pixelData.remaining());
                 metadata.append("像素数据: 存在\n");
-                metadata.append("数据类型: ").append(pixelData.getClass().getSimpleName()).append("\n");
+                metadata.append("数据类型: ").append(pixelVR).append(" ").append(pixelData.remaining()).append(" bytes\n");
             } else {
                 System.out.println("警告: 未找到像素数据");
                 metadata.append("像素数据: 未找到\n");
@@ -482,44 +483,25 @@ public class ImageFrame extends JFrame {
             throw new Exception("无效的图像尺寸: " + rows + "x" + columns);
         }
           
-        // 获取像素数据
-        Object pixelData = dcmFile.GetValue(DicomTags.PixelData);
-        System.out.println("像素数据获取结果: " + (pixelData != null ? "成功" : "失败"));
+        // 获取像素数据：只读视图，字节序与传输语法一致，不复制（文件映射时直接读取映射）
+        ByteBuffer pixelBytes = dcmFile.getValueBuffer(DicomTags.PixelData);
+        System.out.println("像素数据获取结果: " + (pixelBytes != null ? "成功" : "失败"));
         
-        if (pixelData == null) {
+        if (pixelBytes == null) {
             throw new Exception("未找到像素数据");
         }
-        
-        System.out.println("像素数据类型: " + pixelData.getClass().getName());
+        if (pixelBytes.remaining() == 0) {
+            throw new Exception("像素数据为空");
+        }
+        System.out.println("像素数据长度: " + pixelBytes.remaining() + " bytes");
           
         // 获取位深度
-        Object bitsAllocatedObj = dcmFile.GetValue(DicomTags.BitsAllocated);
-        int bitsAllocated = 16; // 默认16位
-        if (bitsAllocatedObj != null) {
-            bitsAllocated = convertToInt(bitsAllocatedObj);
-        }
+        int bitsAllocated = dcmFile.getInt(DicomTags.BitsAllocated, 16); // 默认16位
         System.out.println("位深度: " + bitsAllocated + " bits");
-            
-        byte[] pixelBytes;
-        if (pixelData instanceof DCMDataElement) {
-            // 直接从DCMDataElement的value字段获取像素数据
-            DCMDataElement pixelElement = (DCMDataElement) pixelData;
-            pixelBytes = pixelElement.value;
-            if (pixelBytes == null) {
-                throw new Exception("像素数据为空");
-            }
-            System.out.println("像素数据长度: " + pixelBytes.length + " bytes");
-        } else if (pixelData instanceof byte[]) {
-            // 直接处理字节数组类型的像素数据
-            pixelBytes = (byte[]) pixelData;
-            System.out.println("像素数据长度: " + pixelBytes.length + " bytes");
-        } else {
-            throw new Exception("不支持的像素数据类型: " + pixelData.getClass());
-        }
         
         // 检查数据长度是否合理
         int expectedLength = rows * columns * (bitsAllocated / 8);
-        System.out.println("期望像素数据长度: " + expectedLength + " bytes, 实际长度: " + pixelBytes.length + " bytes");
+        System.out.println("期望像素数据长度: " + expectedLength + " bytes, 实际长度: " + pixelBytes.remaining() + " bytes");
         
         // 创建BufferedImage
         System.out.println("创建BufferedImage...");
@@ -532,8 +514,8 @@ public class ImageFrame extends JFrame {
             for (int y = 0; y < rows; y++) {
                 for (int x = 0; x < columns; x++) {
                     int index = y * columns + x;
-                    if (index < pixelBytes.length) {
-                        int grayValue = pixelBytes[index] & 0xFF;
+                    if (index < pixelBytes.remaining()) {
+                        int grayValue = pixelBytes.get(index) & 0xFF;
                         int rgb = (grayValue << 16) | (grayValue << 8) | grayValue;
                         image.setRGB(x, y, rgb);
                     }
@@ -545,8 +527,8 @@ public class ImageFrame extends JFrame {
             for (int y = 0; y < rows; y++) {
                 for (int x = 0; x < columns; x++) {
                     int index = (y * columns + x) * 2;
-                    if (index + 1 < pixelBytes.length) {
-                        int pixelValue = ((pixelBytes[index + 1] & 0xFF) << 8) | (pixelBytes[index] & 0xFF);
+                    if (index + 1 < pixelBytes.remaining()) {
+                        int pixelValue = pixelBytes.getShort(index) & 0xFFFF;
                         // 简单的线性映射到8位
                         int grayValue = Math.max(0, Math.min(255, pixelValue >> 4));
                         int rgb = (grayValue << 16) | (grayValue << 8) | grayValue;
@@ -604,71 +586,6 @@ public class ImageFrame extends JFrame {
         return result;
     }
     
-    /**
-     * 将DICOM数据元素的值转换为整数
-     * 处理不同类型的数据：字节数组、字符串等
-     * @param value DICOM数据元素的值
-     * @return 转换后的整数值
-     */
-    private int convertToInt(Object value) {
-        if (value == null) {
-            return 0;
-        }
-        
-        if (value instanceof byte[]) {
-            byte[] bytes = (byte[]) value;
-            if (bytes.length == 0) {
-                return 0;
-            } else if (bytes.length == 1) {
-                // 8位无符号整数
-                return bytes[0] & 0xFF;
-            } else if (bytes.length == 2) {
-                // 16位无符号整数（小端序）
-                return (bytes[0] & 0xFF) | ((bytes[1] & 0xFF) << 8);
-            } else if (bytes.length == 4) {
-                // 32位整数（小端序）
-                return (bytes[0] & 0xFF) |
-                       ((bytes[1] & 0xFF) << 8) |
-                       ((bytes[2] & 0xFF) << 16) |
-                       ((bytes[3] & 0xFF) << 24);
-            } else {
-                // 对于长度超过4的字节数组，尝试解析前4个字节
-                return (bytes[0] & 0xFF) |
-                       ((bytes[1] & 0xFF) << 8) |
-                       ((bytes[2] & 0xFF) << 16) |
-                       ((bytes[3] & 0xFF) << 24);
-            }
-        } else if (value instanceof String) {
-            String str = (String) value;
-            try {
-                // 尝试直接解析字符串
-                return Integer.parseInt(str.trim());
-            } catch (NumberFormatException e) {
-                // 如果包含小数点，取整数部分
-                try {
-                    double d = Double.parseDouble(str.trim());
-                    return (int) Math.round(d);
-                } catch (NumberFormatException e2) {
-                    System.err.println("无法将字符串转换为整数: " + str);
-                    return 0;
-                }
-            }
-        } else {
-            // 其他类型，尝试转换为字符串再解析
-            String str = value.toString();
-            try {
-                return Integer.parseInt(str.trim());
-            } catch (NumberFormatException e) {
-                try {
-                    double d = Double.parseDouble(str.trim());
-                    return (int) Math.round(d);
-                } catch (NumberFormatException e2) {
-                    System.err.println("无法将对象转换为整数: " + value + " (类型: " + value.getClass() + ")");
-                    return 0;
-                }
-            }
-        }
-    }
     
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
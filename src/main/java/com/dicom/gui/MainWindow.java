@@ -223,10 +223,11 @@ public class MainWindow extends JFrame {
         info.append("图像尺寸: ").append(parsedDCMFile.getRows()).append(" x ").append(parsedDCMFile.getColumns()).append("\n");
         
         // 检查像素数据
-        Object pixelData = parsedDCMFile.GetValue(0x7FE00010); // PixelData
+        java.nio.ByteBuffer pixelData = parsedDCMFile.getValueBuffer(0x7FE00010); // PixelData，只读视图，不复制
         if (pixelData != null) {
             info.append("像素数据: 存在\n");
-            info.append("像素数据类型: ").append(pixelData.getClass().getSimpleName()).append("\n");
+            info.append("像素数据类型: ").append(parsedDCMFile.GetVR(0x7FE00010))
+                .append(" ").append(pixelData.remaining()).append(" bytes\n");
         } else {
             info.append("像素数据: 未找到\n");
         }
@@ -0,0 +1,295 @@
+package com.dicom.test;
+
+import com.dicom.data.*;
+import com.dicom.dictionary.DicomTags;
+import com.dicom.transfersyntax.DicomStreamReader;
+import com.dicom.transfersyntax.InflaterChannel;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+/**
+ * Deflated传输语法测试程序
+ * 用java.util.zip.Deflater（无zlib头）压缩一个显式VR小端数据集，写成DICOM文件后分别用
+ * DCMFile的各种解析方式和DicomStreamReader读取，验证：
+ * 跨越64KB解压窗口的元素、投影跳过越过窗口末尾的值域、解压窗口中延迟解析的序列、
+ * 按(0002,0000)组长度确定文件头结束位置、截断的压缩数据报告错误，以及解压通道不关闭借用的来源通道
+ */
+public class DeflatedFileTest {
+
+    private static final String DEFLATED_UID = "1.2.840.10008.1.2.1.99";
+    private static final int LARGE_LENGTH = 100000;   // 大于64KB的解压窗口
+
+    private static int failures = 0;
+
+    private static void check(String label, boolean ok) {
+        System.out.println("   " + label + ": " + (ok ? "✓" : "✗"));
+        if (!ok) {
+            failures++;
+        }
+    }
+
+    /**
+     * 写入显式VR小端元素
+     */
+    private static void putElement(ByteBuffer buffer, int tag, String vr, byte[] value) {
+        buffer.putShort((short) (tag >>> 16)).putShort((short) tag).put(vr.getBytes());
+        if (vr.equals("SQ") || vr.equals("UT") || vr.equals("OB")) {
+            buffer.putShort((short) 0).putInt(value.length);
+        } else {
+            buffer.putShort((short) value.length);
+        }
+        buffer.put(value);
+    }
+
+    private static void putHeader(ByteBuffer buffer, int tag, int length) {
+        buffer.putShort((short) (tag >>> 16)).putShort((short) tag).putInt(length);
+    }
+
+    /**
+     * 构造数据集：定长序列、跨越解压窗口的大元素，之后是患者ID、
+     * 未定义长度序列（位于第二个解压窗口中）和检查实例UID
+     */
+    private static byte[] createDataset(byte[] large) {
+        ByteBuffer buffer = ByteBuffer.allocate(LARGE_LENGTH + 1024).order(ByteOrder.LITTLE_ENDIAN);
+        putElement(buffer, DicomTags.SOPClassUID, "UI", "1.2.3\0".getBytes());
+        putElement(buffer, 0x00081115, "SQ", new byte[0]);
+        buffer.putInt(buffer.position() - 4, 22);
+        putHeader(buffer, 0xFFFEE000, 14);
+        putElement(buffer, 0x00081155, "UI", "1.2.5\0".getBytes());
+        putElement(buffer, DicomTags.PatientName, "PN", "DOE^JOHN".getBytes());
+        putElement(buffer, 0x00104000, "UT", large);
+        putElement(buffer, DicomTags.PatientID, "LO", "ID01".getBytes());
+        buffer.putShort((short) 0x0008).putShort((short) 0x1140).put("SQ".getBytes()).putShort((short) 0).putInt(-1);
+        putHeader(buffer, 0xFFFEE000, -1);
+        putElement(buffer, 0x00081150, "UI", "1.2.4\0".getBytes());
+        putHeader(buffer, 0xFFFEE00D, 0);
+        putHeader(buffer, 0xFFFEE0DD, 0);
+        putElement(buffer, DicomTags.StudyInstanceUID, "UI", "1.2.9\0".getBytes());
+        byte[] dataset = new byte[buffer.position()];
+        buffer.flip();
+        buffer.get(dataset);
+        return dataset;
+    }
+
+    /**
+     * 无zlib头压缩。压缩数据以一个空的固定哈夫曼块和一个空的存储块开始，
+     * 前两个字节为02 00，按元素头读取时组号恰好是0002：文件头只能按组长度结束
+     */
+    private static byte[] deflate(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(new byte[] {0x02, 0x00, 0x00, 0x00, (byte) 0xFF, (byte) 0xFF}, 0, 6);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        deflater.setInput(data);
+        deflater.finish();
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    /**
+     * 构造DICOM文件：前导码、"DICM"、组长度和传输语法UID，之后是压缩的数据集
+     * @param standard 为true时文件头按标准的显式VR写入（DicomStreamReader读取），
+     *                 否则每个元素头都是12字节（DCMFileMeta读取）
+     */
+    private static byte[] createFile(byte[] compressed, boolean standard) {
+        byte[] uid = (DEFLATED_UID + "\0").getBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(compressed.length + 256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(128);
+        buffer.put("DICM".getBytes());
+        int groupLength = (standard ? 8 : 12) + uid.length;
+        buffer.putShort((short) 0x0002).putShort((short) 0x0000).put("UL".getBytes());
+        if (standard) {
+            buffer.putShort((short) 4);
+        } else {
+            buffer.putShort((short) 0).putInt(4);
+        }
+        buffer.putInt(groupLength);
+        buffer.putShort((short) 0x0002).putShort((short) 0x0010).put("UI".getBytes());
+        if (standard) {
+            buffer.putShort((short) uid.length);
+        } else {
+            buffer.putShort((short) 0).putInt(uid.length);
+        }
+        buffer.put(uid);
+        buffer.put(compressed);
+        byte[] file = new byte[buffer.position()];
+        buffer.flip();
+        buffer.get(file);
+        return file;
+    }
+
+    private static File writeTempFile(String name, byte[] data) throws IOException {
+        File file = new File(System.getProperty("java.io.tmpdir"), name);
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+        return file;
+    }
+
+    private static DCMDataSequence findSequence(DCMDataSet dataset, int tag) {
+        for (DCMAbstractType item : dataset.getItems()) {
+            if (item instanceof DCMDataSequence && ((item.gtag & 0xFFFF) << 16 | (item.etag & 0xFFFF)) == tag) {
+                return (DCMDataSequence) item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 完整解析：跨越窗口的大元素值域完整，之后的元素和第二个窗口中的序列都被解析
+     */
+    private static void testFullParse(String label, DCMFile file, boolean ok, byte[] large) {
+        System.out.println("\n" + label);
+        check("解析成功", ok);
+        check("元素数量", file.getItemCount() == 7);
+        check("患者姓名", "DOE^JOHN".equals(file.getString(DicomTags.PatientName)));
+        ByteBuffer value = file.getValueBuffer(0x00104000);
+        byte[] bytes = null;
+        if (value != null) {
+            bytes = new byte[value.remaining()];
+            value.duplicate().get(bytes);
+        }
+        check("跨越窗口的元素", java.util.Arrays.equals(bytes, large));
+        check("窗口之后的患者ID", "ID01".equals(file.getString(DicomTags.PatientID)));
+        check("检查实例UID", "1.2.9".equals(file.getString(DicomTags.StudyInstanceUID)));
+
+        DCMDataSequence sequence = findSequence(file, 0x00081140);
+        check("序列延迟解析", sequence != null && !sequence.isParsed());
+        if (sequence != null) {
+            check("访问后解析条目", sequence.getItemCount() == 1 && sequence.isParsed());
+            DCMDataSet item = (DCMDataSet) sequence.getItems().get(0);
+            check("条目中的元素", "1.2.4".equals(item.getString(0x00081150)));
+        }
+    }
+
+    /**
+     * 投影：大元素不在投影中，跳过的值域越过解压窗口末尾，剩余部分解压后丢弃
+     */
+    private static void testProjection(File dcm) {
+        System.out.println("\n3. 投影跳过越过窗口末尾的值域");
+        DCMFile file = new DCMFile(dcm.getPath());
+        boolean ok = file.Parse(new TagProjection(DicomTags.PatientID, DicomTags.StudyInstanceUID));
+        check("解析成功", ok);
+        check("只保留投影中的元素", file.getItemCount() == 2);
+        check("跳过之后的患者ID", "ID01".equals(file.getString(DicomTags.PatientID)));
+        check("检查实例UID", "1.2.9".equals(file.getString(DicomTags.StudyInstanceUID)));
+
+        System.out.println("\n4. 停止条件");
+        file = new DCMFile(dcm.getPath());
+        ok = file.Parse(DCMDataSet.stopAtTag(DicomTags.StudyInstanceUID));
+        check("解析成功", ok);
+        check("停止在检查实例UID之前", file.getItemCount() == 6 && file.getString(DicomTags.StudyInstanceUID) == null);
+    }
+
+    /**
+     * 流式读取同一个压缩数据集：值域分块交出，总长度与原值相同
+     */
+    private static void testStreamReader(File dcm) throws IOException {
+        System.out.println("\n5. DicomStreamReader读取");
+        long largeBytes = 0;
+        int sequences = 0;
+        String patientId = null;
+        String studyUid = null;
+        try (DicomStreamReader reader = new DicomStreamReader(new FileInputStream(dcm))) {
+            int event;
+            while ((event = reader.next()) != DicomStreamReader.END_DATASET) {
+                if (event == DicomStreamReader.START_SEQUENCE) {
+                    sequences++;
+                } else if (event == DicomStreamReader.START_ELEMENT) {
+                    if (reader.getTag() == DicomTags.PatientID) {
+                        patientId = new String(reader.readValue()).trim();
+                    } else if (reader.getTag() == DicomTags.StudyInstanceUID) {
+                        studyUid = new String(reader.readValue()).trim();
+                    }
+                } else if (event == DicomStreamReader.VALUE_CHUNK && reader.getTag() == 0x00104000) {
+                    largeBytes += reader.getChunk().remaining();
+                }
+            }
+        }
+        check("文件头按组长度结束", sequences == 2);
+        check("跨越缓冲区的值域", largeBytes == LARGE_LENGTH);
+        check("患者ID", "ID01".equals(patientId));
+        check("检查实例UID", studyUid != null && studyUid.startsWith("1.2.9"));
+    }
+
+    /**
+     * 截断的压缩数据：DCMFile解析失败，DicomStreamReader抛出EOFException，不当作正常结束
+     */
+    private static void testTruncated(byte[] compressed) throws IOException {
+        System.out.println("\n6. 截断的压缩数据");
+        byte[] cut = java.util.Arrays.copyOf(compressed, compressed.length / 2);
+        File dcm = writeTempFile("deflated_truncated.dcm", createFile(cut, false));
+        DCMFile file = new DCMFile(dcm.getPath());
+        check("DCMFile.Parse()返回失败", !file.Parse());
+
+        File standard = writeTempFile("deflated_truncated_standard.dcm", createFile(cut, true));
+        boolean eof = false;
+        try (DicomStreamReader reader = new DicomStreamReader(new FileInputStream(standard))) {
+            while (reader.next() != DicomStreamReader.END_DATASET) {
+                // 读到出错为止
+            }
+        } catch (EOFException e) {
+            eof = true;
+        }
+        check("DicomStreamReader抛出EOFException", eof);
+    }
+
+    /**
+     * 解压通道：来源恰好是完整的压缩数据（末尾没有多余字节，需要补dummy字节）时读到-1，
+     * 长度与原数据相同；关闭时来源通道由调用方管理的不关闭
+     */
+    private static void testInflaterChannel(byte[] compressed, int datasetLength) throws IOException {
+        System.out.println("\n7. 解压通道与来源通道");
+        long total = 0;
+        try (InflaterChannel inflater = new InflaterChannel(ByteBuffer.wrap(compressed), null)) {
+            ByteBuffer out = ByteBuffer.allocate(4096);
+            int n;
+            while ((n = inflater.read(out)) >= 0) {
+                total += n;
+                out.clear();
+            }
+        }
+        check("完整读出后返回-1", total == datasetLength);
+        for (boolean closeSource : new boolean[] {false, true}) {
+            ReadableByteChannel source = Channels.newChannel(new ByteArrayInputStream(compressed));
+            ByteBuffer out = ByteBuffer.allocate(1024);
+            try (InflaterChannel inflater = new InflaterChannel(null, source, closeSource)) {
+                inflater.read(out);
+            }
+            check("closeSource=" + closeSource + " 来源通道" + (closeSource ? "已关闭" : "仍打开"),
+                    source.isOpen() != closeSource && out.position() > 0);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Deflated传输语法测试 ===\n");
+        byte[] large = new byte[LARGE_LENGTH];
+        new Random(1).nextBytes(large);
+        byte[] dataset = createDataset(large);
+        byte[] compressed = deflate(dataset);
+        File dcm = writeTempFile("deflated_test.dcm", createFile(compressed, false));
+        File standard = writeTempFile("deflated_test_standard.dcm", createFile(compressed, true));
+        System.out.println("压缩数据 " + compressed.length + " 字节");
+
+        DCMFile file = new DCMFile(dcm.getPath());
+        testFullParse("1. Parse()", file, file.Parse(), large);
+        file = new DCMFile(dcm.getPath());
+        testFullParse("2. ParseMapped()", file, file.ParseMapped(), large);
+        testProjection(dcm);
+        testStreamReader(standard);
+        testTruncated(compressed);
+        testInflaterChannel(compressed, dataset.length);
+
+        System.out.println(failures == 0 ? "\n✓ Deflated传输语法测试完成" : "\n✗ " + failures + "项检查失败");
+    }
+}
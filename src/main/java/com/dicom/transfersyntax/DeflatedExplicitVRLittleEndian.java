@@ -0,0 +1,29 @@
+package com.dicom.transfersyntax;
+
+/**
+ * Deflated显式VR小端传输语法类
+ * 文件元信息之后的数据集整体用deflate（RFC 1951，无zlib头）压缩，解压后按显式VR小端解码。
+ * 解压见InflaterChannel；编码输出未压缩的显式VR小端元素
+ */
+public class DeflatedExplicitVRLittleEndian extends ExplicitVRLittleEndian {
+    private static final DeflatedExplicitVRLittleEndian INSTANCE = new DeflatedExplicitVRLittleEndian();
+    
+    /**
+     * 构造函数
+     */
+    public DeflatedExplicitVRLittleEndian() {
+        super("1.2.840.10008.1.2.1.99", "DeflatedExplicitVRLittleEndian");
+    }
+    
+    /**
+     * 获取共享实例（无状态，可跨线程共用）
+     */
+    public static DeflatedExplicitVRLittleEndian getInstance() {
+        return INSTANCE;
+    }
+    
+    @Override
+    public boolean isDeflated() {
+        return true;
+    }
+}
@@ -1,109 +1,259 @@
 package com.dicom.transfersyntax;
 
+import com.dicom.vr.VRCode;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 
 /**
  * DICOM字节缓冲区类
- * 用于处理DICOM数据的字节读取，支持大端和小端字节序
+ * 以java.nio.ByteBuffer（包装的字节数组、直接缓冲区或文件映射）为底层，按绝对位置读取并维护自己的读取位置。
+ * 小端和大端各有一个实现，由wrap按字节序选择：字节序在创建时确定，读取时不再判断。
+ * 标量读取方法不检查剩余字节，调用方应先用hasRemaining(n)确认；批量读取和readString越过limit时
+ * 抛出IndexOutOfBoundsException且位置不变。越界异常只表示调用错误，不作为数据结束的信号。
+ * 目前解码器只经TransferSyntax.Decode(DicomByteBuffer)使用本类。数据集解析不经过本类：
+ * 元素在已按传输语法设置字节序的ByteBuffer上按绝对位置解码（元素头见ElementHeader），
+ * 值域只记录位置、引用同一缓冲区，不需要维护读取位置，也不为每个元素创建包装对象。
  */
-public class DicomByteBuffer {
-    private byte[] data;
-    private int position;
-    private ByteOrder byteOrder;
-    
+public abstract class DicomByteBuffer {
+    protected final ByteBuffer buffer;  // 已按字节序设置的底层缓冲区（与来源共享内容）
+    protected final int limit;          // 可读范围的结束位置
+    protected int position;             // 当前读取位置（绝对位置）
+
     /**
      * 构造函数
+     * @param buffer 已按字节序设置的缓冲区
+     * @param startPosition 起始位置
+     */
+    DicomByteBuffer(ByteBuffer buffer, int startPosition) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+        this.position = startPosition;
+    }
+
+    /**
+     * 包装字节数组
      * @param data 字节数据
      * @param startPosition 起始位置
      * @param byteOrder 字节序（大端或小端）
+     * @return 对应字节序的实现
      */
-    public DicomByteBuffer(byte[] data, int startPosition, ByteOrder byteOrder) {
-        this.data = data;
-        this.position = startPosition;
-        this.byteOrder = byteOrder;
+    public static DicomByteBuffer wrap(byte[] data, int startPosition, ByteOrder byteOrder) {
+        return wrap(ByteBuffer.wrap(data), startPosition, byteOrder);
+    }
+
+    /**
+     * 包装ByteBuffer，不复制内容，也不改变来源缓冲区的position和字节序
+     * @param data 数据缓冲区，有效数据为 [0, limit)
+     * @param startPosition 起始位置（绝对位置）
+     * @param byteOrder 字节序（大端或小端）
+     * @return 对应字节序的实现
+     */
+    public static DicomByteBuffer wrap(ByteBuffer data, int startPosition, ByteOrder byteOrder) {
+        if (byteOrder == ByteOrder.BIG_ENDIAN) {
+            return new BigEndian(data.duplicate().order(ByteOrder.BIG_ENDIAN), startPosition);
+        }
+        return new LittleEndian(data.duplicate().order(ByteOrder.LITTLE_ENDIAN), startPosition);
+    }
+
+    /**
+     * 字节序
+     */
+    public ByteOrder order() {
+        return buffer.order();
     }
-    
+
     /**
      * 读取一个字节
      * @return 字节值
      */
     public byte readByte() {
-        if (position >= data.length) {
-            throw new IndexOutOfBoundsException("缓冲区位置超出范围");
-        }
-        return data[position++];
+        return buffer.get(position++);
     }
-    
+
     /**
      * 读取短整数（2字节）
      * @return 短整数值
      */
     public short readShort() {
-        if (position + 1 >= data.length) {
-            throw new IndexOutOfBoundsException("缓冲区位置超出范围");
-        }
-        
-        short value;
-        if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
-            value = (short) ((data[position] & 0xFF) | ((data[position + 1] & 0xFF) << 8));
-        } else {
-            value = (short) (((data[position] & 0xFF) << 8) | (data[position + 1] & 0xFF));
-        }
+        short value = buffer.getShort(position);
         position += 2;
         return value;
     }
-    
+
+    /**
+     * 读取无符号短整数（US、显式VR的2字节长度）
+     * @return 0-65535
+     */
+    public int readUnsignedShort() {
+        return readShort() & 0xFFFF;
+    }
+
     /**
      * 读取整数（4字节）
      * @return 整数值
      */
     public int readInt() {
-        if (position + 3 >= data.length) {
-            throw new IndexOutOfBoundsException("缓冲区位置超出范围");
-        }
-        
-        int value;
-        if (byteOrder == ByteOrder.LITTLE_ENDIAN) {
-            value = (data[position] & 0xFF) |
-                    ((data[position + 1] & 0xFF) << 8) |
-                    ((data[position + 2] & 0xFF) << 16) |
-                    ((data[position + 3] & 0xFF) << 24);
-        } else {
-            value = ((data[position] & 0xFF) << 24) |
-                    ((data[position + 1] & 0xFF) << 16) |
-                    ((data[position + 2] & 0xFF) << 8) |
-                    (data[position + 3] & 0xFF);
-        }
+        int value = buffer.getInt(position);
+        position += 4;
+        return value;
+    }
+
+    /**
+     * 读取无符号整数（UL、4字节长度）
+     * @return 0-0xFFFFFFFF
+     */
+    public long readUnsignedInt() {
+        return readInt() & 0xFFFFFFFFL;
+    }
+
+    /**
+     * 读取长整数（8字节）
+     */
+    public long readLong() {
+        long value = buffer.getLong(position);
+        position += 8;
+        return value;
+    }
+
+    /**
+     * 读取单精度浮点（4字节）
+     */
+    public float readFloat() {
+        float value = buffer.getFloat(position);
         position += 4;
         return value;
     }
-    
+
+    /**
+     * 读取双精度浮点（8字节）
+     */
+    public double readDouble() {
+        double value = buffer.getDouble(position);
+        position += 8;
+        return value;
+    }
+
+    /**
+     * 读取标签（组号和元素号各2字节）
+     * @return 标签 (组号 << 16 | 元素号)
+     */
+    public abstract int readTag();
+
+    /**
+     * 读取2字节VR并返回VR码（VR字符按字节顺序存放，与字节序无关），不创建字符串
+     * @return VR码，见VRCode
+     */
+    public int readVRCode() {
+        int code = VRCode.of(buffer.get(position), buffer.get(position + 1));
+        position += 2;
+        return code;
+    }
+
     /**
      * 读取指定长度的字节数组
      * @param length 要读取的长度
      * @return 字节数组
      */
     public byte[] readBytes(int length) {
-        if (position + length > data.length) {
-            throw new IndexOutOfBoundsException("缓冲区位置超出范围");
-        }
-        
         byte[] result = new byte[length];
-        System.arraycopy(data, position, result, 0, length);
-        position += length;
+        readBytes(result, 0, length);
         return result;
     }
-    
+
+    /**
+     * 批量读取字节到数组
+     * @param dst 目标数组
+     * @param offset 目标数组起始下标
+     * @param length 字节数
+     */
+    public void readBytes(byte[] dst, int offset, int length) {
+        view(length).get(dst, offset, length);
+        position += length;
+    }
+
+    /**
+     * 批量读取16位值（OW/US/SS）
+     * @param dst 目标数组
+     * @param offset 目标数组起始下标
+     * @param count 值个数
+     */
+    public void readShorts(short[] dst, int offset, int count) {
+        view(count * 2).asShortBuffer().get(dst, offset, count);
+        position += count * 2;
+    }
+
+    /**
+     * 批量读取32位整数（OL/UL/SL）
+     * @param dst 目标数组
+     * @param offset 目标数组起始下标
+     * @param count 值个数
+     */
+    public void readInts(int[] dst, int offset, int count) {
+        view(count * 4).asIntBuffer().get(dst, offset, count);
+        position += count * 4;
+    }
+
+    /**
+     * 批量读取单精度浮点（OF/FL）
+     * @param dst 目标数组
+     * @param offset 目标数组起始下标
+     * @param count 值个数
+     */
+    public void readFloats(float[] dst, int offset, int count) {
+        view(count * 4).asFloatBuffer().get(dst, offset, count);
+        position += count * 4;
+    }
+
+    /**
+     * 批量读取双精度浮点（OD/FD）
+     * @param dst 目标数组
+     * @param offset 目标数组起始下标
+     * @param count 值个数
+     */
+    public void readDoubles(double[] dst, int offset, int count) {
+        view(count * 8).asDoubleBuffer().get(dst, offset, count);
+        position += count * 8;
+    }
+
     /**
-     * 读取字符串（按指定长度）
+     * 读取字符串（按指定长度），去掉首尾的空格和0填充
+     * 先按字节确定去除填充后的范围，只创建一个String；字节按ISO-8859-1解码（DICOM默认字符集是其子集）
      * @param length 字符串长度
      * @return 字符串
+     * @throws IndexOutOfBoundsException 剩余字节不足length时抛出，位置不变
      */
     public String readString(int length) {
-        byte[] bytes = readBytes(length);
-        return new String(bytes).trim();
+        if (!hasRemaining(length)) {
+            throw new IndexOutOfBoundsException("读取长度 " + length + " 超出剩余字节 " + remaining());
+        }
+        int start = position;
+        int end = position + length;
+        position = end;
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        byte[] bytes = new byte[end - start];
+        ByteBuffer src = buffer.duplicate();
+        src.position(start);
+        src.get(bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 跳过字节
+     * @param length 字节数
+     */
+    public void skip(int length) {
+        position += length;
     }
-    
+
     /**
      * 获取当前位置
      * @return 当前位置
@@ -111,7 +261,7 @@ public class DicomByteBuffer {
     public int getPosition() {
         return position;
     }
-    
+
     /**
      * 设置当前位置
      * @param position 新位置
@@ -119,28 +269,100 @@ public class DicomByteBuffer {
     public void setPosition(int position) {
         this.position = position;
     }
-    
+
+    /**
+     * 可读范围的结束位置
+     */
+    public int getLimit() {
+        return limit;
+    }
+
     /**
      * 检查是否还有剩余数据
      * @return 是否有剩余数据
      */
     public boolean hasRemaining() {
-        return position < data.length;
+        return position < limit;
+    }
+
+    /**
+     * 检查剩余字节是否不少于n（读取元素头、值域之前调用）
+     * @param n 字节数
+     * @return 是否足够
+     */
+    public boolean hasRemaining(int n) {
+        return n >= 0 && limit - position >= n;
     }
-    
+
     /**
      * 获取剩余字节数
      * @return 剩余字节数
      */
     public int remaining() {
-        return data.length - position;
+        return limit - position;
     }
-    
+
+    /**
+     * 获取底层缓冲区（已按字节序设置，绝对位置与本缓冲区一致，由解析出的元素共享）
+     * @return 底层缓冲区
+     */
+    public ByteBuffer asByteBuffer() {
+        return buffer;
+    }
+
     /**
      * 获取底层数据数组
-     * @return 数据数组
+     * @return 数据数组；底层为直接缓冲区、文件映射或数组切片时返回null
      */
     public byte[] getData() {
-        return data;
+        return buffer.hasArray() && buffer.arrayOffset() == 0 ? buffer.array() : null;
+    }
+
+    /**
+     * 当前位置起length字节的视图，字节序与本缓冲区相同
+     * 底层缓冲区的容量可能大于limit，因此先检查剩余字节，批量读取不会越过limit
+     */
+    private ByteBuffer view(int length) {
+        if (!hasRemaining(length)) {
+            throw new IndexOutOfBoundsException("读取长度 " + length + " 超出剩余字节 " + remaining());
+        }
+        ByteBuffer dup = buffer.duplicate();
+        dup.limit(position + length);
+        dup.position(position);
+        return dup.slice().order(buffer.order());
+    }
+
+    /**
+     * 小端实现
+     */
+    private static final class LittleEndian extends DicomByteBuffer {
+        LittleEndian(ByteBuffer buffer, int startPosition) {
+            super(buffer, startPosition);
+        }
+
+        @Override
+        public int readTag() {
+            // 小端下组号在低16位，一次读4字节后交换高低半字
+            int value = buffer.getInt(position);
+            position += 4;
+            return Integer.rotateLeft(value, 16);
+        }
+    }
+
+    /**
+     * 大端实现
+     */
+    private static final class BigEndian extends DicomByteBuffer {
+        BigEndian(ByteBuffer buffer, int startPosition) {
+            super(buffer, startPosition);
+        }
+
+        @Override
+        public int readTag() {
+            // 大端下4字节整数即为 组号 << 16 | 元素号
+            int value = buffer.getInt(position);
+            position += 4;
+            return value;
+        }
     }
 }
@@ -0,0 +1,153 @@
+package com.dicom.transfersyntax;
+
+import com.dicom.vr.VRCode;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * DicomByteBuffer测试程序
+ * 分别按小端和大端读取同一组值，验证标量读取、批量读取、字符串去填充和越界检查
+ */
+public class DicomByteBufferTest {
+
+    private static int failures = 0;
+
+    private static void check(String label, boolean ok) {
+        System.out.println("  " + label + ": " + (ok ? "✓" : "✗"));
+        if (!ok) {
+            failures++;
+        }
+    }
+
+    /**
+     * 按指定字节序写入测试数据：标签、VR、各种标量、批量值和字符串
+     */
+    private static ByteBuffer createData(ByteOrder order, boolean direct) {
+        ByteBuffer buffer = (direct ? ByteBuffer.allocateDirect(256) : ByteBuffer.allocate(256)).order(order);
+        buffer.putShort((short) 0x0010).putShort((short) 0x0020);   // 0: 标签
+        buffer.put((byte) 'L').put((byte) 'O');                     // 4: VR
+        buffer.putShort((short) 0xFFFE);                            // 6
+        buffer.putInt(0xFFFFFFF0);                                  // 8
+        buffer.putLong(0x0102030405060708L);                        // 12
+        buffer.putFloat(1.5f);                                      // 20
+        buffer.putDouble(-2.25);                                    // 24
+        buffer.putShort((short) 1).putShort((short) -2).putShort((short) 3);  // 32: 3个16位值
+        buffer.putInt(100000).putInt(-7);                           // 38: 2个32位值
+        buffer.putFloat(0.5f).putFloat(-8f);                        // 46: 2个单精度
+        buffer.putDouble(3.125).putDouble(1e300);                   // 54: 2个双精度
+        buffer.put(" AB C\0".getBytes());                           // 70: 前后有填充的字符串
+        buffer.put("  \0\0".getBytes());                            // 76: 只有填充
+        buffer.flip();                                              // limit = 80
+        return buffer;
+    }
+
+    /**
+     * 测试标量读取和标签、VR码
+     */
+    private static void testScalars(ByteOrder order, boolean direct) {
+        System.out.println("=== 标量读取（" + order + (direct ? "，直接缓冲区" : "") + "） ===");
+        DicomByteBuffer buff = DicomByteBuffer.wrap(createData(order, direct), 0, order);
+        check("字节序", buff.order() == order);
+        check("readTag", buff.readTag() == 0x00100020);
+        check("readVRCode", buff.readVRCode() == VRCode.of("LO"));
+        check("readUnsignedShort", buff.readUnsignedShort() == 0xFFFE);
+        check("readUnsignedInt", buff.readUnsignedInt() == 0xFFFFFFF0L);
+        check("readLong", buff.readLong() == 0x0102030405060708L);
+        check("readFloat", buff.readFloat() == 1.5f);
+        check("readDouble", buff.readDouble() == -2.25);
+        check("位置", buff.getPosition() == 32);
+    }
+
+    /**
+     * 测试批量读取：从非零位置读入数组的指定下标，读取后位置前进
+     */
+    private static void testBulk(ByteOrder order, boolean direct) {
+        System.out.println("=== 批量读取（" + order + (direct ? "，直接缓冲区" : "") + "） ===");
+        DicomByteBuffer buff = DicomByteBuffer.wrap(createData(order, direct), 32, order);
+        short[] shorts = new short[4];
+        buff.readShorts(shorts, 1, 3);
+        check("readShorts", Arrays.equals(shorts, new short[] {0, 1, -2, 3}));
+        int[] ints = new int[2];
+        buff.readInts(ints, 0, 2);
+        check("readInts", Arrays.equals(ints, new int[] {100000, -7}));
+        float[] floats = new float[2];
+        buff.readFloats(floats, 0, 2);
+        check("readFloats", Arrays.equals(floats, new float[] {0.5f, -8f}));
+        double[] doubles = new double[2];
+        buff.readDoubles(doubles, 0, 2);
+        check("readDoubles", Arrays.equals(doubles, new double[] {3.125, 1e300}));
+        check("位置", buff.getPosition() == 70);
+
+        buff.setPosition(70);
+        byte[] bytes = buff.readBytes(6);
+        check("readBytes", Arrays.equals(bytes, " AB C\0".getBytes()));
+    }
+
+    /**
+     * 测试readString去掉首尾的空格和0填充
+     */
+    private static void testString(ByteOrder order, boolean direct) {
+        System.out.println("=== 字符串（" + order + (direct ? "，直接缓冲区" : "") + "） ===");
+        DicomByteBuffer buff = DicomByteBuffer.wrap(createData(order, direct), 70, order);
+        check("去掉首尾填充", "AB C".equals(buff.readString(6)));
+        check("只有填充时为空串", "".equals(buff.readString(4)));
+        check("长度0", "".equals(buff.readString(0)));
+        check("读完后无剩余", !buff.hasRemaining() && buff.remaining() == 0);
+    }
+
+    /**
+     * 测试越界检查：hasRemaining(n)的边界、越过limit的读取抛出IndexOutOfBoundsException，
+     * 包装不改变来源缓冲区的position和字节序
+     */
+    private static void testBounds(ByteOrder order) {
+        System.out.println("=== 越界检查（" + order + "） ===");
+        ByteBuffer source = createData(order, false);
+        source.limit(40);   // 只有前40字节可读
+        ByteOrder other = order == ByteOrder.BIG_ENDIAN ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+        source.order(other);
+        DicomByteBuffer buff = DicomByteBuffer.wrap(source, 34, order);
+        check("来源缓冲区未改变", source.position() == 0 && source.order() == other);
+        check("hasRemaining(6)", buff.hasRemaining(6));
+        check("hasRemaining(7)", !buff.hasRemaining(7));
+        check("hasRemaining(-1)", !buff.hasRemaining(-1));
+        check("getLimit", buff.getLimit() == 40);
+
+        buff.setPosition(38);
+        try {
+            buff.readInt();
+            check("readInt越界", false);
+        } catch (IndexOutOfBoundsException e) {
+            check("readInt越界", buff.getPosition() == 38);
+        }
+        try {
+            buff.readShorts(new short[2], 0, 2);
+            check("readShorts越界", false);
+        } catch (IndexOutOfBoundsException e) {
+            check("readShorts越界", buff.getPosition() == 38);
+        }
+        try {
+            buff.readString(4);
+            check("readString越界", false);
+        } catch (IndexOutOfBoundsException e) {
+            check("readString越界", buff.getPosition() == 38);
+        }
+        // 100000的4字节中limit之前的2字节：大端为高半字，小端为低半字
+        short expected = (short) (order == ByteOrder.BIG_ENDIAN ? 100000 >>> 16 : 100000);
+        check("readShort到limit", buff.readShort() == expected && buff.getPosition() == 40);
+        check("无剩余", !buff.hasRemaining() && !buff.hasRemaining(1) && buff.hasRemaining(0));
+    }
+
+    public static void main(String[] args) {
+        for (ByteOrder order : new ByteOrder[] {ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            for (boolean direct : new boolean[] {false, true}) {
+                testScalars(order, direct);
+                testBulk(order, direct);
+                testString(order, direct);
+            }
+            testBounds(order);
+        }
+        System.out.println(failures == 0 ? "\n✓ DicomByteBuffer测试完成" : "\n✗ " + failures + "项检查失败");
+    }
+}
@@ -0,0 +1,62 @@
+package com.dicom.transfersyntax;
+
+import java.nio.ByteBuffer;
+
+/**
+ * DICOM流式读取的事件处理接口（推送方式，见DicomStreamReader.accept）
+ * 事件顺序：
+ * 普通元素为 startElement, valueChunk*, endElement；
+ * 序列为 startSequence, (startItem ... endItem)*, endSequence；
+ * 封装像素数据按序列处理，每个片段为 startItem, valueChunk*, endItem。
+ */
+public interface DicomStreamHandler {
+
+    /**
+     * 普通元素开始
+     * @param tag 标签 (组号 << 16 | 元素号)
+     * @param vrCode VR码，见VRCode
+     * @param length 值长度
+     * @return 是否需要值域；返回false时值域被直接跳过，不产生valueChunk
+     */
+    boolean startElement(int tag, int vrCode, long length);
+
+    /**
+     * 值域的一段（普通元素或封装像素数据片段）
+     * @param chunk 只读缓冲区，字节序与传输语法一致，只在本次回调内有效
+     */
+    void valueChunk(ByteBuffer chunk);
+
+    /**
+     * 普通元素结束
+     */
+    void endElement();
+
+    /**
+     * 序列（或封装像素数据）开始
+     * @param tag 标签
+     * @param vrCode VR码
+     * @param length 值长度，未定义长度为DicomStreamReader.UNDEFINED_LENGTH
+     */
+    void startSequence(int tag, int vrCode, long length);
+
+    /**
+     * 条目（或封装像素数据片段）开始
+     * @param length 条目长度，未定义长度为DicomStreamReader.UNDEFINED_LENGTH
+     */
+    void startItem(long length);
+
+    /**
+     * 条目结束
+     */
+    void endItem();
+
+    /**
+     * 序列结束
+     */
+    void endSequence();
+
+    /**
+     * 数据结束
+     */
+    void endDataset();
+}
@@ -0,0 +1,540 @@
+package com.dicom.transfersyntax;
+
+import com.dicom.data.ElementHeader;
+import com.dicom.data.TransferSyntax;
+import com.dicom.dictionary.DicomDictionary;
+import com.dicom.dictionary.DicomDictionaryEntry;
+import com.dicom.vr.VRCode;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * DICOM流式读取器（拉取方式）
+ * 从InputStream或ReadableByteChannel顺序读取数据集，不构造DCMDataSet树：
+ * 每次next()返回一个事件（元素开始、值域分块、序列/条目的开始与结束），
+ * 内部只有一个固定大小的缓冲区，值域按缓冲区大小分块交出，
+ * 因此无论对象多大（如2GB的像素数据），占用的内存都是常量。
+ * 也可以用accept(handler)以推送方式把事件交给DicomStreamHandler。
+ *
+ * 文件模式下自动识别128字节前导码和"DICM"，文件元信息按显式VR小端读取，
+ * 之后按(0002,0010)指定的传输语法读取数据集。文件元信息的结束位置由(0002,0000)组长度确定，
+ * 没有组长度时以第一个组号不是0002的元素为界。
+ */
+public class DicomStreamReader implements Closeable {
+
+    // 事件类型
+    public static final int START_ELEMENT = 1;   // 普通元素开始
+    public static final int VALUE_CHUNK = 2;     // 值域的一段
+    public static final int END_ELEMENT = 3;     // 普通元素结束
+    public static final int START_SEQUENCE = 4;  // 序列或封装像素数据开始
+    public static final int START_ITEM = 5;      // 条目或封装像素数据片段开始
+    public static final int END_ITEM = 6;        // 条目或片段结束
+    public static final int END_SEQUENCE = 7;    // 序列或封装像素数据结束
+    public static final int END_DATASET = 8;     // 数据结束
+
+    /**
+     * 未定义长度
+     */
+    public static final long UNDEFINED_LENGTH = 0xFFFFFFFFL;
+
+    /**
+     * 默认缓冲区大小，同时也是VALUE_CHUNK的最大长度
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MIN_BUFFER_SIZE = 256;
+    private static final int PREAMBLE_LENGTH = 132;  // 128字节前导码 + "DICM"
+
+    // 容器类型
+    private static final byte SEQUENCE = 0;   // 序列
+    private static final byte FRAGMENTS = 1;  // 封装像素数据
+    private static final byte ITEM = 2;       // 序列条目
+
+    private static final int FILE_META_GROUP = 0x0002;
+    private static final int TRANSFER_SYNTAX_UID = 0x00020010;
+    private static final int FILE_META_GROUP_LENGTH = 0x00020000;
+
+    private ReadableByteChannel channel;   // Deflated数据集开始后换为解压通道
+    private final ByteBuffer buffer;   // 读缓冲区，position之前为已消费数据
+    private TransferSyntax syntax;     // 当前使用的传输语法
+    private TransferSyntax datasetSyntax;  // 文件元信息之后的数据集传输语法
+    private boolean inFileMeta;        // 是否正在读取文件元信息
+    private long fileMetaEnd = -1;     // 由组长度得到的文件元信息结束位置，未知时为-1
+    private boolean eof;               // 通道已读完
+    private boolean finished;          // 已产生END_DATASET
+    private long position;             // 下一个未消费字节在流中的位置
+
+    // 容器栈，end为容器结束位置，未定义长度为-1
+    private byte[] frameKinds = new byte[16];
+    private long[] frameEnds = new long[16];
+    private int depth;
+
+    // 当前元素
+    private final ElementHeader header = new ElementHeader();
+    private int tag;
+    private int vrCode;
+    private long length;
+    private long valueRemaining;       // 当前值域尚未交出的字节数
+    private boolean inValue;           // 是否正在交出值域
+    private int valueEndEvent;         // 值域交完后的结束事件（END_ELEMENT或END_ITEM）
+    private ByteBuffer chunk;
+    private long chunkOffset;          // 当前分块在值域中的偏移
+
+    /**
+     * 以文件模式读取输入流，自动识别前导码，无前导码时按开头的元素头识别数据集的传输语法
+     * @param in 输入流
+     * @throws IOException 读取失败
+     */
+    public DicomStreamReader(InputStream in) throws IOException {
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * 以文件模式读取通道，自动识别前导码，无前导码时按开头的元素头识别数据集的传输语法
+     * @param channel 通道
+     * @throws IOException 读取失败
+     */
+    public DicomStreamReader(ReadableByteChannel channel) throws IOException {
+        this(channel, null, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 按指定传输语法读取不带前导码和文件元信息的数据集（如网络接收的数据集）
+     * @param in 输入流
+     * @param syntax 传输语法
+     * @throws IOException 读取失败
+     */
+    public DicomStreamReader(InputStream in, TransferSyntax syntax) throws IOException {
+        this(Channels.newChannel(in), syntax, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 构造函数
+     * @param channel 通道
+     * @param syntax 数据集的传输语法，为null时以文件模式读取
+     * @param bufferSize 缓冲区大小，即VALUE_CHUNK的最大长度
+     * @throws IOException 读取失败
+     */
+    public DicomStreamReader(ReadableByteChannel channel, TransferSyntax syntax, int bufferSize)
+            throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, MIN_BUFFER_SIZE));
+        this.buffer.flip();
+        if (syntax != null) {
+            setSyntax(syntax);
+        } else {
+            readPreamble();
+        }
+    }
+
+    /**
+     * 识别前导码；有前导码时先按显式VR小端读取文件元信息
+     */
+    private void readPreamble() throws IOException {
+        setSyntax(ImplicitVRLittleEndian.getInstance());
+        boolean filled = fill(PREAMBLE_LENGTH);
+        int p = buffer.position();
+        if (filled && buffer.get(p + 128) == 'D' && buffer.get(p + 129) == 'I'
+                && buffer.get(p + 130) == 'C' && buffer.get(p + 131) == 'M') {
+            consume(PREAMBLE_LENGTH);
+            inFileMeta = true;
+            datasetSyntax = ExplicitVRLittleEndian.getInstance();
+            setSyntax(datasetSyntax);
+        } else {
+            // 没有前导码：按已读入的开头几个元素头识别数据集的传输语法
+            setSyntax(TransferSyntaxRegistry.sniff(buffer, p));
+        }
+    }
+
+    /**
+     * 文件元信息之后的数据为deflate压缩：缓冲区中剩余的压缩数据和通道一起交给解压通道，
+     * 之后的读取和位置都针对解压后的数据
+     */
+    private void startInflating() {
+        ByteBuffer head = ByteBuffer.allocate(buffer.remaining());
+        head.put(buffer).flip();
+        channel = new InflaterChannel(head, channel);
+        buffer.clear();
+        buffer.flip();
+        eof = false;
+    }
+
+    private void setSyntax(TransferSyntax syntax) {
+        this.syntax = syntax;
+        buffer.order(syntax.isBE ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 读取下一个事件
+     * @return 事件类型，数据结束后始终返回END_DATASET
+     * @throws EOFException 数据在元素头、值域、序列或条目中间结束（被截断），不会返回END_DATASET
+     * @throws IOException 读取失败或数据格式错误
+     */
+    public int next() throws IOException {
+        chunk = null;
+        if (inValue) {
+            if (valueRemaining > 0) {
+                nextChunk();
+                return VALUE_CHUNK;
+            }
+            inValue = false;
+            return valueEndEvent;
+        }
+        if (finished) {
+            return END_DATASET;
+        }
+        // 定长容器读完时补发结束事件
+        if (depth > 0 && frameEnds[depth - 1] >= 0 && position >= frameEnds[depth - 1]) {
+            return frameKinds[--depth] == ITEM ? END_ITEM : END_SEQUENCE;
+        }
+        if (inFileMeta && fileMetaEnd >= 0 && position >= fileMetaEnd && endFileMeta()) {
+            return next();
+        }
+        if (!fill(8)) {
+            // 只有在顶层、且恰好读完最后一个元素时才是完整的数据集
+            if (depth > 0) {
+                throw new EOFException("数据在位置" + position + "处结束，还有" + depth + "层序列或条目未结束");
+            }
+            if (buffer.hasRemaining()) {
+                throw new EOFException("元素头不完整，位置" + position);
+            }
+            finished = true;
+            return END_DATASET;
+        }
+        if (inFileMeta && fileMetaEnd < 0
+                && (buffer.getShort(buffer.position()) & 0xFFFF) != FILE_META_GROUP && endFileMeta()) {
+            return next();
+        }
+
+        if (!header.read(buffer, buffer.position(), buffer.limit(), syntax.isExplicit)) {
+            // 长VR的元素头为12字节
+            if (!fill(12) || !header.read(buffer, buffer.position(), buffer.limit(), syntax.isExplicit)) {
+                throw new EOFException("元素头不完整，位置" + position);
+            }
+        }
+        tag = header.tag;
+        vrCode = header.vrCode;
+        length = header.length & 0xFFFFFFFFL;
+        consume(header.headerSize);
+
+        if (header.group() == 0xFFFE) {
+            return readDelimiter(header.element());
+        }
+        if (!syntax.isExplicit) {
+            DicomDictionaryEntry entry = DicomDictionary.getInstance().lookup(tag);
+            vrCode = entry != null ? entry.getDefaultVrCode() : VRCode.UN;
+        }
+
+        if (vrCode == VRCode.SQ || (length == UNDEFINED_LENGTH && vrCode == VRCode.UN)) {
+            push(SEQUENCE);
+            return START_SEQUENCE;
+        }
+        if (length == UNDEFINED_LENGTH) {
+            push(FRAGMENTS);
+            return START_SEQUENCE;
+        }
+        if (tag == FILE_META_GROUP_LENGTH && inFileMeta && length == 4) {
+            readFileMetaGroupLength();
+        }
+        if (tag == TRANSFER_SYNTAX_UID && inFileMeta) {
+            readTransferSyntaxUID();
+        }
+        startValue(END_ELEMENT);
+        return START_ELEMENT;
+    }
+
+    /**
+     * 处理(FFFE,xxxx)条目和分隔符
+     */
+    private int readDelimiter(int element) throws IOException {
+        byte top = depth > 0 ? frameKinds[depth - 1] : -1;
+        if (element == 0xE000) {
+            if (top == FRAGMENTS) {
+                if (length == UNDEFINED_LENGTH) {
+                    throw new IOException("封装像素数据的片段不能为未定义长度，位置" + (position - 8));
+                }
+                startValue(END_ITEM);
+            } else {
+                push(ITEM);
+            }
+            return START_ITEM;
+        }
+        if (element == 0xE00D && top == ITEM) {
+            depth--;
+            return END_ITEM;
+        }
+        if (element == 0xE0DD && (top == SEQUENCE || top == FRAGMENTS)) {
+            depth--;
+            return END_SEQUENCE;
+        }
+        throw new IOException(String.format("位置%d处的分隔符(FFFE,%04X)不在对应的容器内",
+                position - 8, element));
+    }
+
+    /**
+     * 预读(0002,0000)组长度，不消费值域：文件元信息在该元素值域之后再延续组长度个字节。
+     * 之后按位置判断文件元信息的结束，Deflated数据集的压缩数据不会被当作元素头读取
+     */
+    private void readFileMetaGroupLength() throws IOException {
+        if (!fill(4)) {
+            return;
+        }
+        long groupLength = buffer.getInt(buffer.position()) & 0xFFFFFFFFL;
+        fileMetaEnd = position + 4 + groupLength;
+    }
+
+    /**
+     * 文件元信息结束，换为数据集的传输语法
+     * @return 是否开始了解压（此时应重新读取下一个事件）
+     */
+    private boolean endFileMeta() {
+        inFileMeta = false;
+        setSyntax(datasetSyntax);
+        if (datasetSyntax.isDeflated()) {
+            startInflating();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 预读文件元信息中的传输语法UID，值域仍按正常分块交出
+     */
+    private void readTransferSyntaxUID() throws IOException {
+        if (length > buffer.capacity() || !fill((int) length)) {
+            return;
+        }
+        byte[] uid = new byte[(int) length];
+        buffer.duplicate().get(uid);
+        String text = new String(uid, StandardCharsets.US_ASCII).trim();
+        int end = text.indexOf('\0');
+        datasetSyntax = TransferSyntaxRegistry.forDataSet(end >= 0 ? text.substring(0, end) : text);
+    }
+
+    private void startValue(int endEvent) {
+        valueRemaining = length;
+        chunkOffset = 0;
+        inValue = true;
+        valueEndEvent = endEvent;
+    }
+
+    private void push(byte kind) {
+        if (depth == frameKinds.length) {
+            frameKinds = java.util.Arrays.copyOf(frameKinds, depth * 2);
+            frameEnds = java.util.Arrays.copyOf(frameEnds, depth * 2);
+        }
+        frameKinds[depth] = kind;
+        frameEnds[depth] = length == UNDEFINED_LENGTH ? -1 : position + length;
+        depth++;
+    }
+
+    /**
+     * 交出值域的下一段，长度不超过缓冲区中已有的数据
+     */
+    private void nextChunk() throws IOException {
+        if (!buffer.hasRemaining() && !fill(1)) {
+            throw new EOFException("值域不完整，还缺" + valueRemaining + "字节");
+        }
+        int n = (int) Math.min(valueRemaining, buffer.remaining());
+        ByteBuffer slice = buffer.slice();
+        slice.limit(n);
+        chunk = slice.asReadOnlyBuffer().order(buffer.order());
+        chunkOffset = length - valueRemaining;
+        consume(n);
+        valueRemaining -= n;
+    }
+
+    /**
+     * 跳过当前值域的剩余部分，下一次next()返回该值域的结束事件
+     * @throws IOException 读取失败或数据不完整
+     */
+    public void skipValue() throws IOException {
+        while (inValue && valueRemaining > 0) {
+            if (!buffer.hasRemaining() && !fill(1)) {
+                throw new EOFException("值域不完整，还缺" + valueRemaining + "字节");
+            }
+            int n = (int) Math.min(valueRemaining, buffer.remaining());
+            consume(n);
+            valueRemaining -= n;
+        }
+        chunk = null;
+    }
+
+    /**
+     * 读取当前值域的剩余部分，下一次next()返回该值域的结束事件
+     * 只适合长度有限的值，大的值域应按VALUE_CHUNK分块处理
+     * @return 值域字节
+     * @throws IOException 读取失败或数据不完整
+     */
+    public byte[] readValue() throws IOException {
+        if (!inValue) {
+            return new byte[0];
+        }
+        if (valueRemaining > Integer.MAX_VALUE - 8) {
+            throw new IOException("值域过大，无法读入数组: " + valueRemaining);
+        }
+        byte[] value = new byte[(int) valueRemaining];
+        int offset = 0;
+        while (valueRemaining > 0) {
+            if (!buffer.hasRemaining() && !fill(1)) {
+                throw new EOFException("值域不完整，还缺" + valueRemaining + "字节");
+            }
+            int n = (int) Math.min(valueRemaining, buffer.remaining());
+            buffer.get(value, offset, n);
+            position += n;
+            offset += n;
+            valueRemaining -= n;
+        }
+        chunk = null;
+        return value;
+    }
+
+    /**
+     * 以推送方式读取全部事件
+     * @param handler 事件处理器
+     * @throws IOException 读取失败或数据不完整
+     */
+    public void accept(DicomStreamHandler handler) throws IOException {
+        while (true) {
+            switch (next()) {
+                case START_ELEMENT:
+                    if (!handler.startElement(tag, vrCode, length)) {
+                        skipValue();
+                    }
+                    break;
+                case VALUE_CHUNK:
+                    handler.valueChunk(chunk);
+                    break;
+                case END_ELEMENT:
+                    handler.endElement();
+                    break;
+                case START_SEQUENCE:
+                    handler.startSequence(tag, vrCode, length);
+                    break;
+                case START_ITEM:
+                    handler.startItem(length);
+                    break;
+                case END_ITEM:
+                    handler.endItem();
+                    break;
+                case END_SEQUENCE:
+                    handler.endSequence();
+                    break;
+                default:
+                    handler.endDataset();
+                    return;
+            }
+        }
+    }
+
+    /**
+     * 保证缓冲区中至少有n个未消费字节
+     * @return 通道已读完且数据不足n字节时返回false
+     */
+    private boolean fill(int n) throws IOException {
+        if (buffer.remaining() >= n) {
+            return true;
+        }
+        buffer.compact();
+        try {
+            while (buffer.position() < n && !eof) {
+                if (channel.read(buffer) < 0) {
+                    eof = true;
+                }
+            }
+        } finally {
+            buffer.flip();
+        }
+        return buffer.remaining() >= n;
+    }
+
+    private void consume(int n) {
+        buffer.position(buffer.position() + n);
+        position += n;
+    }
+
+    /**
+     * 当前元素、序列或条目的标签 (组号 << 16 | 元素号)
+     */
+    public int getTag() {
+        return tag;
+    }
+
+    /**
+     * 当前元素的VR码，条目和分隔符为VRCode.NONE
+     */
+    public int getVRCode() {
+        return vrCode;
+    }
+
+    /**
+     * 当前元素的VR字符串
+     */
+    public String getVR() {
+        return VRCode.toString(vrCode);
+    }
+
+    /**
+     * 当前元素、序列或条目的值长度，未定义长度为UNDEFINED_LENGTH
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * VALUE_CHUNK事件的数据
+     * 只读，字节序与传输语法一致，直接引用内部缓冲区，只在下一次调用next()之前有效
+     * @return 数据，其它事件返回null
+     */
+    public ByteBuffer getChunk() {
+        return chunk;
+    }
+
+    /**
+     * 当前分块在值域中的偏移
+     */
+    public long getChunkOffset() {
+        return chunkOffset;
+    }
+
+    /**
+     * 当前所处的序列/条目嵌套层数
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 下一个未读字节在流中的位置（文件模式下从前导码开始计）
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * 当前使用的传输语法
+     */
+    public TransferSyntax getTransferSyntax() {
+        return syntax;
+    }
+
+    /**
+     * 是否正在读取文件元信息
+     */
+    public boolean isFileMeta() {
+        return inFileMeta;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
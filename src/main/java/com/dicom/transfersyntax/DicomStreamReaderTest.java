@@ -0,0 +1,200 @@
+package com.dicom.transfersyntax;
+
+import com.dicom.vr.VRCode;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 流式读取器测试程序
+ * 构造一个包含文件元信息、序列和封装像素数据的DICOM文件，
+ * 分别以拉取方式和推送方式读取并打印事件
+ */
+public class DicomStreamReaderTest {
+
+    /**
+     * 写入显式VR元素
+     */
+    private static void putElement(ByteBuffer buffer, int tag, String vr, byte[] value) {
+        buffer.putShort((short) (tag >>> 16)).putShort((short) tag);
+        buffer.put((byte) vr.charAt(0)).put((byte) vr.charAt(1));
+        if (VRCode.isLongVR(VRCode.of(vr))) {
+            buffer.putShort((short) 0).putInt(value.length);
+        } else {
+            buffer.putShort((short) value.length);
+        }
+        buffer.put(value);
+    }
+
+    private static void putHeader(ByteBuffer buffer, int tag, int length) {
+        buffer.putShort((short) (tag >>> 16)).putShort((short) tag).putInt(length);
+    }
+
+    /**
+     * 构造测试文件：显式VR小端，含未定义长度序列、定长序列和封装像素数据
+     */
+    private static byte[] createTestFile(int pixelLength) {
+        ByteBuffer buffer = ByteBuffer.allocate(512 + pixelLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(128);
+        buffer.put(new byte[] {'D', 'I', 'C', 'M'});
+        putElement(buffer, 0x00020010, "UI", "1.2.840.10008.1.2.1\0".getBytes());
+        putElement(buffer, 0x00100010, "PN", "DOE^JOHN".getBytes());
+
+        // 未定义长度序列，一个未定义长度条目
+        buffer.putShort((short) 0x0008).putShort((short) 0x1115).put(new byte[] {'S', 'Q', 0, 0}).putInt(-1);
+        putHeader(buffer, 0xFFFEE000, -1);
+        putElement(buffer, 0x00081150, "UI", "1.2.3.4\0".getBytes());
+        putHeader(buffer, 0xFFFEE00D, 0);
+        putHeader(buffer, 0xFFFEE0DD, 0);
+
+        // 定长序列，一个定长条目
+        putElement(buffer, 0x00081140, "SQ", new byte[0]);
+        buffer.putInt(buffer.position() - 4, 24);
+        putHeader(buffer, 0xFFFEE000, 16);
+        putElement(buffer, 0x00081155, "UI", "1.2.3.5\0".getBytes());
+
+        putElement(buffer, 0x00280010, "US", new byte[] {0, 2});
+
+        // 封装像素数据：空的基本偏移表 + 一个片段
+        buffer.putShort((short) 0x7FE0).putShort((short) 0x0010).put(new byte[] {'O', 'B', 0, 0}).putInt(-1);
+        putHeader(buffer, 0xFFFEE000, 0);
+        putHeader(buffer, 0xFFFEE000, 4);
+        buffer.put(new byte[] {1, 2, 3, 4});
+        putHeader(buffer, 0xFFFEE0DD, 0);
+
+        // 大的私有OW值域，用于验证分块
+        putElement(buffer, 0x7FE10010, "OW", new byte[pixelLength]);
+
+        byte[] data = new byte[buffer.position()];
+        System.arraycopy(buffer.array(), 0, data, 0, data.length);
+        return data;
+    }
+
+    /**
+     * 测试拉取方式
+     */
+    private static void testPull(byte[] data) throws IOException {
+        System.out.println("=== 测试拉取方式 ===");
+        try (DicomStreamReader reader = new DicomStreamReader(new ByteArrayInputStream(data))) {
+            int event;
+            int chunks = 0;
+            while ((event = reader.next()) != DicomStreamReader.END_DATASET) {
+                String indent = new String(new char[reader.getDepth() * 2]).replace('\0', ' ');
+                switch (event) {
+                    case DicomStreamReader.START_ELEMENT:
+                        chunks = 0;
+                        System.out.println(indent + String.format("(%04X,%04X) %s 长度=%d",
+                                reader.getTag() >>> 16, reader.getTag() & 0xFFFF,
+                                reader.getVR(), reader.getLength()));
+                        if (reader.getLength() <= 64) {
+                            System.out.println(indent + "  值: " + new String(reader.readValue()).trim());
+                        }
+                        break;
+                    case DicomStreamReader.VALUE_CHUNK:
+                        chunks++;
+                        break;
+                    case DicomStreamReader.END_ELEMENT:
+                        if (chunks > 0) {
+                            System.out.println(indent + "  分块数: " + chunks);
+                        }
+                        break;
+                    case DicomStreamReader.START_SEQUENCE:
+                        System.out.println(indent + String.format("(%04X,%04X) %s 序列开始",
+                                reader.getTag() >>> 16, reader.getTag() & 0xFFFF, reader.getVR()));
+                        break;
+                    case DicomStreamReader.START_ITEM:
+                        System.out.println(indent + "条目开始 长度=" + reader.getLength());
+                        break;
+                    case DicomStreamReader.END_ITEM:
+                        System.out.println(indent + "条目结束");
+                        break;
+                    case DicomStreamReader.END_SEQUENCE:
+                        System.out.println(indent + "序列结束");
+                        break;
+                    default:
+                        break;
+                }
+            }
+            System.out.println("读取结束，位置=" + reader.getPosition()
+                    + "，传输语法=" + reader.getTransferSyntax().name);
+        }
+    }
+
+    /**
+     * 测试推送方式：跳过(7FE1,0010)以外的普通元素值域，封装像素数据的片段照常交出
+     */
+    private static void testPush(byte[] data) throws IOException {
+        System.out.println("=== 测试推送方式 ===");
+        final long[] total = new long[2];
+        DicomStreamHandler handler = new DicomStreamHandler() {
+            @Override
+            public boolean startElement(int tag, int vrCode, long length) {
+                return tag == 0x7FE10010;
+            }
+
+            @Override
+            public void valueChunk(ByteBuffer chunk) {
+                total[0] += chunk.remaining();
+                total[1]++;
+            }
+
+            @Override
+            public void endElement() {
+            }
+
+            @Override
+            public void startSequence(int tag, int vrCode, long length) {
+            }
+
+            @Override
+            public void startItem(long length) {
+            }
+
+            @Override
+            public void endItem() {
+            }
+
+            @Override
+            public void endSequence() {
+            }
+
+            @Override
+            public void endDataset() {
+                System.out.println("收到字节数=" + total[0] + "，分块数=" + total[1]);
+            }
+        };
+        try (DicomStreamReader reader = new DicomStreamReader(new ByteArrayInputStream(data))) {
+            reader.accept(handler);
+        }
+    }
+
+    /**
+     * 测试截断的数据：在元素头中间、条目中间或序列定界符之前结束时抛出EOFException，不返回END_DATASET
+     */
+    private static void testTruncated(byte[] data) throws IOException {
+        System.out.println("=== 测试截断的数据 ===");
+        // 180: 顶层元素头中间；200: 条目内元素头中间；220: 条目已结束、序列定界符之前
+        for (int cut : new int[] {180, 200, 220}) {
+            byte[] part = java.util.Arrays.copyOf(data, cut);
+            int events = 0;
+            try (DicomStreamReader reader = new DicomStreamReader(new ByteArrayInputStream(part))) {
+                while (reader.next() != DicomStreamReader.END_DATASET) {
+                    events++;
+                }
+                System.out.println("截断于" + cut + "：错误地返回了END_DATASET");
+            } catch (EOFException e) {
+                System.out.println("截断于" + cut + "：" + events + "个事件后 " + e.getMessage());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        byte[] data = createTestFile(200000);
+        testPull(data);
+        testPush(data);
+        testTruncated(data);
+    }
+}
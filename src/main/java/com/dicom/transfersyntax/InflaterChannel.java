@@ -0,0 +1,153 @@
+package com.dicom.transfersyntax;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 解压通道
+ * 把Deflated传输语法的数据集（RFC 1951原始deflate数据，无zlib头）解压后按需读出：
+ * 压缩数据先取内存中已读入的部分，再从来源通道分块读取，输入、输出都只用固定大小的缓冲区，
+ * 不会把整个数据集解压到一个数组中
+ */
+public class InflaterChannel implements ReadableByteChannel {
+    private static final int INPUT_CHUNK = 16 * 1024;
+
+    private final Inflater inflater = new Inflater(true);
+    private final ByteBuffer head;              // 已在内存中的压缩数据
+    private final ReadableByteChannel source;   // 其余压缩数据，可以为null
+    private final boolean closeSource;          // 关闭时是否同时关闭来源通道
+    private final byte[] input = new byte[INPUT_CHUNK];
+    private byte[] output;                      // 目标不是堆缓冲区时的中转数组
+    private boolean dummyFed;                   // 是否已补过结尾的填充字节
+    private boolean open = true;
+
+    /**
+     * 构造函数，关闭时同时关闭来源通道
+     * @param head 已读入内存的压缩数据 [position, limit)，不改变其position
+     * @param source 后续压缩数据的来源通道，没有时为null
+     */
+    public InflaterChannel(ByteBuffer head, ReadableByteChannel source) {
+        this(head, source, true);
+    }
+
+    /**
+     * 构造函数
+     * @param head 已读入内存的压缩数据 [position, limit)，不改变其position
+     * @param source 后续压缩数据的来源通道，没有时为null
+     * @param closeSource 关闭时是否同时关闭来源通道；来源通道由调用方管理时为false
+     */
+    public InflaterChannel(ByteBuffer head, ReadableByteChannel source, boolean closeSource) {
+        this.head = head != null ? head.duplicate() : ByteBuffer.allocate(0);
+        this.source = source;
+        this.closeSource = closeSource;
+    }
+
+    /**
+     * 解压数据到dst
+     * @return 读出的字节数，解压结束时返回-1
+     * @throws EOFException 压缩数据在deflate流结束之前就已读完（数据被截断）
+     * @throws IOException 压缩数据错误或读取来源失败
+     */
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+        int n = 0;
+        while (n == 0) {
+            if (inflater.finished()) {
+                return -1;
+            }
+            if (inflater.needsInput() && !feed()) {
+                // 来源已读完而deflate流没有结束块：数据被截断，不能当作正常结束
+                throw new EOFException("deflate数据不完整，解压到第" + inflater.getBytesWritten() + "字节时压缩数据已结束");
+            }
+            try {
+                if (dst.hasArray()) {
+                    n = inflater.inflate(dst.array(), dst.arrayOffset() + dst.position(), dst.remaining());
+                    dst.position(dst.position() + n);
+                } else {
+                    if (output == null) {
+                        output = new byte[INPUT_CHUNK];
+                    }
+                    n = inflater.inflate(output, 0, Math.min(output.length, dst.remaining()));
+                    dst.put(output, 0, n);
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("deflate数据错误: " + e.getMessage(), e);
+            }
+            if (n == 0 && inflater.needsDictionary()) {
+                throw new IOException("deflate数据需要预置字典，不是DICOM的Deflated传输语法");
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 为解压器提供下一块压缩数据，来源读完后补一个dummy字节
+     * @return 是否提供了输入；已补过dummy字节且没有更多数据时返回false
+     */
+    private boolean feed() throws IOException {
+        int k = 0;
+        if (head.hasRemaining()) {
+            k = Math.min(head.remaining(), input.length);
+            head.get(input, 0, k);
+        } else if (source != null) {
+            ByteBuffer in = ByteBuffer.wrap(input);
+            while (k == 0) {
+                k = source.read(in);
+                if (k < 0) {
+                    k = 0;
+                    break;
+                }
+            }
+        }
+        if (k == 0) {
+            if (dummyFed) {
+                return false;
+            }
+            // Inflater(true)（nowrap，无zlib头）的要求：输入末尾须多提供一个"dummy"字节，
+            // zlib在该模式下才能完成最后一个块的解码（见Inflater(boolean)的文档）。
+            // 只补一次；补过之后仍需要输入，说明压缩数据确实不完整
+            dummyFed = true;
+            input[0] = 0;
+            k = 1;
+        }
+        inflater.setInput(input, 0, k);
+        return true;
+    }
+
+    /**
+     * 已读出的解压后字节数
+     */
+    public long getBytesRead() {
+        return inflater.getBytesWritten();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * 关闭通道；构造时closeSource为true时同时关闭来源通道
+     */
+    @Override
+    public void close() throws IOException {
+        if (open) {
+            open = false;
+            inflater.end();
+            if (source != null && closeSource) {
+                source.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.dicom.transfersyntax;
+
+import com.dicom.data.ElementHeader;
+import com.dicom.data.TransferSyntax;
+import com.dicom.vr.VRCode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 传输语法注册表
+ * 按UID查找共享的传输语法实例（哈希表，O(1)），解析时不再为每个文件、每个序列创建传输语法对象。
+ * 已注册：隐式VR小端、显式VR小端、显式VR大端、Deflated显式VR小端；其他传输语法可通过register添加
+ */
+public final class TransferSyntaxRegistry {
+    private static final Map<String, TransferSyntax> SYNTAXES = new ConcurrentHashMap<>();
+    
+    /** 识别传输语法时检查的元素头个数 */
+    private static final int SNIFF_HEADERS = 4;
+
+    static {
+        register(ImplicitVRLittleEndian.getInstance());
+        register(ExplicitVRLittleEndian.getInstance());
+        register(ExplicitVRBigEndian.getInstance());
+        register(DeflatedExplicitVRLittleEndian.getInstance());
+    }
+
+    private TransferSyntaxRegistry() {
+    }
+
+    /**
+     * 注册传输语法，UID相同时替换已有的实例
+     * @param syntax 传输语法（应是无状态的共享实例）
+     */
+    public static void register(TransferSyntax syntax) {
+        SYNTAXES.put(syntax.uid, syntax);
+    }
+
+    /**
+     * 按UID查找传输语法
+     * @param uid 传输语法UID，可带UI值末尾的0或空格填充
+     * @return 共享实例，未注册时返回null
+     */
+    public static TransferSyntax lookup(String uid) {
+        if (uid == null) {
+            return null;
+        }
+        TransferSyntax syntax = SYNTAXES.get(uid);
+        if (syntax == null && !uid.isEmpty() && uid.charAt(uid.length() - 1) <= ' ') {
+            syntax = SYNTAXES.get(uid.trim());
+        }
+        return syntax;
+    }
+
+    /**
+     * 按UID查找数据集使用的传输语法
+     * 未注册的UID（JPEG等压缩传输语法）的数据集按显式VR小端编码，像素数据为封装格式
+     * @param uid 传输语法UID
+     * @return 共享实例，不返回null
+     */
+    public static TransferSyntax forDataSet(String uid) {
+        TransferSyntax syntax = lookup(uid);
+        return syntax != null ? syntax : ExplicitVRLittleEndian.getInstance();
+    }
+
+    /**
+     * 是否已注册
+     */
+    public static boolean isRegistered(String uid) {
+        return lookup(uid) != null;
+    }
+
+    /**
+     * 识别没有文件元信息的数据集（ACR-NEMA风格的原始数据集）的传输语法
+     * 只检查开头的几个元素头：按显式VR小端、隐式VR小端、显式VR大端分别试读，
+     * 检查VR字节是否为已知VR、组号是否合理、标签是否递增、值长度是否超出数据，得分最高者胜出；
+     * 同分时依次优先隐式VR小端、显式VR小端（与旧的逐个尝试顺序一致）
+     * @param data 数据，有效数据为 [offset, limit)，不改变其position和字节序
+     * @param offset 数据集起始位置（绝对位置）
+     * @return 共享的传输语法实例，不返回null
+     */
+    public static TransferSyntax sniff(ByteBuffer data, int offset) {
+        ByteBuffer le = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer be = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int implicitLE = score(le, offset, false);
+        int explicitLE = score(le, offset, true);
+        int explicitBE = score(be, offset, true);
+        if (implicitLE >= explicitLE && implicitLE >= explicitBE) {
+            return ImplicitVRLittleEndian.getInstance();
+        }
+        return explicitLE >= explicitBE ? ExplicitVRLittleEndian.getInstance() : ExplicitVRBigEndian.getInstance();
+    }
+
+    /**
+     * 按一种传输语法试读开头的元素头并打分：每个合理的元素头加2分，标签不递增或组号可疑减1分，
+     * 遇到不合理的元素头即停止；值域超出数据末尾或为未定义长度时也停止（已读的元素头照常计分）
+     */
+    private static int score(ByteBuffer data, int offset, boolean explicit) {
+        ElementHeader header = new ElementHeader();
+        int limit = data.limit();
+        int pos = offset;
+        int previous = 0;
+        int score = 0;
+        for (int i = 0; i < SNIFF_HEADERS && header.read(data, pos, limit, explicit); i++) {
+            int group = header.group();
+            if (group == 0xFFFE || (group & 1) != 0 && group <= 0x0007) {
+                break;      // 顶层不会出现条目标记；组号1、3、5、7保留
+            }
+            if (explicit ? !VRCode.isKnown(header.vrCode)
+                    : VRCode.isKnown(VRCode.of(data.get(pos + 4), data.get(pos + 5)))) {
+                break;      // 隐式VR的长度低两字节恰好是VR字符，更可能是显式VR
+            }
+            pos += header.headerSize;
+            long length = header.length & 0xFFFFFFFFL;
+            score += 2;
+            if (i > 0 && Integer.compareUnsigned(header.tag, previous) <= 0) {
+                score--;
+            }
+            if ((group & 0xFF) == 0 && group != 0) {
+                score--;    // 0x0800、0x1000这样的组号多半是字节序读反了
+            }
+            previous = header.tag;
+            if (length == 0xFFFFFFFFL || length > limit - pos) {
+                break;
+            }
+            pos += (int) length;
+        }
+        return score;
+    }
+}
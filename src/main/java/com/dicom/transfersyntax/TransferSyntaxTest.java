@@ -68,7 +68,7 @@ public class TransferSyntaxTest {
             System.out.println("  Name: " + element.name);
             System.out.println("  VR: " + element.vr);
             System.out.println("  Length: " + element.length);
-            System.out.println("  Value: " + byteArrayToHexString(element.value));
+            System.out.println("  Value: " + byteArrayToHexString(element.getValue()));
             System.out.println("  解析位置: " + idx[0]);
             System.out.println("  ToString: " + element.ToString(""));
         } else {
@@ -102,8 +102,8 @@ public class TransferSyntaxTest {
             System.out.println("  Name: " + element.name);
             System.out.println("  VR: " + element.vr);
             System.out.println("  Length: " + element.length);
-            System.out.println("  Value: " + byteArrayToHexString(element.value));
-            System.out.println("  Value (String): " + new String(element.value));            System.out.println("  解析位置: " + idx[0]);
+            System.out.println("  Value: " + byteArrayToHexString(element.getValue()));
+            System.out.println("  Value (String): " + new String(element.getValue()));            System.out.println("  解析位置: " + idx[0]);
             System.out.println("  ToString: " + element.ToString(""));
         } else {
             System.out.println("解析失败");
@@ -111,6 +111,28 @@ public class TransferSyntaxTest {
         System.out.println();
     }
     
+    /**
+     * 测试传输语法注册表：按UID返回共享实例
+     */
+    private static void testRegistry() {
+        System.out.println("=== 测试传输语法注册表 ===");
+        String[] uids = {"1.2.840.10008.1.2", "1.2.840.10008.1.2.1", "1.2.840.10008.1.2.2\0", "1.2.840.10008.1.2.4.50"};
+        for (String uid : uids) {
+            com.dicom.data.TransferSyntax syntax = TransferSyntaxRegistry.lookup(uid);
+            System.out.println("  " + uid.trim() + " -> " + (syntax != null ? syntax.name : "未注册")
+                    + ", 数据集: " + TransferSyntaxRegistry.forDataSet(uid).name);
+        }
+        System.out.println("  共享实例: " + (TransferSyntaxRegistry.lookup("1.2.840.10008.1.2.1") == ExplicitVRLittleEndian.getInstance()));
+        // 无文件元信息的数据集：按开头的元素头识别
+        byte[] implicitData = hexStringToByteArray("08 00 21 00 08 00 00 00 31 39 39 35 30 36 30 38");
+        byte[] explicitData = hexStringToByteArray("08 00 21 00 44 41 08 00 31 39 39 35 30 36 30 38");
+        byte[] bigEndianData = hexStringToByteArray("00 08 00 21 44 41 00 08 31 39 39 35 30 36 30 38");
+        System.out.println("  识别: " + TransferSyntaxRegistry.sniff(java.nio.ByteBuffer.wrap(implicitData), 0).name
+                + ", " + TransferSyntaxRegistry.sniff(java.nio.ByteBuffer.wrap(explicitData), 0).name
+                + ", " + TransferSyntaxRegistry.sniff(java.nio.ByteBuffer.wrap(bigEndianData), 0).name);
+        System.out.println();
+    }
+    
     /**
      * 测试默认传输语法（隐式VR小端）- 多个数据元素
      */
@@ -140,12 +162,12 @@ public class TransferSyntaxTest {
                 System.out.println("  Name: " + element.name);
                 System.out.println("  VR: " + element.vr);
                 System.out.println("  Length: " + element.length);
-                System.out.println("  Value: " + byteArrayToHexString(element.value));
+                System.out.println("  Value: " + byteArrayToHexString(element.getValue()));
                 
                 // 尝试将值转换为字符串（如果是文本类型）
                 if (element.vr != null && (element.vr.equals("DA") || element.vr.equals("SH") || 
                     element.vr.equals("LO") || element.vr.equals("CS"))) {
-                    System.out.println("  Value (String): " + new String(element.value).trim());
+                    System.out.println("  Value (String): " + new String(element.getValue()).trim());
                 }
                   System.out.println("  ToString: " + element.ToString(""));
                 System.out.println("  当前位置: " + idx[0]);
@@ -177,6 +199,9 @@ public class TransferSyntaxTest {
             // 测试默认传输语法（多个数据元素）
             testDefaultTransferSyntaxMultiple();
             
+            // 测试传输语法注册表
+            testRegistry();
+            
             System.out.println("所有测试完成！");
             
         } catch (Exception e) {
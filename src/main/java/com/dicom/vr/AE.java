@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class AE extends VRBase {
     
-    private static AE instanceLE = null;
-    private static AE instanceBE = null;
+    private static final AE instanceLE = new AE(false);
+    private static final AE instanceBE = new AE(true);
     
     private AE(boolean isBE) {
         super(isBE, false);
     }
     
     public static AE getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new AE(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new AE(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class AS extends VRBase {
     
-    private static AS instanceLE = null;
-    private static AS instanceBE = null;
+    private static final AS instanceLE = new AS(false);
+    private static final AS instanceBE = new AS(true);
     
     private AS(boolean isBE) {
         super(isBE, false);
     }
     
     public static AS getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new AS(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new AS(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
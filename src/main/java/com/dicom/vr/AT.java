@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 属性标签，包含组号和元素号
  * 长度：固定4字节
  */
-public class AT extends VRBase {
+public class AT extends BinaryVR {
     
-    private static AT instanceLE = null;
-    private static AT instanceBE = null;
+    private static final AT instanceLE = new AT(false);
+    private static final AT instanceBE = new AT(true);
     
     private AT(boolean isBE) {
-        super(isBE, false);
+        super(isBE, false, 4, TAG);
     }
     
     public static AT getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new AT(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new AT(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -98,4 +88,14 @@ public class AT extends VRBase {
         
         return result;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return (readUInt16(data, offset) << 16) | readUInt16(data, offset + 2);
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return ((long) readUInt16(data, offset) << 16) | readUInt16(data, offset + 2);
+    }
 }
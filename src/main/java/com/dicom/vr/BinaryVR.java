@@ -0,0 +1,425 @@
+package com.dicom.vr;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * 定长二进制VR的公共基类（US/SS/UL/SL/FL/FD/AT/OB/OW/OF/OD/OL）
+ * 值域由若干个定长的值按传输语法字节序排列，第index个值位于 index * 值宽度 处，
+ * 基本类型访问方法按偏移直接解码，不装箱；
+ * 批量解码通过按字节序包装的ByteBuffer视图（ShortBuffer/IntBuffer等）整段读取，
+ * 字节数组版本包装后与ByteBuffer版本（文件映射、数组切片）共用同一实现
+ */
+abstract class BinaryVR extends VRBase {
+
+    // 值的类型
+    static final int UNSIGNED = 0;  // 无符号整数（OB/US/OW/UL/OL）
+    static final int SIGNED = 1;    // 有符号整数（SS/SL）
+    static final int FLOAT = 2;     // IEEE浮点（FL/OF/FD/OD）
+    static final int TAG = 3;       // 属性标签（AT，组号和元素号各自按字节序存放）
+
+    /**
+     * 单个值的字节数
+     */
+    protected final int valueSize;
+
+    /**
+     * 值的类型（UNSIGNED/SIGNED/FLOAT/TAG）
+     */
+    protected final int valueType;
+
+    /**
+     * 构造函数
+     * @param isBE 是否为BigEndian解码
+     * @param isLongVR 是否为长VR类型
+     * @param valueSize 单个值的字节数
+     * @param valueType 值的类型
+     */
+    BinaryVR(boolean isBE, boolean isLongVR, int valueSize, int valueType) {
+        super(isBE, isLongVR);
+        this.valueSize = valueSize;
+        this.valueType = valueType;
+    }
+
+    /**
+     * 按整数解码offset处的一个值
+     */
+    protected abstract int intAt(byte[] data, int offset);
+
+    /**
+     * 按浮点解码offset处的一个值
+     */
+    protected abstract double doubleAt(byte[] data, int offset);
+
+    @Override
+    public int getValueCount(byte[] data) {
+        return data == null ? 0 : data.length / valueSize;
+    }
+
+    @Override
+    public int getInt(byte[] data, int index, int defaultValue) {
+        if (data == null || index < 0 || (index + 1) * valueSize > data.length) {
+            return defaultValue;
+        }
+        return intAt(data, index * valueSize);
+    }
+
+    @Override
+    public double getDouble(byte[] data, int index, double defaultValue) {
+        if (data == null || index < 0 || (index + 1) * valueSize > data.length) {
+            return defaultValue;
+        }
+        return doubleAt(data, index * valueSize);
+    }
+
+    @Override
+    public short[] getShortArray(byte[] data) {
+        return getShortArray(wrap(data));
+    }
+
+    @Override
+    public int[] getIntArray(byte[] data) {
+        return getIntArray(wrap(data));
+    }
+
+    @Override
+    public float[] getFloatArray(byte[] data) {
+        return getFloatArray(wrap(data));
+    }
+
+    @Override
+    public double[] getDoubleArray(byte[] data) {
+        return getDoubleArray(wrap(data));
+    }
+
+    @Override
+    public int getShorts(byte[] data, short[] dst, int dstOffset) {
+        return getShorts(wrap(data), dst, dstOffset);
+    }
+
+    @Override
+    public int getInts(byte[] data, int[] dst, int dstOffset) {
+        return getInts(wrap(data), dst, dstOffset);
+    }
+
+    @Override
+    public int getFloats(byte[] data, float[] dst, int dstOffset) {
+        return getFloats(wrap(data), dst, dstOffset);
+    }
+
+    @Override
+    public int getDoubles(byte[] data, double[] dst, int dstOffset) {
+        return getDoubles(wrap(data), dst, dstOffset);
+    }
+
+    // 以下为ByteBuffer重载：直接从缓冲区（文件映射、数组切片）解码，不复制值域
+
+    /**
+     * 只复制startIndex处的一个值（valueSize字节）后解析，不复制整个值域
+     */
+    @Override
+    public <T> T GetValue(ByteBuffer data, int startIndex) {
+        if (data == null || startIndex < 0 || startIndex + valueSize > data.remaining()) {
+            return null;
+        }
+        byte[] bytes = new byte[valueSize];
+        ByteBuffer src = data.duplicate();
+        src.position(data.position() + startIndex);
+        src.get(bytes);
+        return GetValue(bytes, 0);
+    }
+
+    @Override
+    public int getValueCount(ByteBuffer data) {
+        return data == null ? 0 : data.remaining() / valueSize;
+    }
+
+    @Override
+    public int getInt(ByteBuffer data, int index, int defaultValue) {
+        if (index < 0 || index >= getValueCount(data)) {
+            return defaultValue;
+        }
+        return intAt(data, data.position() + index * valueSize);
+    }
+
+    @Override
+    public double getDouble(ByteBuffer data, int index, double defaultValue) {
+        if (index < 0 || index >= getValueCount(data)) {
+            return defaultValue;
+        }
+        return doubleAt(data, data.position() + index * valueSize);
+    }
+
+    @Override
+    public int getInt(ByteBuffer source, int offset, int length, int index, int defaultValue) {
+        if (source == null || index < 0 || index >= length / valueSize) {
+            return defaultValue;
+        }
+        return intAt(source, offset + index * valueSize);
+    }
+
+    @Override
+    public double getDouble(ByteBuffer source, int offset, int length, int index, double defaultValue) {
+        if (source == null || index < 0 || index >= length / valueSize) {
+            return defaultValue;
+        }
+        return doubleAt(source, offset + index * valueSize);
+    }
+
+    @Override
+    public short[] getShortArray(ByteBuffer data) {
+        short[] result = new short[getValueCount(data)];
+        getShorts(data, result, 0);
+        return result;
+    }
+
+    @Override
+    public int[] getIntArray(ByteBuffer data) {
+        int[] result = new int[getValueCount(data)];
+        getInts(data, result, 0);
+        return result;
+    }
+
+    @Override
+    public float[] getFloatArray(ByteBuffer data) {
+        float[] result = new float[getValueCount(data)];
+        getFloats(data, result, 0);
+        return result;
+    }
+
+    @Override
+    public double[] getDoubleArray(ByteBuffer data) {
+        double[] result = new double[getValueCount(data)];
+        getDoubles(data, result, 0);
+        return result;
+    }
+
+    @Override
+    public int getShorts(ByteBuffer data, short[] dst, int dstOffset) {
+        int count = decodeCount(data, dst.length, dstOffset);
+        ByteBuffer src = view(data);
+        if (valueSize == 2 && valueType != TAG) {
+            src.asShortBuffer().get(dst, dstOffset, count);
+        } else {
+            for (int i = 0, offset = 0; i < count; i++, offset += valueSize) {
+                dst[dstOffset + i] = (short) intAt(src, offset);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getInts(ByteBuffer data, int[] dst, int dstOffset) {
+        int count = decodeCount(data, dst.length, dstOffset);
+        ByteBuffer src = view(data);
+        if (valueSize == 4 && (valueType == UNSIGNED || valueType == SIGNED)) {
+            src.asIntBuffer().get(dst, dstOffset, count);
+        } else if (valueSize == 2 && valueType == UNSIGNED) {
+            ShortBuffer values = src.asShortBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = values.get(i) & 0xFFFF;
+            }
+        } else if (valueSize == 2 && valueType == SIGNED) {
+            ShortBuffer values = src.asShortBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = values.get(i);
+            }
+        } else if (valueSize == 4 && valueType == FLOAT) {
+            FloatBuffer values = src.asFloatBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = (int) values.get(i);
+            }
+        } else if (valueSize == 8 && valueType == FLOAT) {
+            DoubleBuffer values = src.asDoubleBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = (int) values.get(i);
+            }
+        } else {
+            for (int i = 0, offset = 0; i < count; i++, offset += valueSize) {
+                dst[dstOffset + i] = intAt(src, offset);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getFloats(ByteBuffer data, float[] dst, int dstOffset) {
+        int count = decodeCount(data, dst.length, dstOffset);
+        ByteBuffer src = view(data);
+        if (valueSize == 4 && valueType == FLOAT) {
+            src.asFloatBuffer().get(dst, dstOffset, count);
+        } else if (valueSize == 8 && valueType == FLOAT) {
+            DoubleBuffer values = src.asDoubleBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = (float) values.get(i);
+            }
+        } else if (valueSize == 2 && valueType == UNSIGNED) {
+            ShortBuffer values = src.asShortBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = values.get(i) & 0xFFFF;
+            }
+        } else if (valueSize == 2 && valueType == SIGNED) {
+            ShortBuffer values = src.asShortBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = values.get(i);
+            }
+        } else {
+            for (int i = 0, offset = 0; i < count; i++, offset += valueSize) {
+                dst[dstOffset + i] = (float) doubleAt(src, offset);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int getDoubles(ByteBuffer data, double[] dst, int dstOffset) {
+        int count = decodeCount(data, dst.length, dstOffset);
+        ByteBuffer src = view(data);
+        if (valueSize == 8 && valueType == FLOAT) {
+            src.asDoubleBuffer().get(dst, dstOffset, count);
+        } else if (valueSize == 4 && valueType == FLOAT) {
+            FloatBuffer values = src.asFloatBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = values.get(i);
+            }
+        } else if (valueSize == 4 && valueType == UNSIGNED) {
+            IntBuffer values = src.asIntBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = values.get(i) & 0xFFFFFFFFL;
+            }
+        } else if (valueSize == 2 && valueType == UNSIGNED) {
+            ShortBuffer values = src.asShortBuffer();
+            for (int i = 0; i < count; i++) {
+                dst[dstOffset + i] = values.get(i) & 0xFFFF;
+            }
+        } else {
+            for (int i = 0, offset = 0; i < count; i++, offset += valueSize) {
+                dst[dstOffset + i] = doubleAt(src, offset);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 按整数解码缓冲区绝对位置offset处的一个值，按本VR字节序，不创建视图
+     */
+    private int intAt(ByteBuffer src, int offset) {
+        switch (valueType) {
+            case FLOAT:
+                return (int) doubleAt(src, offset);
+            case TAG:
+                return ((shortAt(src, offset) & 0xFFFF) << 16) | (shortAt(src, offset + 2) & 0xFFFF);
+            case SIGNED:
+                return valueSize == 2 ? shortAt(src, offset) : int32At(src, offset);
+            default:
+                if (valueSize == 1) {
+                    return src.get(offset) & 0xFF;
+                }
+                return valueSize == 2 ? shortAt(src, offset) & 0xFFFF : int32At(src, offset);
+        }
+    }
+
+    /**
+     * 按浮点解码缓冲区绝对位置offset处的一个值
+     */
+    private double doubleAt(ByteBuffer src, int offset) {
+        if (valueType == FLOAT) {
+            if (valueSize == 4) {
+                return Float.intBitsToFloat(int32At(src, offset));
+            }
+            long bits = src.getLong(offset);
+            return Double.longBitsToDouble(src.order() == byteOrder() ? bits : Long.reverseBytes(bits));
+        }
+        if (valueSize == 4 && valueType != SIGNED) {
+            return intAt(src, offset) & 0xFFFFFFFFL;
+        }
+        return intAt(src, offset);
+    }
+
+    /**
+     * 本次批量解码的值个数：值域中的完整值个数与目标数组剩余空间的较小者
+     */
+    private int decodeCount(ByteBuffer data, int dstLength, int dstOffset) {
+        if (dstOffset < 0 || dstOffset > dstLength) {
+            throw new IndexOutOfBoundsException("目标数组偏移越界: " + dstOffset);
+        }
+        return Math.min(getValueCount(data), dstLength - dstOffset);
+    }
+
+    /**
+     * 按本VR字节序读取16位值；缓冲区字节序不同时交换字节，不修改缓冲区的字节序
+     */
+    private short shortAt(ByteBuffer src, int offset) {
+        short value = src.getShort(offset);
+        return src.order() == byteOrder() ? value : Short.reverseBytes(value);
+    }
+
+    /**
+     * 按本VR字节序读取32位值
+     */
+    private int int32At(ByteBuffer src, int offset) {
+        int value = src.getInt(offset);
+        return src.order() == byteOrder() ? value : Integer.reverseBytes(value);
+    }
+
+    /**
+     * 本VR的字节序
+     */
+    private ByteOrder byteOrder() {
+        return isBE ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    }
+
+    /**
+     * 包装字节数组，null视为空值域
+     */
+    private static ByteBuffer wrap(byte[] data) {
+        return data == null ? null : ByteBuffer.wrap(data);
+    }
+
+    /**
+     * 值域 [position, limit) 的切片，按本VR字节序设置，长度截断为完整值的整数倍；不复制，不改变来源
+     */
+    private ByteBuffer view(ByteBuffer data) {
+        if (data == null) {
+            return ByteBuffer.allocate(0);
+        }
+        ByteBuffer buffer = data.duplicate();
+        buffer.limit(buffer.position() + getValueCount(data) * valueSize);
+        return buffer.slice().order(byteOrder());
+    }
+
+    /**
+     * 按字节序读取16位无符号整数
+     */
+    protected final int readUInt16(byte[] data, int offset) {
+        if (isBE) {
+            return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+        }
+        return ((data[offset + 1] & 0xFF) << 8) | (data[offset] & 0xFF);
+    }
+
+    /**
+     * 按字节序读取32位整数
+     */
+    protected final int readInt32(byte[] data, int offset) {
+        if (isBE) {
+            return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                    | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+        }
+        return ((data[offset + 3] & 0xFF) << 24) | ((data[offset + 2] & 0xFF) << 16)
+                | ((data[offset + 1] & 0xFF) << 8) | (data[offset] & 0xFF);
+    }
+
+    /**
+     * 按字节序读取64位整数
+     */
+    protected final long readInt64(byte[] data, int offset) {
+        long high = readInt32(data, isBE ? offset : offset + 4) & 0xFFFFFFFFL;
+        long low = readInt32(data, isBE ? offset + 4 : offset) & 0xFFFFFFFFL;
+        return (high << 32) | low;
+    }
+}
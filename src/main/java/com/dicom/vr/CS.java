@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class CS extends VRBase {
     
-    private static CS instanceLE = null;
-    private static CS instanceBE = null;
+    private static final CS instanceLE = new CS(false);
+    private static final CS instanceBE = new CS(true);
     
     private CS(boolean isBE) {
         super(isBE, false);
     }
     
     public static CS getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new CS(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new CS(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class DA extends VRBase {
     
-    private static DA instanceLE = null;
-    private static DA instanceBE = null;
+    private static final DA instanceLE = new DA(false);
+    private static final DA instanceBE = new DA(true);
     
     private DA(boolean isBE) {
         super(isBE, false);
     }
     
     public static DA getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new DA(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new DA(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class DS extends VRBase {
     
-    private static DS instanceLE = null;
-    private static DS instanceBE = null;
+    private static final DS instanceLE = new DS(false);
+    private static final DS instanceBE = new DS(true);
     
     private DS(boolean isBE) {
         super(isBE, false);
     }
     
     public static DS getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new DS(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new DS(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
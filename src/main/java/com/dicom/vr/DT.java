@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class DT extends VRBase {
     
-    private static DT instanceLE = null;
-    private static DT instanceBE = null;
+    private static final DT instanceLE = new DT(false);
+    private static final DT instanceBE = new DT(true);
     
     private DT(boolean isBE) {
         super(isBE, false);
     }
     
     public static DT getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new DT(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new DT(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
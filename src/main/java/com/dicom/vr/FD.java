@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 表示64位双精度浮点数
  * 长度：8字节
  */
-public class FD extends VRBase {
+public class FD extends BinaryVR {
     
-    private static FD instanceLE = null;
-    private static FD instanceBE = null;
+    private static final FD instanceLE = new FD(false);
+    private static final FD instanceBE = new FD(true);
     
     private FD(boolean isBE) {
-        super(isBE, false);
+        super(isBE, false, 8, FLOAT);
     }
     
     public static FD getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new FD(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new FD(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -103,4 +93,14 @@ public class FD extends VRBase {
         
         return result;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return (int) Double.longBitsToDouble(readInt64(data, offset));
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return Double.longBitsToDouble(readInt64(data, offset));
+    }
 }
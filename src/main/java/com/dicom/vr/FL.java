@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 表示32位单精度浮点数
  * 长度：4字节
  */
-public class FL extends VRBase {
+public class FL extends BinaryVR {
     
-    private static FL instanceLE = null;
-    private static FL instanceBE = null;
+    private static final FL instanceLE = new FL(false);
+    private static final FL instanceBE = new FL(true);
     
     private FL(boolean isBE) {
-        super(isBE, false);
+        super(isBE, false, 4, FLOAT);
     }
     
     public static FL getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new FL(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new FL(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -86,4 +76,14 @@ public class FL extends VRBase {
         
         return bytes;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return (int) Float.intBitsToFloat(readInt32(data, offset));
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return Float.intBitsToFloat(readInt32(data, offset));
+    }
 }
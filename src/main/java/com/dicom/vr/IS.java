@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class IS extends VRBase {
     
-    private static IS instanceLE = null;
-    private static IS instanceBE = null;
+    private static final IS instanceLE = new IS(false);
+    private static final IS instanceBE = new IS(true);
     
     private IS(boolean isBE) {
         super(isBE, false);
     }
     
     public static IS getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new IS(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new IS(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
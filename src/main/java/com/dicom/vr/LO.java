@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class LO extends VRBase {
     
-    private static LO instanceLE = null;
-    private static LO instanceBE = null;
+    private static final LO instanceLE = new LO(false);
+    private static final LO instanceBE = new LO(true);
     
     private LO(boolean isBE) {
         super(isBE, false);
     }
     
     public static LO getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new LO(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new LO(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
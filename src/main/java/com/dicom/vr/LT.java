@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class LT extends VRBase {
     
-    private static LT instanceLE = null;
-    private static LT instanceBE = null;
+    private static final LT instanceLE = new LT(false);
+    private static final LT instanceBE = new LT(true);
     
     private LT(boolean isBE) {
         super(isBE, false);
     }
     
     public static LT getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new LT(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new LT(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
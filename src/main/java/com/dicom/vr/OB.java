@@ -1,31 +1,23 @@
 package com.dicom.vr;
 
+import java.nio.ByteBuffer;
+
 /**
  * OB (Other Byte String) VR类
  * 其他字节字符串，用于存储字节数据
  * 长度：可变，长VR类型
  */
-public class OB extends VRBase {
+public class OB extends BinaryVR {
     
-    private static OB instanceLE = null;
-    private static OB instanceBE = null;
+    private static final OB instanceLE = new OB(false);
+    private static final OB instanceBE = new OB(true);
     
     private OB(boolean isBE) {
-        super(isBE, true);  // OB是长VR类型
+        super(isBE, true, 1, UNSIGNED);  // OB是长VR类型
     }
     
     public static OB getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new OB(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new OB(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -40,6 +32,22 @@ public class OB extends VRBase {
         return (T) value;
     }
     
+    /**
+     * OB的值为startIndex之后的全部字节：复制一次，返回的数组是独立的快照
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T GetValue(ByteBuffer data, int startIndex) {
+        if (data == null || startIndex < 0 || startIndex >= data.remaining()) {
+            return null;
+        }
+        byte[] value = new byte[data.remaining() - startIndex];
+        ByteBuffer src = data.duplicate();
+        src.position(data.position() + startIndex);
+        src.get(value);
+        return (T) value;
+    }
+    
     @Override
     public byte[] SetValue(Object value) {
         if (value == null) {
@@ -60,4 +68,14 @@ public class OB extends VRBase {
             throw new IllegalArgumentException("OB value must be byte array, got: " + value.getClass().getSimpleName());
         }
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return data[offset] & 0xFF;
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return data[offset] & 0xFF;
+    }
 }
@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 其他双精度浮点数字符串
  * 长度：可变，长VR类型
  */
-public class OD extends VRBase {
+public class OD extends BinaryVR {
     
-    private static OD instanceLE = null;
-    private static OD instanceBE = null;
+    private static final OD instanceLE = new OD(false);
+    private static final OD instanceBE = new OD(true);
     
     private OD(boolean isBE) {
-        super(isBE, true);  // OD是长VR类型
+        super(isBE, true, 8, FLOAT);  // OD是长VR类型
     }
     
     public static OD getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new OD(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new OD(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -112,4 +102,14 @@ public class OD extends VRBase {
         
         return result;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return (int) Double.longBitsToDouble(readInt64(data, offset));
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return Double.longBitsToDouble(readInt64(data, offset));
+    }
 }
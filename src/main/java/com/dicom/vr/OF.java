@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 其他单精度浮点数字符串
  * 长度：可变，长VR类型
  */
-public class OF extends VRBase {
+public class OF extends BinaryVR {
     
-    private static OF instanceLE = null;
-    private static OF instanceBE = null;
+    private static final OF instanceLE = new OF(false);
+    private static final OF instanceBE = new OF(true);
     
     private OF(boolean isBE) {
-        super(isBE, true);  // OF是长VR类型
+        super(isBE, true, 4, FLOAT);  // OF是长VR类型
     }
     
     public static OF getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new OF(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new OF(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -93,4 +83,14 @@ public class OF extends VRBase {
         
         return result;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return (int) Float.intBitsToFloat(readInt32(data, offset));
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return Float.intBitsToFloat(readInt32(data, offset));
+    }
 }
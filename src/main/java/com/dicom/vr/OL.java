@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 其他长整数字符串
  * 长度：可变，长VR类型
  */
-public class OL extends VRBase {
+public class OL extends BinaryVR {
     
-    private static OL instanceLE = null;
-    private static OL instanceBE = null;
+    private static final OL instanceLE = new OL(false);
+    private static final OL instanceBE = new OL(true);
     
     private OL(boolean isBE) {
-        super(isBE, true);  // OL是长VR类型
+        super(isBE, true, 4, UNSIGNED);  // OL是长VR类型
     }
     
     public static OL getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new OL(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new OL(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -94,4 +84,14 @@ public class OL extends VRBase {
         
         return result;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return readInt32(data, offset);
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return readInt32(data, offset) & 0xFFFFFFFFL;
+    }
 }
@@ -5,27 +5,17 @@ package com.dicom.vr;
  * Other Word String, 16-bit word data
  * Length: Variable, long VR type
  */
-public class OW extends VRBase {
+public class OW extends BinaryVR {
     
-    private static OW instanceLE = null;
-    private static OW instanceBE = null;
+    private static final OW instanceLE = new OW(false);
+    private static final OW instanceBE = new OW(true);
     
     private OW(boolean isBE) {
-        super(isBE, true);  // OW是长VR类型
+        super(isBE, true, 2, UNSIGNED);  // OW是长VR类型
     }
     
     public static OW getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new OW(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new OW(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -71,4 +61,14 @@ public class OW extends VRBase {
         throw new IllegalArgumentException("short[] type needed, but got: " + 
             obj.getClass().getSimpleName());
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return readUInt16(data, offset);
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return readUInt16(data, offset);
+    }
 }
@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class PN extends VRBase {
     
-    private static PN instanceLE = null;
-    private static PN instanceBE = null;
+    private static final PN instanceLE = new PN(false);
+    private static final PN instanceBE = new PN(true);
     
     private PN(boolean isBE) {
         super(isBE, false);
     }
     
     public static PN getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new PN(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new PN(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
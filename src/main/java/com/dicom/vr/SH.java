@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class SH extends VRBase {
     
-    private static SH instanceLE = null;
-    private static SH instanceBE = null;
+    private static final SH instanceLE = new SH(false);
+    private static final SH instanceBE = new SH(true);
     
     private SH(boolean isBE) {
         super(isBE, false);
     }
     
     public static SH getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new SH(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new SH(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
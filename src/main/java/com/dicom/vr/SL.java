@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 表示32位有符号长整型
  * 长度：4字节
  */
-public class SL extends VRBase {
+public class SL extends BinaryVR {
     
-    private static SL instanceLE = null;
-    private static SL instanceBE = null;
+    private static final SL instanceLE = new SL(false);
+    private static final SL instanceBE = new SL(true);
     
     private SL(boolean isBE) {
-        super(isBE, false);
+        super(isBE, false, 4, SIGNED);
     }
     
     public static SL getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new SL(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new SL(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -85,4 +75,14 @@ public class SL extends VRBase {
         
         return bytes;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return readInt32(data, offset);
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return readInt32(data, offset);
+    }
 }
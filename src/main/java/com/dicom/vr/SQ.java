@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class SQ extends VRBase {
     
-    private static SQ instanceLE = null;
-    private static SQ instanceBE = null;
+    private static final SQ instanceLE = new SQ(false);
+    private static final SQ instanceBE = new SQ(true);
     
     private SQ(boolean isBE) {
         super(isBE, true);  // SQ是长VR类型
     }
     
     public static SQ getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new SQ(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new SQ(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
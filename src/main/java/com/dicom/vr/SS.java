@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 表示16位有符号短整型
  * 长度：2字节
  */
-public class SS extends VRBase {
+public class SS extends BinaryVR {
     
-    private static SS instanceLE = null;
-    private static SS instanceBE = null;
+    private static final SS instanceLE = new SS(false);
+    private static final SS instanceBE = new SS(true);
     
     private SS(boolean isBE) {
-        super(isBE, false);
+        super(isBE, false, 2, SIGNED);
     }
     
     public static SS getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new SS(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new SS(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -77,4 +67,14 @@ public class SS extends VRBase {
         
         return bytes;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return (short) readUInt16(data, offset);
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return (short) readUInt16(data, offset);
+    }
 }
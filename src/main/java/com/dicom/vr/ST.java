@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class ST extends VRBase {
     
-    private static ST instanceLE = null;
-    private static ST instanceBE = null;
+    private static final ST instanceLE = new ST(false);
+    private static final ST instanceBE = new ST(true);
     
     private ST(boolean isBE) {
         super(isBE, false);
     }
     
     public static ST getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new ST(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new ST(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
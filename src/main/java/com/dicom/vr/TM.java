@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class TM extends VRBase {
     
-    private static TM instanceLE = null;
-    private static TM instanceBE = null;
+    private static final TM instanceLE = new TM(false);
+    private static final TM instanceBE = new TM(true);
     
     private TM(boolean isBE) {
         super(isBE, false);
     }
     
     public static TM getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new TM(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new TM(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
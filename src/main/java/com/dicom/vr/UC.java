@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class UC extends VRBase {
     
-    private static UC instanceLE = null;
-    private static UC instanceBE = null;
+    private static final UC instanceLE = new UC(false);
+    private static final UC instanceBE = new UC(true);
     
     private UC(boolean isBE) {
         super(isBE, true);  // UC是长VR类型
     }
     
     public static UC getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new UC(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new UC(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class UI extends VRBase {
     
-    private static UI instanceLE = null;
-    private static UI instanceBE = null;
+    private static final UI instanceLE = new UI(false);
+    private static final UI instanceBE = new UI(true);
     
     private UI(boolean isBE) {
         super(isBE, false);
     }
     
     public static UI getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new UI(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new UI(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -5,19 +5,19 @@ package com.dicom.vr;
  * Represents 32-bit unsigned long integer
  * Length: 4 bytes
  */
-public class UL extends VRBase {
+public class UL extends BinaryVR {
       /**
      * Flyweight pattern: static instance to reduce memory usage
      */
-    private static UL instanceLE = null;  // Little Endian实例
-    private static UL instanceBE = null;  // Big Endian实例
+    private static final UL instanceLE = new UL(false);  // Little Endian实例
+    private static final UL instanceBE = new UL(true);   // Big Endian实例
     
     /**
      * 私有构造函数，防止外部直接实例化
      * @param isBE 是否为BigEndian解码
      */
     private UL(boolean isBE) {
-        super(isBE, false);  // UL不是长VR类型
+        super(isBE, false, 4, UNSIGNED);  // UL不是长VR类型
     }
     
     /**
@@ -26,17 +26,7 @@ public class UL extends VRBase {
      * @return UL实例
      */
     public static UL getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new UL(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new UL(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     /**
@@ -93,4 +83,14 @@ public class UL extends VRBase {
         throw new IllegalArgumentException("int type needed, but got: " + 
             val.getClass().getSimpleName());
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return readInt32(data, offset);
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return readInt32(data, offset) & 0xFFFFFFFFL;
+    }
 }
@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class UN extends VRBase {
     
-    private static UN instanceLE = null;
-    private static UN instanceBE = null;
+    private static final UN instanceLE = new UN(false);
+    private static final UN instanceBE = new UN(true);
     
     private UN(boolean isBE) {
         super(isBE, true);  // UN是长VR类型
     }
     
     public static UN getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new UN(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new UN(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
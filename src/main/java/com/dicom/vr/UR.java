@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class UR extends VRBase {
     
-    private static UR instanceLE = null;
-    private static UR instanceBE = null;
+    private static final UR instanceLE = new UR(false);
+    private static final UR instanceBE = new UR(true);
     
     private UR(boolean isBE) {
         super(isBE, true);  // UR是长VR类型
     }
     
     public static UR getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new UR(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new UR(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
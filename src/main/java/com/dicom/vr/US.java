@@ -5,27 +5,17 @@ package com.dicom.vr;
  * 表示16位无符号短整型
  * 长度：2字节
  */
-public class US extends VRBase {
+public class US extends BinaryVR {
     
-    private static US instanceLE = null;
-    private static US instanceBE = null;
+    private static final US instanceLE = new US(false);
+    private static final US instanceBE = new US(true);
     
     private US(boolean isBE) {
-        super(isBE, false);
+        super(isBE, false, 2, UNSIGNED);
     }
     
     public static US getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new US(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new US(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
     
     @Override
@@ -78,4 +68,14 @@ public class US extends VRBase {
         
         return bytes;
     }
+    
+    @Override
+    protected int intAt(byte[] data, int offset) {
+        return readUInt16(data, offset);
+    }
+    
+    @Override
+    protected double doubleAt(byte[] data, int offset) {
+        return readUInt16(data, offset);
+    }
 }
@@ -7,25 +7,15 @@ package com.dicom.vr;
  */
 public class UT extends VRBase {
     
-    private static UT instanceLE = null;
-    private static UT instanceBE = null;
+    private static final UT instanceLE = new UT(false);
+    private static final UT instanceBE = new UT(true);
     
     private UT(boolean isBE) {
         super(isBE, true);  // UT是长VR类型
     }
     
     public static UT getInstance(boolean isBE) {
-        if (isBE) {
-            if (instanceBE == null) {
-                instanceBE = new UT(true);
-            }
-            return instanceBE;
-        } else {
-            if (instanceLE == null) {
-                instanceLE = new UT(false);
-            }
-            return instanceLE;
-        }
+        return isBE ? instanceBE : instanceLE;
     }
       @Override
     @SuppressWarnings("unchecked")
@@ -1,5 +1,7 @@
 package com.dicom.vr;
 
+import java.nio.ByteBuffer;
+
 /**
  * VRBase抽象基类
  * 实现DICOM值表示（Value Representation）的基础功能
@@ -55,4 +57,465 @@ public abstract class VRBase {
         Object value = GetValue(data, startIndex);
         return head + (value != null ? value.toString() : "");
     }
+    
+    // ---------------------------------------------------------------
+    // 基本类型访问方法：直接从值域字节解码，不装箱
+    // 以下为字符串VR（IS/DS等，多值以反斜杠分隔）的实现，二进制VR在BinaryVR中重写
+    // ---------------------------------------------------------------
+    
+    /**
+     * 获取值的个数（VM）
+     * @param data 值域字节
+     * @return 值个数，空值返回0
+     */
+    public int getValueCount(byte[] data) {
+        if (data == null) {
+            return 0;
+        }
+        int start = 0;
+        int end = data.length;
+        while (start < end && (data[start] == ' ' || data[start] == 0)) {
+            start++;
+        }
+        while (end > start && (data[end - 1] == ' ' || data[end - 1] == 0)) {
+            end--;
+        }
+        if (start == end) {
+            return 0;
+        }
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (data[i] == '\\') {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 获取第index个值的整数形式
+     * @param data 值域字节
+     * @param index 值序号（从0开始）
+     * @param defaultValue 值不存在或无法解析时的返回值
+     * @return 整数值
+     */
+    public int getInt(byte[] data, int index, int defaultValue) {
+        double value = getDouble(data, index, Double.NaN);
+        return Double.isNaN(value) ? defaultValue : (int) value;
+    }
+    
+    /**
+     * 获取第index个值的浮点形式
+     * @param data 值域字节
+     * @param index 值序号（从0开始）
+     * @param defaultValue 值不存在或无法解析时的返回值
+     * @return 浮点值
+     */
+    public double getDouble(byte[] data, int index, double defaultValue) {
+        if (data == null || index < 0) {
+            return defaultValue;
+        }
+        int component = 0;
+        int start = 0;
+        for (int i = 0; i <= data.length; i++) {
+            boolean atEnd = i == data.length || data[i] == 0;
+            if (atEnd || data[i] == '\\') {
+                if (component == index) {
+                    return parseDecimal(data, start, i, defaultValue);
+                }
+                if (atEnd) {
+                    break;
+                }
+                component++;
+                start = i + 1;
+            }
+        }
+        return defaultValue;
+    }
+    
+    /**
+     * 获取值域的字符串形式
+     * @param data 值域字节
+     * @return 字符串，值为空时返回null
+     */
+    public String getString(byte[] data) {
+        Object value = GetValue(data, 0);
+        return value != null ? value.toString() : null;
+    }
+    
+    /**
+     * 获取全部值的整数数组
+     * @param data 值域字节
+     * @return 整数数组，无法解析的值为0
+     */
+    public int[] getIntArray(byte[] data) {
+        double[] values = getDoubleArray(data);
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = Double.isNaN(values[i]) ? 0 : (int) values[i];
+        }
+        return result;
+    }
+    
+    /**
+     * 获取全部值的单精度浮点数组
+     * @param data 值域字节
+     * @return 浮点数组，无法解析的值为NaN
+     */
+    public float[] getFloatArray(byte[] data) {
+        double[] values = getDoubleArray(data);
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+        return result;
+    }
+    
+    /**
+     * 获取全部值的双精度浮点数组（一次扫描值域）
+     * @param data 值域字节
+     * @return 浮点数组，无法解析的值为NaN
+     */
+    public double[] getDoubleArray(byte[] data) {
+        double[] result = new double[getValueCount(data)];
+        if (result.length == 0) {
+            return result;
+        }
+        int component = 0;
+        int start = 0;
+        for (int i = 0; i <= data.length && component < result.length; i++) {
+            boolean atEnd = i == data.length || data[i] == 0;
+            if (atEnd || data[i] == '\\') {
+                result[component++] = parseDecimal(data, start, i, Double.NaN);
+                if (atEnd) {
+                    break;
+                }
+                start = i + 1;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * 获取全部值的short数组（16位像素、波形等），超出范围的值按低16位截断
+     * @param data 值域字节
+     * @return short数组
+     */
+    public short[] getShortArray(byte[] data) {
+        int[] values = getIntArray(data);
+        short[] result = new short[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (short) values[i];
+        }
+        return result;
+    }
+    
+    /**
+     * 批量解码到调用方提供的数组，避免重复分配
+     * @param data 值域字节
+     * @param dst 目标数组
+     * @param dstOffset 目标数组起始位置
+     * @return 实际解码的值个数（不超过目标数组剩余空间）
+     */
+    public int getShorts(byte[] data, short[] dst, int dstOffset) {
+        short[] values = getShortArray(data);
+        int count = Math.min(values.length, dst.length - dstOffset);
+        System.arraycopy(values, 0, dst, dstOffset, count);
+        return count;
+    }
+    
+    /**
+     * 批量解码到调用方提供的int数组
+     * @see #getShorts(byte[], short[], int)
+     */
+    public int getInts(byte[] data, int[] dst, int dstOffset) {
+        int[] values = getIntArray(data);
+        int count = Math.min(values.length, dst.length - dstOffset);
+        System.arraycopy(values, 0, dst, dstOffset, count);
+        return count;
+    }
+    
+    /**
+     * 批量解码到调用方提供的float数组
+     * @see #getShorts(byte[], short[], int)
+     */
+    public int getFloats(byte[] data, float[] dst, int dstOffset) {
+        float[] values = getFloatArray(data);
+        int count = Math.min(values.length, dst.length - dstOffset);
+        System.arraycopy(values, 0, dst, dstOffset, count);
+        return count;
+    }
+    
+    /**
+     * 批量解码到调用方提供的double数组
+     * @see #getShorts(byte[], short[], int)
+     */
+    public int getDoubles(byte[] data, double[] dst, int dstOffset) {
+        double[] values = getDoubleArray(data);
+        int count = Math.min(values.length, dst.length - dstOffset);
+        System.arraycopy(values, 0, dst, dstOffset, count);
+        return count;
+    }
+    
+    // ---------------------------------------------------------------
+    // ByteBuffer重载：值域为缓冲区的 [position, limit)，可以是文件映射或数组切片，不改变其position
+    // 字符串VR的值域很短，默认实现复制到临时数组后调用上面的方法（不缓存）；二进制VR在BinaryVR中直接解码
+    // ---------------------------------------------------------------
+    
+    /**
+     * 获取值的个数（VM）
+     * @param data 值域缓冲区
+     */
+    public int getValueCount(ByteBuffer data) {
+        return getValueCount(toArray(data));
+    }
+    
+    /**
+     * 获取第index个值的整数形式
+     * @see #getInt(byte[], int, int)
+     */
+    public int getInt(ByteBuffer data, int index, int defaultValue) {
+        return getInt(toArray(data), index, defaultValue);
+    }
+    
+    /**
+     * 获取第index个值的浮点形式
+     * @see #getDouble(byte[], int, double)
+     */
+    public double getDouble(ByteBuffer data, int index, double defaultValue) {
+        return getDouble(toArray(data), index, defaultValue);
+    }
+    
+    /**
+     * 获取第index个值的整数形式，值域为source中绝对位置 [offset, offset + length)
+     * 不改变source的position和字节序；二进制VR直接按偏移解码，不创建视图
+     * @see #getInt(byte[], int, int)
+     */
+    public int getInt(ByteBuffer source, int offset, int length, int index, int defaultValue) {
+        return getInt(toArray(source, offset, length), index, defaultValue);
+    }
+    
+    /**
+     * 获取第index个值的浮点形式，值域为source中绝对位置 [offset, offset + length)
+     * @see #getInt(ByteBuffer, int, int, int, int)
+     */
+    public double getDouble(ByteBuffer source, int offset, int length, int index, double defaultValue) {
+        return getDouble(toArray(source, offset, length), index, defaultValue);
+    }
+    
+    /**
+     * 获取值域的字符串形式
+     * @see #getString(byte[])
+     */
+    public String getString(ByteBuffer data) {
+        return getString(toArray(data));
+    }
+    
+    /**
+     * 获取全部值的short数组
+     * @see #getShortArray(byte[])
+     */
+    public short[] getShortArray(ByteBuffer data) {
+        return getShortArray(toArray(data));
+    }
+    
+    /**
+     * 获取全部值的整数数组
+     * @see #getIntArray(byte[])
+     */
+    public int[] getIntArray(ByteBuffer data) {
+        return getIntArray(toArray(data));
+    }
+    
+    /**
+     * 获取全部值的单精度浮点数组
+     * @see #getFloatArray(byte[])
+     */
+    public float[] getFloatArray(ByteBuffer data) {
+        return getFloatArray(toArray(data));
+    }
+    
+    /**
+     * 获取全部值的双精度浮点数组
+     * @see #getDoubleArray(byte[])
+     */
+    public double[] getDoubleArray(ByteBuffer data) {
+        return getDoubleArray(toArray(data));
+    }
+    
+    /**
+     * 批量解码到调用方提供的short数组
+     * @see #getShorts(byte[], short[], int)
+     */
+    public int getShorts(ByteBuffer data, short[] dst, int dstOffset) {
+        return getShorts(toArray(data), dst, dstOffset);
+    }
+    
+    /**
+     * 批量解码到调用方提供的int数组
+     * @see #getInts(byte[], int[], int)
+     */
+    public int getInts(ByteBuffer data, int[] dst, int dstOffset) {
+        return getInts(toArray(data), dst, dstOffset);
+    }
+    
+    /**
+     * 批量解码到调用方提供的float数组
+     * @see #getFloats(byte[], float[], int)
+     */
+    public int getFloats(ByteBuffer data, float[] dst, int dstOffset) {
+        return getFloats(toArray(data), dst, dstOffset);
+    }
+    
+    /**
+     * 批量解码到调用方提供的double数组
+     * @see #getDoubles(byte[], double[], int)
+     */
+    public int getDoubles(ByteBuffer data, double[] dst, int dstOffset) {
+        return getDoubles(toArray(data), dst, dstOffset);
+    }
+    
+    /**
+     * 从值域视图解析startIndex处的值，结果与GetValue(byte[], int)相同
+     * 默认实现复制为临时数组后解析；定长二进制VR只复制所需的一个值
+     * @param data 值域缓冲区，有效数据为 [position, limit)，不改变其position
+     * @param startIndex 相对position的起始位置
+     * @return 解析后的值
+     * @see #GetValue(byte[], int)
+     */
+    public <T> T GetValue(ByteBuffer data, int startIndex) {
+        return GetValue(toArray(data), startIndex);
+    }
+    
+    /**
+     * 把缓冲区的 [position, limit) 复制为临时数组，null返回null
+     */
+    private static byte[] toArray(ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        byte[] bytes = new byte[data.remaining()];
+        data.duplicate().get(bytes);
+        return bytes;
+    }
+    
+    /**
+     * 按绝对位置复制 [offset, offset + length) 到新数组，不改变缓冲区状态
+     */
+    private static byte[] toArray(ByteBuffer source, int offset, int length) {
+        if (source == null) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = source.get(offset + i);
+        }
+        return bytes;
+    }
+    
+    /**
+     * 10的整数次幂，0到22次幂都能被double精确表示
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    /**
+     * 解析ASCII十进制数（IS/DS），首尾空格忽略
+     * 有效数字不超过15位且10的指数不超过22时，尾数和幂都能被double精确表示，
+     * 一次乘除即得到正确舍入的结果，不构造字符串；其余情况交给Double.parseDouble
+     * @param data 字节数组
+     * @param from 起始位置（含）
+     * @param to 结束位置（不含）
+     * @param defaultValue 空串或格式错误时的返回值
+     * @return 解析结果
+     */
+    protected static double parseDecimal(byte[] data, int from, int to, double defaultValue) {
+        while (from < to && data[from] == ' ') {
+            from++;
+        }
+        while (to > from && data[to - 1] == ' ') {
+            to--;
+        }
+        if (from == to) {
+            return defaultValue;
+        }
+        int i = from;
+        boolean negative = false;
+        if (data[i] == '-' || data[i] == '+') {
+            negative = data[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean anyDigit = false;
+        boolean fraction = false;
+        for (; i < to; i++) {
+            byte b = data[i];
+            if (b >= '0' && b <= '9') {
+                anyDigit = true;
+                if (mantissa == 0 && b == '0') {
+                    if (fraction) {
+                        exponent--;
+                    }
+                    continue;
+                }
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (fraction) {
+                        exponent--;
+                    }
+                } else if (!fraction) {
+                    exponent++;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigit) {
+            return defaultValue;
+        }
+        if (i < to) {
+            if ((data[i] != 'e' && data[i] != 'E') || i + 1 == to) {
+                return defaultValue;
+            }
+            i++;
+            boolean expNegative = false;
+            if (data[i] == '-' || data[i] == '+') {
+                expNegative = data[i] == '-';
+                i++;
+            }
+            if (i == to) {
+                return defaultValue;
+            }
+            int exp = 0;
+            for (; i < to; i++) {
+                byte b = data[i];
+                if (b < '0' || b > '9') {
+                    return defaultValue;
+                }
+                if (exp < 10000) {
+                    exp = exp * 10 + (b - '0');
+                }
+            }
+            exponent += expNegative ? -exp : exp;
+        }
+        double value;
+        if (digits <= 15 && exponent >= -22 && exponent <= 22) {
+            value = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        } else {
+            try {
+                value = Math.abs(Double.parseDouble(
+                        new String(data, from, to - from, java.nio.charset.StandardCharsets.US_ASCII)));
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return negative ? -value : value;
+    }
 }
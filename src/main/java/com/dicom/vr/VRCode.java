@@ -0,0 +1,177 @@
+package com.dicom.vr;
+
+/**
+ * VR编码工具类
+ * 以VR的两个ASCII字符组成16位整数码 (第一个字符 << 8 | 第二个字符)，
+ * 显式VR的元素头可直接由两个字节得到VR码，不必构造字符串；
+ * 长VR、填充字节等属性通过65536项的标志表一次查表得到。
+ */
+public final class VRCode {
+
+    /**
+     * 未知或缺失的VR
+     */
+    public static final int NONE = 0;
+
+    public static final int AE = 0x4145;
+    public static final int AS = 0x4153;
+    public static final int AT = 0x4154;
+    public static final int CS = 0x4353;
+    public static final int DA = 0x4441;
+    public static final int DS = 0x4453;
+    public static final int DT = 0x4454;
+    public static final int FD = 0x4644;
+    public static final int FL = 0x464C;
+    public static final int IS = 0x4953;
+    public static final int LO = 0x4C4F;
+    public static final int LT = 0x4C54;
+    public static final int OB = 0x4F42;
+    public static final int OD = 0x4F44;
+    public static final int OF = 0x4F46;
+    public static final int OL = 0x4F4C;
+    public static final int OV = 0x4F56;
+    public static final int OW = 0x4F57;
+    public static final int PN = 0x504E;
+    public static final int SH = 0x5348;
+    public static final int SL = 0x534C;
+    public static final int SQ = 0x5351;
+    public static final int SS = 0x5353;
+    public static final int ST = 0x5354;
+    public static final int SV = 0x5356;
+    public static final int TM = 0x544D;
+    public static final int UC = 0x5543;
+    public static final int UI = 0x5549;
+    public static final int UL = 0x554C;
+    public static final int UN = 0x554E;
+    public static final int UR = 0x5552;
+    public static final int US = 0x5553;
+    public static final int UT = 0x5554;
+    public static final int UV = 0x5556;
+
+    // 标志位
+    private static final byte KNOWN = 1;     // 标准VR
+    private static final byte LONG = 2;      // 显式VR下有2字节保留字段和4字节长度
+    private static final byte PAD_NULL = 4;  // 奇数长度用0x00填充（否则用空格0x20）
+
+    /**
+     * 标志表，以VR码为下标
+     */
+    private static final byte[] FLAGS = new byte[65536];
+
+    /**
+     * VR字符串表，以index(code)为下标，保存规范（常量池）字符串
+     */
+    private static final String[] NAMES = new String[26 * 26];
+
+    static {
+        String[] text = {"AE", "AS", "CS", "DA", "DS", "DT", "IS", "LO", "LT", "PN",
+                         "SH", "ST", "TM", "UC", "UR", "UT"};
+        String[] binary = {"AT", "FD", "FL", "OB", "OD", "OF", "OL", "OV", "OW", "SL",
+                           "SQ", "SS", "SV", "UI", "UL", "UN", "US", "UV"};
+        String[] longVRs = {"OB", "OD", "OF", "OL", "OV", "OW", "SQ", "SV", "UC", "UN",
+                            "UR", "UT", "UV"};
+        for (String vr : text) {
+            register(vr, KNOWN);
+        }
+        for (String vr : binary) {
+            register(vr, (byte) (KNOWN | PAD_NULL));
+        }
+        for (String vr : longVRs) {
+            FLAGS[of(vr)] |= LONG;
+        }
+    }
+
+    private static void register(String vr, byte flags) {
+        int code = of(vr);
+        FLAGS[code] = flags;
+        NAMES[index(code)] = vr;
+    }
+
+    private VRCode() {
+    }
+
+    /**
+     * 由两个VR字节得到VR码
+     * @param b0 第一个字符
+     * @param b1 第二个字符
+     * @return VR码
+     */
+    public static int of(byte b0, byte b1) {
+        return ((b0 & 0xFF) << 8) | (b1 & 0xFF);
+    }
+
+    /**
+     * 由VR字符串得到VR码，不分配对象
+     * 小写字母按大写处理（手工构造的元素可能写成"ob"），与原先比较前toUpperCase的行为一致
+     * @param vr VR字符串（如"OB"）
+     * @return VR码，字符串为null或不足两个字符时返回NONE
+     */
+    public static int of(String vr) {
+        if (vr == null || vr.length() < 2) {
+            return NONE;
+        }
+        return (upper(vr.charAt(0)) << 8) | upper(vr.charAt(1));
+    }
+
+    /**
+     * ASCII小写字母转为大写，其余字符只保留低8位
+     */
+    private static int upper(char c) {
+        return c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c & 0xFF;
+    }
+
+    /**
+     * 两个大写字母组成的VR码在26*26表中的下标
+     * @param code VR码
+     * @return 下标，不是两个大写字母时返回-1
+     */
+    public static int index(int code) {
+        int c0 = ((code >> 8) & 0xFF) - 'A';
+        int c1 = (code & 0xFF) - 'A';
+        if (c0 < 0 || c0 >= 26 || c1 < 0 || c1 >= 26) {
+            return -1;
+        }
+        return c0 * 26 + c1;
+    }
+
+    /**
+     * 是否为标准VR
+     */
+    public static boolean isKnown(int code) {
+        return (FLAGS[code & 0xFFFF] & KNOWN) != 0;
+    }
+
+    /**
+     * 是否为长VR（显式VR下有2字节保留字段和4字节长度）
+     * OB/OD/OF/OL/OV/OW/SQ/SV/UC/UN/UR/UT/UV
+     */
+    public static boolean isLongVR(int code) {
+        return (FLAGS[code & 0xFFFF] & LONG) != 0;
+    }
+
+    /**
+     * 奇数长度值的填充字节：UI及二进制VR填0x00，字符串VR填空格
+     * @param code VR码
+     * @return 填充字节
+     */
+    public static byte padByte(int code) {
+        return (FLAGS[code & 0xFFFF] & PAD_NULL) != 0 ? (byte) 0x00 : (byte) 0x20;
+    }
+
+    /**
+     * VR码对应的字符串
+     * 标准VR返回规范字符串常量，不分配对象
+     * @param code VR码
+     * @return VR字符串，NONE返回空串
+     */
+    public static String toString(int code) {
+        if (code == NONE) {
+            return "";
+        }
+        int i = index(code);
+        if (i >= 0 && NAMES[i] != null) {
+            return NAMES[i];
+        }
+        return new String(new char[] {(char) ((code >> 8) & 0xFF), (char) (code & 0xFF)}).trim();
+    }
+}
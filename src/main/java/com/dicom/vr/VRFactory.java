@@ -1,12 +1,12 @@
 package com.dicom.vr;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * VR工厂类
  * 实现享元模式，管理所有VR实例
  * 避免重复创建相同的VR对象，优化内存使用
+ * 
+ * 所有VR实例在类初始化时创建，按VR码下标存入只读数组（大端、小端各一张），
+ * 查询只是一次数组访问，多线程并发解析时无需加锁
  */
 public class VRFactory {
     
@@ -16,18 +16,68 @@ public class VRFactory {
     protected boolean isBE;
     
     /**
-     * VR实例共享池
-     * Key: VR类型名称
-     * Value: VR实例
+     * 小端VR实例表，以VRCode.index(VR码)为下标
+     */
+    private static final VRBase[] LE = new VRBase[26 * 26];
+    
+    /**
+     * 大端VR实例表，以VRCode.index(VR码)为下标
      */
-    private HashMap<String, VRBase> VRs = new HashMap<String, VRBase>();
+    private static final VRBase[] BE = new VRBase[26 * 26];
     
     /**
-     * 静态VR实例缓存池（保持向后兼容）
-     * Key: VR类型名称 + 字节序标识
-     * Value: VR实例
+     * 已登记的VR种类数
      */
-    private static final Map<String, VRBase> vrPool = new HashMap<String, VRBase>();    
+    private static final int REGISTERED;
+    
+    static {
+        register(VRCode.AE, AE.getInstance(false), AE.getInstance(true));
+        register(VRCode.AS, AS.getInstance(false), AS.getInstance(true));
+        register(VRCode.AT, AT.getInstance(false), AT.getInstance(true));
+        register(VRCode.CS, CS.getInstance(false), CS.getInstance(true));
+        register(VRCode.DA, DA.getInstance(false), DA.getInstance(true));
+        register(VRCode.DS, DS.getInstance(false), DS.getInstance(true));
+        register(VRCode.DT, DT.getInstance(false), DT.getInstance(true));
+        register(VRCode.FD, FD.getInstance(false), FD.getInstance(true));
+        register(VRCode.FL, FL.getInstance(false), FL.getInstance(true));
+        register(VRCode.IS, IS.getInstance(false), IS.getInstance(true));
+        register(VRCode.LO, LO.getInstance(false), LO.getInstance(true));
+        register(VRCode.LT, LT.getInstance(false), LT.getInstance(true));
+        register(VRCode.OB, OB.getInstance(false), OB.getInstance(true));
+        register(VRCode.OD, OD.getInstance(false), OD.getInstance(true));
+        register(VRCode.OF, OF.getInstance(false), OF.getInstance(true));
+        register(VRCode.OL, OL.getInstance(false), OL.getInstance(true));
+        register(VRCode.OW, OW.getInstance(false), OW.getInstance(true));
+        register(VRCode.PN, PN.getInstance(false), PN.getInstance(true));
+        register(VRCode.SH, SH.getInstance(false), SH.getInstance(true));
+        register(VRCode.SL, SL.getInstance(false), SL.getInstance(true));
+        register(VRCode.SQ, SQ.getInstance(false), SQ.getInstance(true));
+        register(VRCode.SS, SS.getInstance(false), SS.getInstance(true));
+        register(VRCode.ST, ST.getInstance(false), ST.getInstance(true));
+        register(VRCode.TM, TM.getInstance(false), TM.getInstance(true));
+        register(VRCode.UC, UC.getInstance(false), UC.getInstance(true));
+        register(VRCode.UI, UI.getInstance(false), UI.getInstance(true));
+        register(VRCode.UL, UL.getInstance(false), UL.getInstance(true));
+        register(VRCode.UN, UN.getInstance(false), UN.getInstance(true));
+        register(VRCode.UR, UR.getInstance(false), UR.getInstance(true));
+        register(VRCode.US, US.getInstance(false), US.getInstance(true));
+        register(VRCode.UT, UT.getInstance(false), UT.getInstance(true));
+        
+        int count = 0;
+        for (VRBase vr : LE) {
+            if (vr != null) {
+                count++;
+            }
+        }
+        REGISTERED = count;
+    }
+    
+    private static void register(int vrCode, VRBase le, VRBase be) {
+        int i = VRCode.index(vrCode);
+        LE[i] = le;
+        BE[i] = be;
+    }
+    
     /**
      * 构造函数
      * @param isBE 是否为BigEndian解码
@@ -42,116 +92,68 @@ public class VRFactory {
      * @return 对应的VR实例
      */
     public VRBase GetVR(String key) {
-        if (key == null || key.trim().isEmpty()) {
-            return null;
-        }
-        
-        String vrType = key.toUpperCase();
-        VRBase vrInstance = VRs.get(vrType);
-        
-        if (vrInstance == null) {
-            vrInstance = createVRInstance(vrType, this.isBE);
-            if (vrInstance != null) {
-                VRs.put(vrType, vrInstance);
-            }
-        }
-        
-        return vrInstance;
+        return getVRInstance(key, this.isBE);
     }
     
     /**
      * 获取VR实例（享元模式静态方法，保持向后兼容）
-     * @param vrType VR类型（如"UL", "US", "AE"等）
+     * @param vrType VR类型（如"UL", "US", "AE"等），不区分大小写
      * @param isBE 是否为BigEndian字节序
-     * @return 对应的VR实例
+     * @return 对应的VR实例，未知VR类型返回UN实例
      */
     public static VRBase getVRInstance(String vrType, boolean isBE) {
         if (vrType == null || vrType.trim().isEmpty()) {
             return null;
         }
-        
-        String key = vrType.toUpperCase() + "_" + (isBE ? "BE" : "LE");
-        VRBase vrInstance = vrPool.get(key);
-        
-        if (vrInstance == null) {
-            vrInstance = createVRInstance(vrType.toUpperCase(), isBE);
-            if (vrInstance != null) {
-                vrPool.put(key, vrInstance);
-            }
+        int code = VRCode.of(vrType);
+        if (VRCode.index(code) < 0 && vrType.length() >= 2) {
+            // 小写VR按大写处理，不构造新字符串
+            code = (Character.toUpperCase(vrType.charAt(0)) & 0xFF) << 8
+                    | (Character.toUpperCase(vrType.charAt(1)) & 0xFF);
         }
-        
-        return vrInstance;
+        return getVRInstance(code, isBE);
     }
-      /**
-     * 创建VR实例
-     * @param vrType VR类型
+    
+    /**
+     * 按VR码获取VR实例
+     * @param vrCode VR码，见VRCode
      * @param isBE 是否为BigEndian字节序
-     * @return VR实例
+     * @return 对应的VR实例，未知VR类型返回UN实例
      */
-    private static VRBase createVRInstance(String vrType, boolean isBE) {
-        if ("AE".equals(vrType)) return AE.getInstance(isBE);
-        if ("AS".equals(vrType)) return AS.getInstance(isBE);
-        if ("AT".equals(vrType)) return AT.getInstance(isBE);
-        if ("CS".equals(vrType)) return CS.getInstance(isBE);
-        if ("DA".equals(vrType)) return DA.getInstance(isBE);
-        if ("DS".equals(vrType)) return DS.getInstance(isBE);
-        if ("DT".equals(vrType)) return DT.getInstance(isBE);
-        if ("FD".equals(vrType)) return FD.getInstance(isBE);
-        if ("FL".equals(vrType)) return FL.getInstance(isBE);
-        if ("IS".equals(vrType)) return IS.getInstance(isBE);
-        if ("LO".equals(vrType)) return LO.getInstance(isBE);
-        if ("LT".equals(vrType)) return LT.getInstance(isBE);
-        if ("OB".equals(vrType)) return OB.getInstance(isBE);
-        if ("OD".equals(vrType)) return OD.getInstance(isBE);
-        if ("OF".equals(vrType)) return OF.getInstance(isBE);
-        if ("OL".equals(vrType)) return OL.getInstance(isBE);
-        if ("OW".equals(vrType)) return OW.getInstance(isBE);
-        if ("PN".equals(vrType)) return PN.getInstance(isBE);
-        if ("SH".equals(vrType)) return SH.getInstance(isBE);
-        if ("SL".equals(vrType)) return SL.getInstance(isBE);
-        if ("SQ".equals(vrType)) return SQ.getInstance(isBE);
-        if ("SS".equals(vrType)) return SS.getInstance(isBE);
-        if ("ST".equals(vrType)) return ST.getInstance(isBE);
-        if ("TM".equals(vrType)) return TM.getInstance(isBE);
-        if ("UC".equals(vrType)) return UC.getInstance(isBE);
-        if ("UI".equals(vrType)) return UI.getInstance(isBE);
-        if ("UL".equals(vrType)) return UL.getInstance(isBE);
-        if ("UN".equals(vrType)) return UN.getInstance(isBE);
-        if ("UR".equals(vrType)) return UR.getInstance(isBE);
-        if ("US".equals(vrType)) return US.getInstance(isBE);
-        if ("UT".equals(vrType)) return UT.getInstance(isBE);
-        
-        // 未知VR类型，返回UN实例
-        return UN.getInstance(isBE);
-    }    
+    public static VRBase getVRInstance(int vrCode, boolean isBE) {
+        int i = VRCode.index(vrCode);
+        VRBase vr = i >= 0 ? (isBE ? BE[i] : LE[i]) : null;
+        return vr != null ? vr : UN.getInstance(isBE);
+    }
+    
     /**
      * 获取实例共享池大小
-     * @return 实例共享池中的VR实例数量
+     * @return 本工厂字节序下可用的VR实例数量
      */
     public int getVRPoolSize() {
-        return VRs.size();
+        return REGISTERED;
     }
     
     /**
      * 清空实例共享池
+     * VR实例在类初始化时创建且只读，无需清空，保留该方法以兼容旧代码
      */
     public void clearVRPool() {
-        VRs.clear();
     }
     
     /**
      * 获取缓存池大小（用于测试和监控，静态方法保持向后兼容）
-     * @return 缓存池中的实例数量
+     * @return 大端、小端VR实例总数
      */
     public static int getPoolSize() {
-        return vrPool.size();
+        return REGISTERED * 2;
     }
     
     /**
-     * 清空缓存池（主要用于测试）
+     * 清空缓存池
+     * VR实例在类初始化时创建且只读，无需清空，保留该方法以兼容旧代码
      */
     public static void clearPool() {
-        vrPool.clear();
     }
     
     /**
@@ -160,12 +162,6 @@ public class VRFactory {
      * @return 是否为长VR类型
      */
     public static boolean isLongVR(String vrType) {
-        if (vrType == null) return false;
-        
-        String vr = vrType.toUpperCase();
-        return "OB".equals(vr) || "OF".equals(vr) || "OD".equals(vr) ||
-               "OW".equals(vr) || "OL".equals(vr) || "SQ".equals(vr) ||
-               "UT".equals(vr) || "UN".equals(vr) || "UR".equals(vr) ||
-               "UC".equals(vr);
+        return VRCode.isLongVR(VRCode.of(vrType));
     }
 }
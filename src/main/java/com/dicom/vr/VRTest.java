@@ -183,6 +183,14 @@ public class VRTest {
                              ", 实例检查=" + vr.isLongVR + 
                              " (" + (!isLong && !vr.isLongVR ? "通过" : "失败") + ")");
         }
+        
+        System.out.println("  小写VR检查:");
+        for (String vrType : new String[] {"ob", "sq", "ut", "us"}) {
+            boolean isLong = VRFactory.isLongVR(vrType);
+            boolean expected = !"us".equals(vrType);
+            System.out.println("    " + vrType + ": 工厂检查=" + isLong +
+                             " (" + (isLong == expected ? "通过" : "失败") + ")");
+        }
     }
     
     /**